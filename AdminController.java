@@ -1,16 +1,34 @@
 package com.example.fooddelivery.controller;
 
+import com.example.fooddelivery.dto.CursorPage;
+import com.example.fooddelivery.dto.GatewayProfile;
+import com.example.fooddelivery.dto.OrderSummaryDTO;
 import com.example.fooddelivery.model.Customer;
-import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
 import com.example.fooddelivery.model.Restaurant;
+import com.example.fooddelivery.model.Role;
+import com.example.fooddelivery.model.Settlement;
+import com.example.fooddelivery.model.User;
 import com.example.fooddelivery.service.CustomerService;
+import com.example.fooddelivery.service.MockPaymentService;
+import com.example.fooddelivery.service.OrderArchiveService;
+import com.example.fooddelivery.service.OrderJournalService;
 import com.example.fooddelivery.service.OrderService;
+import com.example.fooddelivery.service.PaymentGatewayGuard;
+import com.example.fooddelivery.service.PaymentReconciliationService;
+import com.example.fooddelivery.service.PlatformStatsService;
+import com.example.fooddelivery.service.RatingAggregateService;
 import com.example.fooddelivery.service.RestaurantService;
+import com.example.fooddelivery.service.SettlementService;
+import com.example.fooddelivery.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -27,39 +45,49 @@ public class AdminController {
     private final RestaurantService restaurantService;
     private final OrderService orderService;
     private final CustomerService customerService;
+    private final RatingAggregateService ratingAggregateService;
+    private final PlatformStatsService platformStatsService;
+    private final UserService userService;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderJournalService orderJournalService;
+    private final MockPaymentService mockPaymentService;
+    private final PaymentGatewayGuard paymentGatewayGuard;
+    private final SettlementService settlementService;
+    private final PaymentReconciliationService paymentReconciliationService;
     
     @Autowired
     public AdminController(RestaurantService restaurantService,
                           OrderService orderService,
-                          CustomerService customerService) {
+                          CustomerService customerService,
+                          RatingAggregateService ratingAggregateService,
+                          PlatformStatsService platformStatsService,
+                          UserService userService,
+                          OrderArchiveService orderArchiveService,
+                          OrderJournalService orderJournalService,
+                          MockPaymentService mockPaymentService,
+                          PaymentGatewayGuard paymentGatewayGuard,
+                          SettlementService settlementService,
+                          PaymentReconciliationService paymentReconciliationService) {
         this.restaurantService = restaurantService;
         this.orderService = orderService;
         this.customerService = customerService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.platformStatsService = platformStatsService;
+        this.userService = userService;
+        this.orderArchiveService = orderArchiveService;
+        this.orderJournalService = orderJournalService;
+        this.mockPaymentService = mockPaymentService;
+        this.paymentGatewayGuard = paymentGatewayGuard;
+        this.settlementService = settlementService;
+        this.paymentReconciliationService = paymentReconciliationService;
     }
     
+    // Constant-size response: counters and aggregates plus one page of recent order summaries
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
-        List<Order> orders = orderService.getAllOrders();
-        List<Customer> customers = customerService.getAllCustomers();
-        
-        // Calculate total revenue from all orders
-        double totalRevenue = orders.stream()
-            .flatMap(order -> order.getOrderItems().stream())
-            .mapToDouble(item -> item.getUnitPrice() * item.getQuantity())
-            .sum();
-        
-        stats.put("totalRestaurants", restaurants.size());
-        stats.put("totalOrders", orders.size());
-        stats.put("totalCustomers", customers.size());
-        stats.put("totalRevenue", totalRevenue);
-        stats.put("restaurants", restaurants);
-        stats.put("recentOrders", orders);
-        stats.put("customers", customers);
-        
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Map<String, Object>> getDashboardStats(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(platformStatsService.getDashboard(page, size));
     }
     
     @GetMapping("/restaurants")
@@ -86,12 +114,154 @@ public class AdminController {
     }
     
     @GetMapping("/orders")
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<CursorPage<OrderSummaryDTO>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getAllOrders(status, from, to, cursor, limit));
     }
     
     @GetMapping("/customers")
     public ResponseEntity<List<Customer>> getAllCustomers() {
         return ResponseEntity.ok(customerService.getAllCustomers());
     }
+    
+    @PutMapping("/users/{id}/role")
+    public ResponseEntity<?> updateUserRole(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> roleUpdate) {
+        if (roleUpdate.get("role") == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Role is required"));
+        }
+        try {
+            Role role = Role.valueOf(roleUpdate.get("role"));
+            User user = userService.updateUserRole(id, role);
+            return ResponseEntity.ok(Map.of("id", user.getId(), "role", user.getRole()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Invalid role: " + roleUpdate.get("role"))
+            );
+        }
+    }
+    
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRatings() {
+        int restaurants = ratingAggregateService.rebuildAggregates();
+        return ResponseEntity.ok(Map.of("rebuiltRestaurants", restaurants));
+    }
+    
+    @PostMapping("/orders/archive")
+    public ResponseEntity<Map<String, Object>> archiveOrders() {
+        int archived = orderArchiveService.archiveOrders();
+        return ResponseEntity.ok(Map.of("archivedOrders", archived));
+    }
+    
+    // Replays the order event journal; pass nextOffset back to continue
+    @GetMapping("/journal")
+    public ResponseEntity<?> replayJournal(
+            @RequestParam(defaultValue = "0") long fromOffset,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(orderJournalService.replay(fromOffset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    @GetMapping("/payment-gateway")
+    public ResponseEntity<Map<String, Object>> getPaymentGateway() {
+        return ResponseEntity.ok(Map.of(
+                "profiles", mockPaymentService.getProfiles(),
+                "stats", mockPaymentService.getStats(),
+                "isolation", paymentGatewayGuard.getStats()));
+    }
+    
+    // Replaces the mock gateway's latency and failure profile for one payment method
+    @PutMapping("/payment-gateway/{paymentMethod}")
+    public ResponseEntity<?> updatePaymentGatewayProfile(
+            @PathVariable PaymentMethod paymentMethod,
+            @RequestBody GatewayProfile profile) {
+        try {
+            return ResponseEntity.ok(mockPaymentService.updateProfile(paymentMethod, profile));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    // Reseeds the mock gateway's random source; omit the seed for an unseeded one
+    @PostMapping("/payment-gateway/seed")
+    public ResponseEntity<Map<String, Object>> reseedPaymentGateway(@RequestParam(required = false) Long seed) {
+        mockPaymentService.reseed(seed);
+        return ResponseEntity.ok(Map.of("seeded", seed != null));
+    }
+    
+    // Pending payment backlog and how long reconciliation takes to resolve them
+    @GetMapping("/payments/reconciliation")
+    public ResponseEntity<Map<String, Object>> getPaymentReconciliationStats() {
+        return ResponseEntity.ok(paymentReconciliationService.getStats());
+    }
+    
+    @GetMapping("/settlements")
+    public ResponseEntity<List<Settlement>> getSettlements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long restaurantId) {
+        return ResponseEntity.ok(settlementService.getSettlements(from, to, restaurantId));
+    }
+    
+    // Settles (or re-settles) the given days in the background; poll the returned run for progress
+    @PostMapping("/settlements/runs")
+    public ResponseEntity<?> startSettlementRun(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.accepted().body(settlementService.startRun(from, to));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    @PostMapping("/settlements/runs/resume")
+    public ResponseEntity<?> resumeSettlementRun() {
+        try {
+            return ResponseEntity.accepted().body(settlementService.resumeRun());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    @PostMapping("/settlements/runs/abandon")
+    public ResponseEntity<?> abandonSettlementRun() {
+        try {
+            return ResponseEntity.ok(settlementService.abandonRun());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    @GetMapping("/settlements/runs/{id}")
+    public ResponseEntity<?> getSettlementRun(@PathVariable Long id) {
+        return settlementService.getRun(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(
+                    Map.of("message", "Settlement run not found with id: " + id)
+                ));
+    }
+    
+    @GetMapping("/cache/menus")
+    public ResponseEntity<Map<String, Object>> getMenuCacheStats() {
+        return ResponseEntity.ok(restaurantService.getMenuCacheStats());
+    }
 }
\ No newline at end of file
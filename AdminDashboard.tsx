@@ -1,6 +1,6 @@
 import { useState, useEffect, useContext } from "react";
 import { UserContext } from "../context/UserContext";
-import { getAdminDashboard } from "../services/api";
+import { getAdminDashboard, getAllRestaurants, getAllCustomers } from "../services/api";
 import { 
   Users, 
   Store, 
@@ -18,9 +18,7 @@ interface DashboardStats {
   totalOrders: number;
   totalCustomers: number;
   totalRevenue: number;
-  restaurants: any[];
   recentOrders: any[];
-  customers: any[];
 }
 
 const AdminDashboard = () => {
@@ -28,11 +26,27 @@ const AdminDashboard = () => {
   const [stats, setStats] = useState<DashboardStats | null>(null);
   const [loading, setLoading] = useState(true);
   const [activeTab, setActiveTab] = useState<"overview" | "restaurants" | "orders" | "customers">("overview");
+  const [restaurants, setRestaurants] = useState<any[] | null>(null);
+  const [customers, setCustomers] = useState<any[] | null>(null);
 
   useEffect(() => {
     fetchDashboard();
   }, []);
 
+  // The dashboard only carries aggregates; full lists are loaded when their tab is opened
+  useEffect(() => {
+    if (activeTab === "restaurants" && restaurants === null) {
+      getAllRestaurants()
+        .then((response) => setRestaurants(response.data))
+        .catch(() => toast.error("Failed to load restaurants"));
+    }
+    if (activeTab === "customers" && customers === null) {
+      getAllCustomers()
+        .then((response) => setCustomers(response.data))
+        .catch(() => toast.error("Failed to load customers"));
+    }
+  }, [activeTab]);
+
   const fetchDashboard = async () => {
     try {
       setLoading(true);
@@ -202,8 +216,8 @@ const statCards = [
                       {stats.recentOrders.map((order: any) => (
                         <tr key={order.id} className="border-b border-gray-100 hover:bg-gray-50">
                           <td className="py-4 px-4 font-medium text-gray-900">#{order.id}</td>
-                          <td className="py-4 px-4 text-gray-700">{order.customer?.name || "N/A"}</td>
-                          <td className="py-4 px-4 text-gray-700">{order.restaurant?.name || "N/A"}</td>
+                          <td className="py-4 px-4 text-gray-700">{order.customerName || "N/A"}</td>
+                          <td className="py-4 px-4 text-gray-700">{order.restaurantName || "N/A"}</td>
                           <td className="py-4 px-4">
                             <span className={`px-3 py-1 rounded-full text-xs font-semibold ${
                               order.status === "DELIVERED" ? "bg-green-100 text-green-800" :
@@ -240,14 +254,14 @@ const statCards = [
             <div className="bg-white rounded-xl shadow-md p-6 mb-6">
               <div className="flex justify-between items-center">
                 <h2 className="text-2xl font-bold text-gray-900">
-                  All Restaurants ({stats.restaurants?.length || 0})
+                  All Restaurants ({restaurants?.length || 0})
                 </h2>
               </div>
             </div>
 
             <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-              {stats.restaurants && stats.restaurants.length > 0 ? (
-                stats.restaurants.map((restaurant: any, index: number) => (
+              {restaurants && restaurants.length > 0 ? (
+                restaurants.map((restaurant: any, index: number) => (
                   <motion.div
                     key={restaurant.id}
                     initial={{ opacity: 0, y: 20 }}
@@ -326,7 +340,7 @@ const statCards = [
                             {order.status}
                           </span>
                         </div> 
-                        <div className="grid grid-cols-1 md:grid-cols-3 gap-4 text-sm"> <div> <p className="text-gray-500 mb-1">Customer</p> <p className="font-semibold text-gray-900">{order.customer?.name || "N/A"}</p> </div> <div> <p className="text-gray-500 mb-1">Restaurant</p> <p className="font-semibold text-gray-900">{order.restaurant?.name || "N/A"}</p> </div> <div> <p className="text-gray-500 mb-1">Order Date</p> <p className="font-semibold text-gray-900"> {new Date(order.orderDate).toLocaleString()} </p> </div> </div> {order.orderItems && order.orderItems.length > 0 && ( <div className="mt-4"> <p className="text-gray-500 text-sm mb-2">Items ({order.orderItems.length})</p> <div className="flex flex-wrap gap-2"> {order.orderItems.map((item: any, idx: number) => ( <span key={idx} className="px-3 py-1 bg-gray-100 rounded-full text-xs text-gray-700"> {item.quantity}x {item.menuItem?.name || "Item"} </span> ))} </div> </div> )} </div> </div> </motion.div> )) ) : ( <div className="bg-white rounded-xl shadow-md p-12 text-center"> <ShoppingBag className="h-16 w-16 text-gray-300 mx-auto mb-4" /> <p className="text-gray-500 text-lg">No orders found</p> </div> )} </div> </motion.div> )}
+                        <div className="grid grid-cols-1 md:grid-cols-3 gap-4 text-sm"> <div> <p className="text-gray-500 mb-1">Customer</p> <p className="font-semibold text-gray-900">{order.customerName || "N/A"}</p> </div> <div> <p className="text-gray-500 mb-1">Restaurant</p> <p className="font-semibold text-gray-900">{order.restaurantName || "N/A"}</p> </div> <div> <p className="text-gray-500 mb-1">Order Date</p> <p className="font-semibold text-gray-900"> {new Date(order.orderDate).toLocaleString()} </p> </div> </div> {order.orderItems && order.orderItems.length > 0 && ( <div className="mt-4"> <p className="text-gray-500 text-sm mb-2">Items ({order.orderItems.length})</p> <div className="flex flex-wrap gap-2"> {order.orderItems.map((item: any, idx: number) => ( <span key={idx} className="px-3 py-1 bg-gray-100 rounded-full text-xs text-gray-700"> {item.quantity}x {item.menuItem?.name || "Item"} </span> ))} </div> </div> )} </div> </div> </motion.div> )) ) : ( <div className="bg-white rounded-xl shadow-md p-12 text-center"> <ShoppingBag className="h-16 w-16 text-gray-300 mx-auto mb-4" /> <p className="text-gray-500 text-lg">No orders found</p> </div> )} </div> </motion.div> )}
                             {/* Customers Tab */}
     {activeTab === "customers" && (
       <motion.div
@@ -336,13 +350,13 @@ const statCards = [
       >
         <div className="bg-white rounded-xl shadow-md p-6 mb-6">
           <h2 className="text-2xl font-bold text-gray-900">
-            All Customers ({stats.customers?.length || 0})
+            All Customers ({customers?.length || 0})
           </h2>
         </div>
 
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-          {stats.customers && stats.customers.length > 0 ? (
-            stats.customers.map((customer: any, index: number) => (
+          {customers && customers.length > 0 ? (
+            customers.map((customer: any, index: number) => (
               <motion.div
                 key={customer.id}
                 initial={{ opacity: 0, scale: 0.9 }}
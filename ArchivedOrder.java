@@ -0,0 +1,164 @@
+package com.example.fooddelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Index entry for an order moved out of the hot tables: where its compressed record
+ * sits in the archive segments, plus the few columns dashboards aggregate over.
+ */
+@Entity
+@Table(name = "archived_orders", indexes = {
+    @Index(name = "idx_archived_orders_customer_date", columnList = "customer_id, order_date")
+})
+public class ArchivedOrder {
+    
+    @Id
+    private Long orderId;
+    
+    @Column(name = "customer_id")
+    private Long customerId;
+    
+    private Long restaurantId;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+    
+    private Money totalAmount;
+    
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+    
+    private Money paymentAmount;
+    
+    // Segment file name and the byte range of this order's gzip member within it
+    @Column(nullable = false)
+    private String segment;
+    
+    private long segmentOffset;
+    
+    private int recordLength;
+    
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedOrder() {
+    }
+    
+    public ArchivedOrder(Order order, String segment, long segmentOffset, int recordLength) {
+        this.orderId = order.getId();
+        this.customerId = order.getCustomer().getId();
+        this.restaurantId = order.getRestaurant().getId();
+        this.status = order.getStatus();
+        this.orderDate = order.getOrderDate();
+        this.totalAmount = order.getTotalAmount();
+        if (order.getPayment() != null) {
+            this.paymentStatus = order.getPayment().getPaymentStatus();
+            this.paymentAmount = order.getPayment().getAmount();
+        }
+        this.segment = segment;
+        this.segmentOffset = segmentOffset;
+        this.recordLength = recordLength;
+        this.archivedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(Money totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+    
+    public Money getPaymentAmount() {
+        return paymentAmount;
+    }
+    
+    public void setPaymentAmount(Money paymentAmount) {
+        this.paymentAmount = paymentAmount;
+    }
+    
+    public String getSegment() {
+        return segment;
+    }
+    
+    public void setSegment(String segment) {
+        this.segment = segment;
+    }
+    
+    public long getSegmentOffset() {
+        return segmentOffset;
+    }
+    
+    public void setSegmentOffset(long segmentOffset) {
+        this.segmentOffset = segmentOffset;
+    }
+    
+    public int getRecordLength() {
+        return recordLength;
+    }
+    
+    public void setRecordLength(int recordLength) {
+        this.recordLength = recordLength;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+    
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
\ No newline at end of file
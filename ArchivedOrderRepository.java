@@ -0,0 +1,25 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    
+    // Rows of [status, count]
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedOrder a GROUP BY a.status")
+    List<Object[]> countOrdersByStatus();
+    
+    @Query(value = "SELECT COALESCE(SUM(total_amount), 0) FROM archived_orders", nativeQuery = true)
+    long sumTotalAmountMinor();
+    
+    // Rows of [status name, count, amount in minor units], matching PaymentRepository.summarizeByStatus
+    @Query(value = "SELECT payment_status, COUNT(*), COALESCE(SUM(payment_amount), 0) FROM archived_orders " +
+                   "WHERE payment_status IS NOT NULL GROUP BY payment_status",
+           nativeQuery = true)
+    List<Object[]> summarizePaymentsByStatus();
+}
\ No newline at end of file
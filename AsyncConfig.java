@@ -0,0 +1,61 @@
+package com.example.fooddelivery.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+public class AsyncConfig {
+    
+    // Gateway calls spend almost all of their time waiting, so one virtual thread per call
+    // keeps them off the Tomcat worker pool without sizing a platform thread pool
+    @Bean(name = "paymentExecutor", destroyMethod = "shutdown")
+    public ExecutorService paymentExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    // Writes to Server-Sent Events subscribers; a slow client only ever parks a virtual thread
+    @Bean(name = "trackingExecutor", destroyMethod = "shutdown")
+    public ExecutorService trackingExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    // Forces the order journal to disk every few milliseconds; kept off the shared scheduler
+    @Bean(name = "journalFlusher", destroyMethod = "shutdown")
+    public ScheduledExecutorService journalFlusher() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("journal-flusher").daemon().factory());
+    }
+    
+    // Advances the unpaid-order timing wheel once per tick and cancels what has expired
+    @Bean(name = "orderTimeoutTicker", destroyMethod = "shutdown")
+    public ScheduledExecutorService orderTimeoutTicker() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("order-timeouts").daemon().factory());
+    }
+    
+    // Delivers simulated gateway callbacks; only schedules, so the work itself stays short
+    @Bean(name = "gatewayCallbackScheduler", destroyMethod = "shutdown")
+    public ScheduledExecutorService gatewayCallbackScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("gateway-callbacks").daemon().factory());
+    }
+    
+    // Runs the payment reconciliation loop; shut down with an interrupt so its blocking take returns
+    @Bean(name = "reconciliationWorker", destroyMethod = "shutdownNow")
+    public ExecutorService reconciliationWorker() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("payment-reconciliation").daemon().factory());
+    }
+    
+    // A single thread, so settlement runs queue up behind each other instead of overlapping
+    @Bean(name = "settlementExecutor", destroyMethod = "shutdown")
+    public ExecutorService settlementExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("settlement").daemon().factory());
+    }
+    
+    // Builds autocomplete tries one at a time; lookups keep using the previous trie meanwhile
+    @Bean(name = "suggestionRebuilder", destroyMethod = "shutdown")
+    public ScheduledExecutorService suggestionRebuilder() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("suggestion-rebuilder").daemon().factory());
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.example.fooddelivery.controller;
 
+import com.example.fooddelivery.dto.ChangePasswordRequest;
 import com.example.fooddelivery.dto.LoginRequest;
 import com.example.fooddelivery.dto.LoginResponse;
 import com.example.fooddelivery.dto.RegisterRequest;
+import com.example.fooddelivery.exception.ResourceNotFoundException;
 import com.example.fooddelivery.model.User;
 import com.example.fooddelivery.security.JwtUtil;
 import com.example.fooddelivery.service.UserService;
@@ -14,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @CrossOrigin(
     origins = {"http://localhost:5173", "http://127.0.0.1:5173", "http://localhost:3000", "http://127.0.0.1:3000"},
@@ -67,4 +71,24 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+    
+    // Checked against the current password like a login; every token issued before the change stops working
+    @PostMapping({"/api/auth/password", "/api/v1/auth/password"})
+    public ResponseEntity<Map<String, String>> changePassword(@RequestBody ChangePasswordRequest request) {
+        if (request.getEmail() == null || request.getCurrentPassword() == null
+                || request.getNewPassword() == null || request.getNewPassword().isBlank()) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Email, current password and new password are required")
+            );
+        }
+        try {
+            userService.changePassword(request.getEmail(), request.getCurrentPassword(), request.getNewPassword());
+            return ResponseEntity.ok(Map.of("message", "Password changed"));
+        } catch (IllegalArgumentException | ResourceNotFoundException e) {
+            // The same answer for an unknown email, so the endpoint does not reveal which accounts exist
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Email or current password is incorrect")
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.fooddelivery.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * User details that also carry the account's token version, so tokens can be issued
+ * with it and checked against it.
+ */
+public class AuthenticatedUser extends User {
+    
+    private final long tokenVersion;
+    
+    public AuthenticatedUser(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                             long tokenVersion) {
+        super(username, password, authorities);
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.fooddelivery.dto;
+
+public class ChangePasswordRequest {
+    
+    private String email;
+    private String currentPassword;
+    private String newPassword;
+    
+    // Constructors
+    public ChangePasswordRequest() {
+    }
+    
+    public ChangePasswordRequest(String email, String currentPassword, String newPassword) {
+        this.email = email;
+        this.currentPassword = currentPassword;
+        this.newPassword = newPassword;
+    }
+    
+    // Getters and Setters
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getCurrentPassword() {
+        return currentPassword;
+    }
+    
+    public void setCurrentPassword(String currentPassword) {
+        this.currentPassword = currentPassword;
+    }
+    
+    public String getNewPassword() {
+        return newPassword;
+    }
+    
+    public void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+}
\ No newline at end of file
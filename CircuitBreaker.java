@@ -0,0 +1,169 @@
+package com.example.fooddelivery.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While CLOSED it keeps the outcomes of the last
+ * {@code windowSize} calls and opens once at least {@code minimumCalls} of them are recorded
+ * and the failing share reaches {@code failureRateThreshold}. OPEN refuses every call for
+ * {@code openMs}, then HALF_OPEN lets {@code halfOpenProbes} probe calls through: one failure
+ * opens the circuit again, all of them succeeding closes it.
+ * <p>
+ * Permissions carry the generation they were granted in, so a call started before a state
+ * change cannot count towards the new state.
+ */
+public final class CircuitBreaker {
+    
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+    
+    public static final long REJECTED = -1;
+    
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    
+    // Guarded by this
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesInFlight;
+    private int probesSucceeded;
+    private long timesOpened;
+    
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openMs, int halfOpenProbes) {
+        this(windowSize, minimumCalls, failureRateThreshold, openMs, halfOpenProbes, System::nanoTime);
+    }
+    
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   long openMs, int halfOpenProbes, LongSupplier nanoClock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Window, minimum calls and probes must be positive, minimum calls within the window");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("Failure rate threshold must be above 0 and at most 1");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openMs * 1_000_000;
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+    
+    /**
+     * Returns a permission for one call, or {@link #REJECTED}. Every permission must be
+     * followed by exactly one {@link #onResult} or {@link #release}.
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return REJECTED;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probesSucceeded >= halfOpenProbes) {
+                return REJECTED;
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+    
+    /**
+     * Whether {@link #tryAcquire} would grant a permission right now, without taking one or
+     * changing state. An OPEN circuit whose {@code openMs} has passed counts as permitted,
+     * since the next acquire moves it to HALF_OPEN.
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> nanoClock.getAsLong() - openedAt >= openNanos;
+            case HALF_OPEN -> probesInFlight + probesSucceeded < halfOpenProbes;
+        };
+    }
+    
+    // Hands back a permission whose call never started
+    public synchronized void release(long permission) {
+        if (permission == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+    
+    public synchronized void onResult(long permission, boolean failed) {
+        if (permission != generation) {
+            return;
+        }
+        switch (state) {
+            case CLOSED -> {
+                if (windowCount == windowSize) {
+                    windowFailures -= window[windowIndex] ? 1 : 0;
+                } else {
+                    windowCount++;
+                }
+                window[windowIndex] = failed;
+                windowFailures += failed ? 1 : 0;
+                windowIndex = (windowIndex + 1) % windowSize;
+                if (windowCount >= minimumCalls && windowFailures >= failureRateThreshold * windowCount) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                probesInFlight--;
+                if (failed) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Permissions are only granted in CLOSED and HALF_OPEN
+            }
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state);
+        snapshot.put("windowCalls", windowCount);
+        snapshot.put("windowFailures", windowFailures);
+        snapshot.put("failureRate", windowCount == 0 ? 0.0 : (double) windowFailures / windowCount);
+        snapshot.put("timesOpened", timesOpened);
+        return snapshot;
+    }
+    
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+            timesOpened++;
+        }
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.example.fooddelivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the breaker through its package-private clock, so OPEN timeouts are checked
+ * without sleeping.
+ */
+class CircuitBreakerTest {
+    
+    private static final long OPEN_MS = 1000;
+    
+    private long nowNanos;
+    
+    // Window of 4, opens at a 50% failure rate once 4 calls are recorded, 2 probes
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, OPEN_MS, 2, () -> nowNanos);
+    
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCalls() {
+        record(true);
+        record(true);
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        
+        record(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void opensWhenTheFailureRateReachesTheThreshold() {
+        record(false);
+        record(false);
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        
+        // 2 of 4 is exactly the 50% threshold
+        record(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1L, breaker.snapshot().get("timesOpened"));
+    }
+    
+    @Test
+    void staysClosedBelowTheThreshold() {
+        record(false);
+        record(false);
+        record(false);
+        record(true);
+        
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void failuresSlideOutOfTheWindow() {
+        record(true);
+        record(false);
+        record(false);
+        record(false);
+        // The first failure drops out as this one comes in, so the window still holds one
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(1, breaker.snapshot().get("windowFailures"));
+        
+        record(true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void openRejectsCallsUntilOpenMsHasPassed() {
+        trip();
+        
+        advanceMs(OPEN_MS - 1);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        
+        advanceMs(1);
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+    
+    @Test
+    void openPastOpenMsIsNotRejectedByTheGuardCheck() {
+        trip();
+        
+        advanceMs(OPEN_MS - 1);
+        assertFalse(breaker.isCallPermitted());
+        
+        // Still OPEN until someone acquires, but the pre-check must let that caller through
+        advanceMs(1);
+        assertTrue(breaker.isCallPermitted());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        
+        // With every probe taken, the check refuses like tryAcquire does
+        assertTrue(breaker.isCallPermitted());
+        breaker.tryAcquire();
+        assertFalse(breaker.isCallPermitted());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+    
+    @Test
+    void isCallPermittedNeverChangesState() {
+        assertTrue(breaker.isCallPermitted());
+        trip();
+        advanceMs(OPEN_MS);
+        
+        breaker.isCallPermitted();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void halfOpenOnlyLetsTheConfiguredProbesThrough() {
+        halfOpen();
+        
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, first);
+        assertNotEquals(CircuitBreaker.REJECTED, second);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        
+        // A released probe never ran, so its slot goes to the next caller
+        breaker.release(second);
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+    
+    @Test
+    void failedProbeReopensForAnotherFullOpenPeriod() {
+        halfOpen();
+        long probe = breaker.tryAcquire();
+        
+        advanceMs(300);
+        breaker.onResult(probe, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2L, breaker.snapshot().get("timesOpened"));
+        
+        advanceMs(OPEN_MS - 1);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        advanceMs(1);
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+    
+    @Test
+    void oneFailedProbeReopensEvenAfterAnotherSucceeded() {
+        halfOpen();
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        
+        breaker.onResult(first, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(second, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void allProbesSucceedingClosesWithAnEmptyWindow() {
+        halfOpen();
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        
+        breaker.onResult(first, false);
+        breaker.onResult(second, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.snapshot().get("windowCalls"));
+        
+        // Failures from before the circuit opened no longer count
+        record(true);
+        record(true);
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void resultsFromAnEarlierGenerationAreIgnored() {
+        long stale = breaker.tryAcquire();
+        trip();
+        halfOpen();
+        long first = breaker.tryAcquire();
+        
+        // The call started while CLOSED can neither fail nor succeed a probe
+        breaker.onResult(stale, true);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(stale, false);
+        breaker.onResult(stale, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        
+        long second = breaker.tryAcquire();
+        breaker.onResult(first, false);
+        breaker.onResult(second, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void staleReleaseDoesNotFreeAProbe() {
+        long stale = breaker.tryAcquire();
+        trip();
+        halfOpen();
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+        
+        breaker.release(stale);
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+    
+    @Test
+    void probeFromAnEarlierHalfOpenIsIgnoredAfterReopening() {
+        halfOpen();
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        breaker.onResult(first, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        
+        advanceMs(OPEN_MS);
+        long probe = breaker.tryAcquire();
+        breaker.onResult(second, true);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(2L, breaker.snapshot().get("timesOpened"));
+        
+        breaker.onResult(probe, false);
+        breaker.onResult(breaker.tryAcquire(), false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    private void record(boolean failed) {
+        long permission = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, permission);
+        breaker.onResult(permission, failed);
+    }
+    
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            record(true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    // Trips the breaker if needed and waits out the open period; the first tryAcquire moves it to HALF_OPEN
+    private void halfOpen() {
+        if (breaker.getState() == CircuitBreaker.State.CLOSED) {
+            trip();
+        }
+        advanceMs(OPEN_MS);
+    }
+    
+    private void advanceMs(long ms) {
+        nowNanos += ms * 1_000_000;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.example.fooddelivery.repository;
 
 import com.example.fooddelivery.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,7 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
+    
+    @Query("SELECT c.id FROM Customer c WHERE c.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class DataLoader implements CommandLineRunner {
@@ -29,13 +33,17 @@ public class DataLoader implements CommandLineRunner {
         this.passwordEncoder = passwordEncoder;
     }
     
+    // One transaction, so the inserts are flushed together and sent as JDBC batches
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         // Check if data already exists
         if (userRepository.count() > 0) {
             return;
         }
         
+        List<MenuItem> menuItems = new ArrayList<>();
+        
         // Create Admin User
         User admin = new User();
         admin.setName("Admin User");
@@ -72,49 +80,58 @@ public class DataLoader implements CommandLineRunner {
         customer3.setPhoneNumber("+254700000003");
         customerRepository.save(customer3);
         
+        // Create Restaurant Users
+        User pizzaPalaceOwner = new User();
+        pizzaPalaceOwner.setName("Pizza Palace Kitchen");
+        pizzaPalaceOwner.setEmail("pizza@example.com");
+        pizzaPalaceOwner.setPassword(passwordEncoder.encode("restaurant123"));
+        pizzaPalaceOwner.setRole(Role.RESTAURANT);
+        userRepository.save(pizzaPalaceOwner);
+        
         // ========== RESTAURANT 1: Pizza Palace ==========
         Restaurant restaurant1 = new Restaurant("Pizza Palace", "Downtown Nairobi", "+254701234567");
+        restaurant1.setOwner(pizzaPalaceOwner);
         restaurantRepository.save(restaurant1);
         
         MenuItem pizza1 = new MenuItem();
         pizza1.setName("Margherita Pizza");
         pizza1.setDescription("Classic tomato and mozzarella");
-        pizza1.setPrice(12.99);
+        pizza1.setPrice(Money.of("12.99"));
         pizza1.setDiscountPercentage(0.0);
         pizza1.setRestaurant(restaurant1);
-        menuItemRepository.save(pizza1);
+        menuItems.add(pizza1);
         
         MenuItem pizza2 = new MenuItem();
         pizza2.setName("Pepperoni Pizza");
         pizza2.setDescription("Spicy pepperoni with cheese");
-        pizza2.setPrice(15.99);
+        pizza2.setPrice(Money.of("15.99"));
         pizza2.setDiscountPercentage(10.0);
         pizza2.setRestaurant(restaurant1);
-        menuItemRepository.save(pizza2);
+        menuItems.add(pizza2);
         
         MenuItem pizza3 = new MenuItem();
         pizza3.setName("Veggie Supreme");
         pizza3.setDescription("Loaded with fresh vegetables");
-        pizza3.setPrice(14.99);
+        pizza3.setPrice(Money.of("14.99"));
         pizza3.setDiscountPercentage(0.0);
         pizza3.setRestaurant(restaurant1);
-        menuItemRepository.save(pizza3);
+        menuItems.add(pizza3);
         
         MenuItem pizza4 = new MenuItem();
         pizza4.setName("BBQ Chicken Pizza");
         pizza4.setDescription("Grilled chicken with BBQ sauce");
-        pizza4.setPrice(16.99);
+        pizza4.setPrice(Money.of("16.99"));
         pizza4.setDiscountPercentage(5.0);
         pizza4.setRestaurant(restaurant1);
-        menuItemRepository.save(pizza4);
+        menuItems.add(pizza4);
         
         MenuItem pizza5 = new MenuItem();
         pizza5.setName("Hawaiian Pizza");
         pizza5.setDescription("Ham and pineapple");
-        pizza5.setPrice(13.99);
+        pizza5.setPrice(Money.of("13.99"));
         pizza5.setDiscountPercentage(0.0);
         pizza5.setRestaurant(restaurant1);
-        menuItemRepository.save(pizza5);
+        menuItems.add(pizza5);
         
         // ========== RESTAURANT 2: Burger House ==========
         Restaurant restaurant2 = new Restaurant("Burger House", "Westlands, Nairobi", "+254702345678");
@@ -123,42 +140,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem burger1 = new MenuItem();
         burger1.setName("Classic Burger");
         burger1.setDescription("Beef patty with lettuce and tomato");
-        burger1.setPrice(8.99);
+        burger1.setPrice(Money.of("8.99"));
         burger1.setDiscountPercentage(0.0);
         burger1.setRestaurant(restaurant2);
-        menuItemRepository.save(burger1);
+        menuItems.add(burger1);
         
         MenuItem burger2 = new MenuItem();
         burger2.setName("Cheese Burger");
         burger2.setDescription("Double cheese with bacon");
-        burger2.setPrice(10.99);
+        burger2.setPrice(Money.of("10.99"));
         burger2.setDiscountPercentage(15.0);
         burger2.setRestaurant(restaurant2);
-        menuItemRepository.save(burger2);
+        menuItems.add(burger2);
         
         MenuItem burger3 = new MenuItem();
         burger3.setName("Chicken Burger");
         burger3.setDescription("Grilled chicken with special sauce");
-        burger3.setPrice(9.99);
+        burger3.setPrice(Money.of("9.99"));
         burger3.setDiscountPercentage(0.0);
         burger3.setRestaurant(restaurant2);
-        menuItemRepository.save(burger3);
+        menuItems.add(burger3);
         
         MenuItem burger4 = new MenuItem();
         burger4.setName("Veggie Burger");
         burger4.setDescription("Plant-based patty with avocado");
-        burger4.setPrice(11.99);
+        burger4.setPrice(Money.of("11.99"));
         burger4.setDiscountPercentage(10.0);
         burger4.setRestaurant(restaurant2);
-        menuItemRepository.save(burger4);
+        menuItems.add(burger4);
         
         MenuItem burger5 = new MenuItem();
         burger5.setName("Mushroom Swiss Burger");
         burger5.setDescription("Sautéed mushrooms and Swiss cheese");
-        burger5.setPrice(12.99);
+        burger5.setPrice(Money.of("12.99"));
         burger5.setDiscountPercentage(0.0);
         burger5.setRestaurant(restaurant2);
-        menuItemRepository.save(burger5);
+        menuItems.add(burger5);
         
         // ========== RESTAURANT 3: Sushi World ==========
         Restaurant restaurant3 = new Restaurant("Sushi World", "Karen, Nairobi", "+254703456789");
@@ -167,42 +184,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem sushi1 = new MenuItem();
         sushi1.setName("California Roll");
         sushi1.setDescription("Crab, avocado, and cucumber");
-        sushi1.setPrice(11.99);
+        sushi1.setPrice(Money.of("11.99"));
         sushi1.setDiscountPercentage(0.0);
         sushi1.setRestaurant(restaurant3);
-        menuItemRepository.save(sushi1);
+        menuItems.add(sushi1);
         
         MenuItem sushi2 = new MenuItem();
         sushi2.setName("Salmon Nigiri");
         sushi2.setDescription("Fresh salmon on rice");
-        sushi2.setPrice(13.99);
+        sushi2.setPrice(Money.of("13.99"));
         sushi2.setDiscountPercentage(20.0);
         sushi2.setRestaurant(restaurant3);
-        menuItemRepository.save(sushi2);
+        menuItems.add(sushi2);
         
         MenuItem sushi3 = new MenuItem();
         sushi3.setName("Tuna Sashimi");
         sushi3.setDescription("Premium tuna slices");
-        sushi3.setPrice(16.99);
+        sushi3.setPrice(Money.of("16.99"));
         sushi3.setDiscountPercentage(0.0);
         sushi3.setRestaurant(restaurant3);
-        menuItemRepository.save(sushi3);
+        menuItems.add(sushi3);
         
         MenuItem sushi4 = new MenuItem();
         sushi4.setName("Dragon Roll");
         sushi4.setDescription("Eel and avocado with special sauce");
-        sushi4.setPrice(18.99);
+        sushi4.setPrice(Money.of("18.99"));
         sushi4.setDiscountPercentage(15.0);
         sushi4.setRestaurant(restaurant3);
-        menuItemRepository.save(sushi4);
+        menuItems.add(sushi4);
         
         MenuItem sushi5 = new MenuItem();
         sushi5.setName("Spicy Tuna Roll");
         sushi5.setDescription("Spicy tuna with cucumber");
-        sushi5.setPrice(14.99);
+        sushi5.setPrice(Money.of("14.99"));
         sushi5.setDiscountPercentage(0.0);
         sushi5.setRestaurant(restaurant3);
-        menuItemRepository.save(sushi5);
+        menuItems.add(sushi5);
         
         // ========== RESTAURANT 4: Pasta Paradise ==========
         Restaurant restaurant4 = new Restaurant("Pasta Paradise", "Kilimani, Nairobi", "+254704567890");
@@ -211,42 +228,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem pasta1 = new MenuItem();
         pasta1.setName("Spaghetti Carbonara");
         pasta1.setDescription("Creamy bacon and egg sauce");
-        pasta1.setPrice(13.99);
+        pasta1.setPrice(Money.of("13.99"));
         pasta1.setDiscountPercentage(0.0);
         pasta1.setRestaurant(restaurant4);
-        menuItemRepository.save(pasta1);
+        menuItems.add(pasta1);
         
         MenuItem pasta2 = new MenuItem();
         pasta2.setName("Fettuccine Alfredo");
         pasta2.setDescription("Rich cream and parmesan sauce");
-        pasta2.setPrice(14.99);
+        pasta2.setPrice(Money.of("14.99"));
         pasta2.setDiscountPercentage(10.0);
         pasta2.setRestaurant(restaurant4);
-        menuItemRepository.save(pasta2);
+        menuItems.add(pasta2);
         
         MenuItem pasta3 = new MenuItem();
         pasta3.setName("Penne Arrabbiata");
         pasta3.setDescription("Spicy tomato sauce");
-        pasta3.setPrice(12.99);
+        pasta3.setPrice(Money.of("12.99"));
         pasta3.setDiscountPercentage(0.0);
         pasta3.setRestaurant(restaurant4);
-        menuItemRepository.save(pasta3);
+        menuItems.add(pasta3);
         
         MenuItem pasta4 = new MenuItem();
         pasta4.setName("Lasagna");
         pasta4.setDescription("Layered pasta with meat sauce");
-        pasta4.setPrice(15.99);
+        pasta4.setPrice(Money.of("15.99"));
         pasta4.setDiscountPercentage(5.0);
         pasta4.setRestaurant(restaurant4);
-        menuItemRepository.save(pasta4);
+        menuItems.add(pasta4);
         
         MenuItem pasta5 = new MenuItem();
         pasta5.setName("Seafood Linguine");
         pasta5.setDescription("Mixed seafood in white wine sauce");
-        pasta5.setPrice(18.99);
+        pasta5.setPrice(Money.of("18.99"));
         pasta5.setDiscountPercentage(0.0);
         pasta5.setRestaurant(restaurant4);
-        menuItemRepository.save(pasta5);
+        menuItems.add(pasta5);
         
         // ========== RESTAURANT 5: Taco Fiesta ==========
         Restaurant restaurant5 = new Restaurant("Taco Fiesta", "Upperhill, Nairobi", "+254705678901");
@@ -255,42 +272,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem taco1 = new MenuItem();
         taco1.setName("Beef Tacos");
         taco1.setDescription("Seasoned ground beef with toppings");
-        taco1.setPrice(9.99);
+        taco1.setPrice(Money.of("9.99"));
         taco1.setDiscountPercentage(0.0);
         taco1.setRestaurant(restaurant5);
-        menuItemRepository.save(taco1);
+        menuItems.add(taco1);
         
         MenuItem taco2 = new MenuItem();
         taco2.setName("Chicken Quesadilla");
         taco2.setDescription("Grilled chicken with melted cheese");
-        taco2.setPrice(11.99);
+        taco2.setPrice(Money.of("11.99"));
         taco2.setDiscountPercentage(15.0);
         taco2.setRestaurant(restaurant5);
-        menuItemRepository.save(taco2);
+        menuItems.add(taco2);
         
         MenuItem taco3 = new MenuItem();
         taco3.setName("Fish Tacos");
         taco3.setDescription("Crispy fish with cabbage slaw");
-        taco3.setPrice(12.99);
+        taco3.setPrice(Money.of("12.99"));
         taco3.setDiscountPercentage(0.0);
         taco3.setRestaurant(restaurant5);
-        menuItemRepository.save(taco3);
+        menuItems.add(taco3);
         
         MenuItem taco4 = new MenuItem();
         taco4.setName("Burrito Bowl");
         taco4.setDescription("Rice, beans, meat, and toppings");
-        taco4.setPrice(13.99);
+        taco4.setPrice(Money.of("13.99"));
         taco4.setDiscountPercentage(10.0);
         taco4.setRestaurant(restaurant5);
-        menuItemRepository.save(taco4);
+        menuItems.add(taco4);
         
         MenuItem taco5 = new MenuItem();
         taco5.setName("Nachos Supreme");
         taco5.setDescription("Loaded nachos with all toppings");
-        taco5.setPrice(10.99);
+        taco5.setPrice(Money.of("10.99"));
         taco5.setDiscountPercentage(0.0);
         taco5.setRestaurant(restaurant5);
-        menuItemRepository.save(taco5);
+        menuItems.add(taco5);
         
         // ========== RESTAURANT 6: Indian Spice ==========
         Restaurant restaurant6 = new Restaurant("Indian Spice", "Parklands, Nairobi", "+254706789012");
@@ -299,42 +316,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem indian1 = new MenuItem();
         indian1.setName("Chicken Tikka Masala");
         indian1.setDescription("Creamy tomato curry with chicken");
-        indian1.setPrice(14.99);
+        indian1.setPrice(Money.of("14.99"));
         indian1.setDiscountPercentage(0.0);
         indian1.setRestaurant(restaurant6);
-        menuItemRepository.save(indian1);
+        menuItems.add(indian1);
         
         MenuItem indian2 = new MenuItem();
         indian2.setName("Butter Chicken");
         indian2.setDescription("Rich and creamy chicken curry");
-        indian2.setPrice(15.99);
+        indian2.setPrice(Money.of("15.99"));
         indian2.setDiscountPercentage(20.0);
         indian2.setRestaurant(restaurant6);
-        menuItemRepository.save(indian2);
+        menuItems.add(indian2);
         
         MenuItem indian3 = new MenuItem();
         indian3.setName("Vegetable Biryani");
         indian3.setDescription("Fragrant rice with mixed vegetables");
-        indian3.setPrice(12.99);
+        indian3.setPrice(Money.of("12.99"));
         indian3.setDiscountPercentage(0.0);
         indian3.setRestaurant(restaurant6);
-        menuItemRepository.save(indian3);
+        menuItems.add(indian3);
         
         MenuItem indian4 = new MenuItem();
         indian4.setName("Lamb Rogan Josh");
         indian4.setDescription("Spicy lamb curry");
-        indian4.setPrice(17.99);
+        indian4.setPrice(Money.of("17.99"));
         indian4.setDiscountPercentage(10.0);
         indian4.setRestaurant(restaurant6);
-        menuItemRepository.save(indian4);
+        menuItems.add(indian4);
         
         MenuItem indian5 = new MenuItem();
         indian5.setName("Paneer Tikka");
         indian5.setDescription("Grilled cottage cheese with spices");
-        indian5.setPrice(13.99);
+        indian5.setPrice(Money.of("13.99"));
         indian5.setDiscountPercentage(0.0);
         indian5.setRestaurant(restaurant6);
-        menuItemRepository.save(indian5);
+        menuItems.add(indian5);
         
         // ========== RESTAURANT 7: Thai Kitchen ==========
         Restaurant restaurant7 = new Restaurant("Thai Kitchen", "Lavington, Nairobi", "+254707890123");
@@ -343,42 +360,42 @@ public class DataLoader implements CommandLineRunner {
         MenuItem thai1 = new MenuItem(); 
         thai1.setName("Pad Thai"); 
         thai1.setDescription("Stir-fried rice noodles with shrimp"); 
-        thai1.setPrice(13.99); 
+        thai1.setPrice(Money.of("13.99")); 
         thai1.setDiscountPercentage(0.0); 
         thai1.setRestaurant(restaurant7); 
-        menuItemRepository.save(thai1);
+        menuItems.add(thai1);
 
             MenuItem thai2 = new MenuItem();
     thai2.setName("Green Curry");
     thai2.setDescription("Spicy coconut curry with chicken");
-    thai2.setPrice(14.99);
+    thai2.setPrice(Money.of("14.99"));
     thai2.setDiscountPercentage(15.0);
     thai2.setRestaurant(restaurant7);
-    menuItemRepository.save(thai2);
+    menuItems.add(thai2);
     
     MenuItem thai3 = new MenuItem();
     thai3.setName("Tom Yum Soup");
     thai3.setDescription("Hot and sour soup with prawns");
-    thai3.setPrice(11.99);
+    thai3.setPrice(Money.of("11.99"));
     thai3.setDiscountPercentage(0.0);
     thai3.setRestaurant(restaurant7);
-    menuItemRepository.save(thai3);
+    menuItems.add(thai3);
     
     MenuItem thai4 = new MenuItem();
     thai4.setName("Massaman Curry");
     thai4.setDescription("Rich peanut curry with beef");
-    thai4.setPrice(16.99);
+    thai4.setPrice(Money.of("16.99"));
     thai4.setDiscountPercentage(10.0);
     thai4.setRestaurant(restaurant7);
-    menuItemRepository.save(thai4);
+    menuItems.add(thai4);
     
     MenuItem thai5 = new MenuItem();
     thai5.setName("Spring Rolls");
     thai5.setDescription("Crispy vegetable spring rolls");
-    thai5.setPrice(8.99);
+    thai5.setPrice(Money.of("8.99"));
     thai5.setDiscountPercentage(0.0);
     thai5.setRestaurant(restaurant7);
-    menuItemRepository.save(thai5);
+    menuItems.add(thai5);
     
     // ========== RESTAURANT 8: BBQ Grill House ==========
     Restaurant restaurant8 = new Restaurant("BBQ Grill House", "Ngong Road, Nairobi", "+254708901234");
@@ -387,42 +404,42 @@ public class DataLoader implements CommandLineRunner {
     MenuItem bbq1 = new MenuItem();
     bbq1.setName("Beef Ribs");
     bbq1.setDescription("Slow-cooked beef ribs with BBQ sauce");
-    bbq1.setPrice(19.99);
+    bbq1.setPrice(Money.of("19.99"));
     bbq1.setDiscountPercentage(0.0);
     bbq1.setRestaurant(restaurant8);
-    menuItemRepository.save(bbq1);
+    menuItems.add(bbq1);
     
     MenuItem bbq2 = new MenuItem();
     bbq2.setName("Pulled Pork Sandwich");
     bbq2.setDescription("Tender pulled pork with coleslaw");
-    bbq2.setPrice(12.99);
+    bbq2.setPrice(Money.of("12.99"));
     bbq2.setDiscountPercentage(20.0);
     bbq2.setRestaurant(restaurant8);
-    menuItemRepository.save(bbq2);
+    menuItems.add(bbq2);
     
     MenuItem bbq3 = new MenuItem();
     bbq3.setName("Grilled Chicken Wings");
     bbq3.setDescription("Spicy BBQ chicken wings");
-    bbq3.setPrice(10.99);
+    bbq3.setPrice(Money.of("10.99"));
     bbq3.setDiscountPercentage(0.0);
     bbq3.setRestaurant(restaurant8);
-    menuItemRepository.save(bbq3);
+    menuItems.add(bbq3);
     
     MenuItem bbq4 = new MenuItem();
     bbq4.setName("Smoked Brisket");
     bbq4.setDescription("Texas-style smoked brisket");
-    bbq4.setPrice(21.99);
+    bbq4.setPrice(Money.of("21.99"));
     bbq4.setDiscountPercentage(15.0);
     bbq4.setRestaurant(restaurant8);
-    menuItemRepository.save(bbq4);
+    menuItems.add(bbq4);
     
     MenuItem bbq5 = new MenuItem();
     bbq5.setName("Grilled Corn on the Cob");
     bbq5.setDescription("Buttered corn with spices");
-    bbq5.setPrice(5.99);
+    bbq5.setPrice(Money.of("5.99"));
     bbq5.setDiscountPercentage(0.0);
     bbq5.setRestaurant(restaurant8);
-    menuItemRepository.save(bbq5);
+    menuItems.add(bbq5);
     
     // ========== RESTAURANT 9: Mediterranean Delight ==========
     Restaurant restaurant9 = new Restaurant("Mediterranean Delight", "Gigiri, Nairobi", "+254709012345");
@@ -431,42 +448,42 @@ public class DataLoader implements CommandLineRunner {
     MenuItem med1 = new MenuItem();
     med1.setName("Chicken Shawarma");
     med1.setDescription("Marinated chicken in pita bread");
-    med1.setPrice(11.99);
+    med1.setPrice(Money.of("11.99"));
     med1.setDiscountPercentage(0.0);
     med1.setRestaurant(restaurant9);
-    menuItemRepository.save(med1);
+    menuItems.add(med1);
     
     MenuItem med2 = new MenuItem();
     med2.setName("Falafel Wrap");
     med2.setDescription("Crispy chickpea balls with tahini");
-    med2.setPrice(10.99);
+    med2.setPrice(Money.of("10.99"));
     med2.setDiscountPercentage(10.0);
     med2.setRestaurant(restaurant9);
-    menuItemRepository.save(med2);
+    menuItems.add(med2);
     
     MenuItem med3 = new MenuItem();
     med3.setName("Greek Salad");
     med3.setDescription("Fresh vegetables with feta cheese");
-    med3.setPrice(9.99);
+    med3.setPrice(Money.of("9.99"));
     med3.setDiscountPercentage(0.0);
     med3.setRestaurant(restaurant9);
-    menuItemRepository.save(med3);
+    menuItems.add(med3);
     
     MenuItem med4 = new MenuItem();
     med4.setName("Lamb Kebab");
     med4.setDescription("Grilled lamb skewers with rice");
-    med4.setPrice(16.99);
+    med4.setPrice(Money.of("16.99"));
     med4.setDiscountPercentage(15.0);
     med4.setRestaurant(restaurant9);
-    menuItemRepository.save(med4);
+    menuItems.add(med4);
     
     MenuItem med5 = new MenuItem();
     med5.setName("Hummus Platter");
     med5.setDescription("Creamy hummus with pita bread");
-    med5.setPrice(8.99);
+    med5.setPrice(Money.of("8.99"));
     med5.setDiscountPercentage(0.0);
     med5.setRestaurant(restaurant9);
-    menuItemRepository.save(med5);
+    menuItems.add(med5);
     
     // ========== RESTAURANT 10: Chinese Dragon ==========
     Restaurant restaurant10 = new Restaurant("Chinese Dragon", "Hurlingham, Nairobi", "+254710123456");
@@ -475,50 +492,52 @@ public class DataLoader implements CommandLineRunner {
     MenuItem chinese1 = new MenuItem();
     chinese1.setName("Sweet and Sour Chicken");
     chinese1.setDescription("Crispy chicken in tangy sauce");
-    chinese1.setPrice(13.99);
+    chinese1.setPrice(Money.of("13.99"));
     chinese1.setDiscountPercentage(0.0);
     chinese1.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese1);
+    menuItems.add(chinese1);
     
     MenuItem chinese2 = new MenuItem();
     chinese2.setName("Kung Pao Chicken");
     chinese2.setDescription("Spicy chicken with peanuts");
-    chinese2.setPrice(14.99);
+    chinese2.setPrice(Money.of("14.99"));
     chinese2.setDiscountPercentage(20.0);
     chinese2.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese2);
+    menuItems.add(chinese2);
     
     MenuItem chinese3 = new MenuItem();
     chinese3.setName("Beef Chow Mein");
     chinese3.setDescription("Stir-fried noodles with beef");
-    chinese3.setPrice(12.99);
+    chinese3.setPrice(Money.of("12.99"));
     chinese3.setDiscountPercentage(0.0);
     chinese3.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese3);
+    menuItems.add(chinese3);
     
     MenuItem chinese4 = new MenuItem();
     chinese4.setName("Peking Duck");
     chinese4.setDescription("Crispy duck with pancakes");
-    chinese4.setPrice(22.99);
+    chinese4.setPrice(Money.of("22.99"));
     chinese4.setDiscountPercentage(10.0);
     chinese4.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese4);
+    menuItems.add(chinese4);
     
     MenuItem chinese5 = new MenuItem();
     chinese5.setName("Fried Rice");
     chinese5.setDescription("Egg fried rice with vegetables");
-    chinese5.setPrice(9.99);
+    chinese5.setPrice(Money.of("9.99"));
     chinese5.setDiscountPercentage(0.0);
     chinese5.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese5);
+    menuItems.add(chinese5);
     
     MenuItem chinese6 = new MenuItem();
     chinese6.setName("Spring Rolls");
     chinese6.setDescription("Crispy vegetable spring rolls");
-    chinese6.setPrice(7.99);
+    chinese6.setPrice(Money.of("7.99"));
     chinese6.setDiscountPercentage(0.0);
     chinese6.setRestaurant(restaurant10);
-    menuItemRepository.save(chinese6);
+    menuItems.add(chinese6);
+    
+    menuItemRepository.saveAll(menuItems);
     
     System.out.println("Sample data loaded successfully!");
     System.out.println("Total Restaurants: 10");
@@ -526,5 +545,3 @@ public class DataLoader implements CommandLineRunner {
     System.out.println("Total Customers: 3");
 }
 }
-
-
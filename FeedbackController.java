@@ -2,6 +2,7 @@ package com.example.fooddelivery.controller;
 
 import com.example.fooddelivery.dto.FeedbackRequest;
 import com.example.fooddelivery.dto.FeedbackDTO;
+import com.example.fooddelivery.dto.RestaurantRatingDTO;
 import com.example.fooddelivery.service.FeedbackService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -62,11 +63,8 @@ public class FeedbackController {
     @GetMapping("/restaurant/{restaurantId}/rating")
     public ResponseEntity<?> getRestaurantRating(@PathVariable Long restaurantId) {
         try {
-            Double averageRating = feedbackService.getAverageRating(restaurantId);
-            return ResponseEntity.ok(Map.of(
-                "restaurantId", restaurantId,
-                "averageRating", averageRating
-            ));
+            RestaurantRatingDTO rating = feedbackService.getRatingSummary(restaurantId);
+            return ResponseEntity.ok(rating);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(
                 Map.of("message", "Failed to fetch rating: " + e.getMessage())
@@ -0,0 +1,47 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.FeedbackDTO;
+import com.example.fooddelivery.model.Customer;
+import com.example.fooddelivery.model.Feedback;
+import com.example.fooddelivery.model.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one feedback row to its DTO, run once per review on every
+ * restaurant and customer review listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackConversionBenchmark {
+    
+    private FeedbackService feedbackService;
+    private Feedback feedback;
+    
+    @Setup
+    public void setUp() {
+        // convertToDTO touches none of the repositories
+        feedbackService = ServiceFixtures.feedbackService();
+        
+        Customer customer = new Customer("John Doe", "john@example.com", "secret",
+                "123 Main Street, Nairobi", "+254700000001");
+        customer.setId(1L);
+        Restaurant restaurant = new Restaurant("Pizza Palace", "Downtown Nairobi", "+254701234567");
+        restaurant.setId(1L);
+        
+        feedback = new Feedback(customer, restaurant, 4, "Great crust, delivery was a little slow.",
+                LocalDateTime.of(2024, 3, 14, 19, 30, 15));
+        feedback.setId(1L);
+    }
+    
+    @Benchmark
+    public FeedbackDTO convertToDTO() {
+        return feedbackService.convertToDTO(feedback);
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.fooddelivery.service;
 
 import com.example.fooddelivery.dto.FeedbackRequest;
 import com.example.fooddelivery.dto.FeedbackDTO;
+import com.example.fooddelivery.dto.RestaurantRatingDTO;
 import com.example.fooddelivery.exception.ResourceNotFoundException;
 import com.example.fooddelivery.model.Customer;
 import com.example.fooddelivery.model.Feedback;
@@ -12,6 +13,7 @@ import com .example.fooddelivery.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired; 
 import org.springframework.stereotype.Service; 
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter; 
 import java.util.List; 
 import java.util.stream.Collectors;
@@ -21,36 +23,41 @@ public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
 private final CustomerRepository customerRepository;
 private final RestaurantRepository restaurantRepository;
+private final RatingAggregateService ratingAggregateService;
 
 @Autowired
 public FeedbackService(FeedbackRepository feedbackRepository,
                       CustomerRepository customerRepository,
-                      RestaurantRepository restaurantRepository) {
+                      RestaurantRepository restaurantRepository,
+                      RatingAggregateService ratingAggregateService) {
     this.feedbackRepository = feedbackRepository;
     this.customerRepository = customerRepository;
     this.restaurantRepository = restaurantRepository;
+    this.ratingAggregateService = ratingAggregateService;
 }
 
 @Transactional
 public FeedbackDTO createFeedback(FeedbackRequest feedbackRequest, String customerEmail) {
+    // Validate rating
+    if (feedbackRequest.getRating() == null || feedbackRequest.getRating() < 1 || feedbackRequest.getRating() > 5) {
+        throw new IllegalArgumentException("Rating must be between 1 and 5");
+    }
+    
     Customer customer = customerRepository.findByEmail(customerEmail)
             .orElseThrow(() -> new ResourceNotFoundException("Customer not found with email: " + customerEmail));
     
     Restaurant restaurant = restaurantRepository.findById(feedbackRequest.getRestaurantId())
             .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + feedbackRequest.getRestaurantId()));
     
-    // Validate rating
-    if (feedbackRequest.getRating() < 1 || feedbackRequest.getRating() > 5) {
-        throw new IllegalArgumentException("Rating must be between 1 and 5");
-    }
-    
     Feedback feedback = new Feedback();
     feedback.setCustomer(customer);
     feedback.setRestaurant(restaurant);
     feedback.setRating(feedbackRequest.getRating());
     feedback.setComment(feedbackRequest.getComment());
+    feedback.setDate(LocalDateTime.now());
     
     Feedback savedFeedback = feedbackRepository.save(feedback);
+    ratingAggregateService.recordRating(restaurant.getId(), savedFeedback.getRating());
     
     return convertToDTO(savedFeedback);
 }
@@ -81,22 +88,16 @@ public List<FeedbackDTO> getFeedbacksByCustomer(String customerEmail) {
 
 @Transactional(readOnly = true)
 public Double getAverageRating(Long restaurantId) {
-    Restaurant restaurant = restaurantRepository.findById(restaurantId)
-            .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + restaurantId));
-    
-    List<Feedback> feedbacks = feedbackRepository.findByRestaurant(restaurant);
-    
-    if (feedbacks.isEmpty()) {
-        return 0.0;
-    }
-    
-    return feedbacks.stream()
-            .mapToInt(Feedback::getRating)
-            .average()
-            .orElse(0.0);
+    return getRatingSummary(restaurantId).getAverageRating();
+}
+
+// Served from the incrementally maintained aggregate row, independent of review count
+@Transactional(readOnly = true)
+public RestaurantRatingDTO getRatingSummary(Long restaurantId) {
+    return ratingAggregateService.getRating(restaurantId);
 }
 
-private FeedbackDTO convertToDTO(Feedback feedback) {
+FeedbackDTO convertToDTO(Feedback feedback) {
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     return new FeedbackDTO(
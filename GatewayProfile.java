@@ -0,0 +1,164 @@
+package com.example.fooddelivery.dto;
+
+/**
+ * Behaviour of the mock payment gateway for one payment method. Latency is drawn from
+ * {@code distribution}; a share of calls, set by {@code tailPercentile}, takes
+ * {@code tailLatencyMs} instead. Rates are probabilities between 0 and 1.
+ */
+public class GatewayProfile {
+    
+    public enum LatencyDistribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+    
+    private LatencyDistribution distribution = LatencyDistribution.FIXED;
+    // Fixed latency, or the median of the log-normal distribution
+    private long latencyMs;
+    private long minLatencyMs;
+    private long maxLatencyMs;
+    private double sigma;
+    // e.g. 99 sends 1% of calls to the tail; 0 disables it
+    private double tailPercentile;
+    private long tailLatencyMs;
+    private double failureRate;
+    private double timeoutRate;
+    private long timeoutMs;
+    // Acknowledge at once and deliver the outcome later instead of blocking the caller
+    private boolean asyncCallback;
+    
+    // Constructors
+    public GatewayProfile() {
+    }
+    
+    public GatewayProfile(long latencyMs, double failureRate, long timeoutMs) {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.timeoutMs = timeoutMs;
+    }
+    
+    public GatewayProfile(GatewayProfile other) {
+        this.distribution = other.distribution;
+        this.latencyMs = other.latencyMs;
+        this.minLatencyMs = other.minLatencyMs;
+        this.maxLatencyMs = other.maxLatencyMs;
+        this.sigma = other.sigma;
+        this.tailPercentile = other.tailPercentile;
+        this.tailLatencyMs = other.tailLatencyMs;
+        this.failureRate = other.failureRate;
+        this.timeoutRate = other.timeoutRate;
+        this.timeoutMs = other.timeoutMs;
+        this.asyncCallback = other.asyncCallback;
+    }
+    
+    public void validate() {
+        if (distribution == null) {
+            throw new IllegalArgumentException("distribution is required");
+        }
+        if (latencyMs < 0 || minLatencyMs < 0 || maxLatencyMs < 0 || tailLatencyMs < 0 || timeoutMs < 0) {
+            throw new IllegalArgumentException("Latencies must not be negative");
+        }
+        if (distribution == LatencyDistribution.UNIFORM && minLatencyMs > maxLatencyMs) {
+            throw new IllegalArgumentException("minLatencyMs must not exceed maxLatencyMs");
+        }
+        if (sigma < 0) {
+            throw new IllegalArgumentException("sigma must not be negative");
+        }
+        if (tailPercentile < 0 || tailPercentile >= 100) {
+            throw new IllegalArgumentException("tailPercentile must be at least 0 and below 100");
+        }
+        if (failureRate < 0 || timeoutRate < 0 || failureRate + timeoutRate > 1) {
+            throw new IllegalArgumentException("failureRate and timeoutRate must be between 0 and 1 and sum to at most 1");
+        }
+    }
+    
+    // Getters and Setters
+    public LatencyDistribution getDistribution() {
+        return distribution;
+    }
+    
+    public void setDistribution(LatencyDistribution distribution) {
+        this.distribution = distribution;
+    }
+    
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+    
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+    
+    public long getMinLatencyMs() {
+        return minLatencyMs;
+    }
+    
+    public void setMinLatencyMs(long minLatencyMs) {
+        this.minLatencyMs = minLatencyMs;
+    }
+    
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+    
+    public void setMaxLatencyMs(long maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+    
+    public double getSigma() {
+        return sigma;
+    }
+    
+    public void setSigma(double sigma) {
+        this.sigma = sigma;
+    }
+    
+    public double getTailPercentile() {
+        return tailPercentile;
+    }
+    
+    public void setTailPercentile(double tailPercentile) {
+        this.tailPercentile = tailPercentile;
+    }
+    
+    public long getTailLatencyMs() {
+        return tailLatencyMs;
+    }
+    
+    public void setTailLatencyMs(long tailLatencyMs) {
+        this.tailLatencyMs = tailLatencyMs;
+    }
+    
+    public double getFailureRate() {
+        return failureRate;
+    }
+    
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+    
+    public double getTimeoutRate() {
+        return timeoutRate;
+    }
+    
+    public void setTimeoutRate(double timeoutRate) {
+        this.timeoutRate = timeoutRate;
+    }
+    
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+    
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+    
+    public boolean isAsyncCallback() {
+        return asyncCallback;
+    }
+    
+    public void setAsyncCallback(boolean asyncCallback) {
+        this.asyncCallback = asyncCallback;
+    }
+}
\ No newline at end of file
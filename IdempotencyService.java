@@ -0,0 +1,246 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.model.IdempotencyRecord;
+import com.example.fooddelivery.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request at most once per {@code Idempotency-Key} and caller. The first request
+ * runs in a transaction that also stores its response, so the write and the key commit or
+ * roll back together. Duplicates arriving while it runs wait on its outcome; later retries
+ * are answered from a bounded in-memory cache, or from the {@code idempotency_keys} table
+ * after a restart. Only successful responses are kept, so failed attempts can be retried.
+ */
+@Service
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final long waitSeconds;
+    
+    // Owner + key -> outcome of the first execution, completed once it is known
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache.max-entries:10000}") long maxEntries,
+                              @Value("${idempotency.wait-seconds:30}") long waitSeconds) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitSeconds = waitSeconds;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    public ResponseEntity<?> execute(String owner, String idempotencyKey, String scope, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters")
+            );
+        }
+        
+        String cacheKey = owner + ':' + idempotencyKey;
+        String requestHash = fingerprint(scope, request);
+        
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(cacheKey, pending);
+        if (first != null) {
+            return awaitFirst(first, requestHash);
+        }
+        
+        try {
+            StoredResponse response = executeOnce(owner, idempotencyKey, requestHash, action);
+            pending.complete(response);
+            if (!response.isSuccessful()) {
+                responses.asMap().remove(cacheKey, pending);
+            }
+            return response.replayed ? toResponseEntity(response, requestHash) : response.original;
+        } catch (RuntimeException e) {
+            responses.asMap().remove(cacheKey, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    private StoredResponse executeOnce(String owner, String idempotencyKey, String requestHash,
+                                       Supplier<ResponseEntity<?>> action) {
+        try {
+            return transactionTemplate.execute(tx -> {
+                Optional<IdempotencyRecord> existing =
+                        idempotencyRecordRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey);
+                if (existing.isPresent()) {
+                    IdempotencyRecord record = existing.get();
+                    if (record.getExpiresAt().isAfter(LocalDateTime.now())) {
+                        return StoredResponse.replay(record.getRequestHash(), record.getResponseStatus(),
+                                record.getResponseBody());
+                    }
+                    idempotencyRecordRepository.delete(record);
+                    idempotencyRecordRepository.flush();
+                }
+                
+                ResponseEntity<?> response = action.get();
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    // The action reported its own failure; undo any partial writes and remember nothing
+                    tx.setRollbackOnly();
+                    return StoredResponse.original(requestHash, response, null);
+                }
+                
+                String body = writeBody(response.getBody());
+                LocalDateTime now = LocalDateTime.now();
+                idempotencyRecordRepository.save(new IdempotencyRecord(owner, idempotencyKey, requestHash,
+                        response.getStatusCode().value(), body, now, now.plus(ttl)));
+                return StoredResponse.original(requestHash, response, body);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; this attempt was rolled back
+            log.warn("Concurrent use of {} {} by {}", HEADER, idempotencyKey, owner);
+            return StoredResponse.original(requestHash, inProgress(), null);
+        }
+    }
+    
+    private ResponseEntity<?> awaitFirst(CompletableFuture<StoredResponse> first, String requestHash) {
+        try {
+            return toResponseEntity(first.get(waitSeconds, TimeUnit.SECONDS), requestHash);
+        } catch (TimeoutException e) {
+            return inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress();
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(500).body(
+                Map.of("message", "Request failed: " + e.getCause().getMessage())
+            );
+        }
+    }
+    
+    private ResponseEntity<?> toResponseEntity(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(
+                Map.of("message", HEADER + " was already used for a different request")
+            );
+        }
+        
+        if (stored.body == null) {
+            return stored.original;
+        }
+        return ResponseEntity.status(stored.status)
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.body);
+    }
+    
+    private ResponseEntity<?> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+            Map.of("message", "A request with this " + HEADER + " is still being processed")
+        );
+    }
+    
+    private String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+    
+    private String writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store response", e);
+        }
+    }
+    
+    @Scheduled(cron = "${idempotency.purge.cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    /**
+     * Outcome of the first execution. Responses produced in this process keep the original
+     * entity for the first caller; stored bodies are replayed as raw JSON.
+     */
+    private static final class StoredResponse {
+        
+        private final String requestHash;
+        private final int status;
+        private final String body;
+        private final ResponseEntity<?> original;
+        private final boolean replayed;
+        
+        private StoredResponse(String requestHash, int status, String body, ResponseEntity<?> original,
+                               boolean replayed) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.body = body;
+            this.original = original;
+            this.replayed = replayed;
+        }
+        
+        static StoredResponse original(String requestHash, ResponseEntity<?> response, String body) {
+            return new StoredResponse(requestHash, response.getStatusCode().value(), body, response, false);
+        }
+        
+        static StoredResponse replay(String requestHash, int status, String body) {
+            return new StoredResponse(requestHash, status, body, null, true);
+        }
+        
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
\ No newline at end of file
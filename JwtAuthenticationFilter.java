@@ -1,5 +1,6 @@
 package com.example.fooddelivery.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,24 +8,31 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
     
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   CustomUserDetailsService userDetailsService,
+                                   VerifiedTokenCache verifiedTokenCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
     
     @Override
@@ -43,33 +51,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
-        
         // Check if Authorization header exists
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (ExpiredJwtException e) {
-                logger.error("JWT Token expired: " + e.getMessage());
-                // Don't throw exception - let the request continue without authentication
-            } catch (Exception e) {
-                logger.error("JWT Token extraction failed: " + e.getMessage());
-            }
-        }
-        
-        // Validate token and set authentication if valid
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                VerifiedTokenCache.VerifiedToken verified = resolveToken(jwt);
                 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (verified != null) {
+                    List<SimpleGrantedAuthority> authorities =
+                            List.of(new SimpleGrantedAuthority("ROLE_" + verified.getRole()));
+                    User principal = new User(verified.getUsername(), "", authorities);
                     UsernamePasswordAuthenticationToken authenticationToken = 
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                            new UsernamePasswordAuthenticationToken(principal, null, authorities);
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
+            } catch (ExpiredJwtException e) {
+                logger.error("JWT Token expired: " + e.getMessage());
+                // Don't throw exception - let the request continue without authentication
             } catch (Exception e) {
                 logger.error("Authentication failed: " + e.getMessage());
             }
@@ -78,17 +78,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Returns the verified identity for the token, parsing and checking the signature
+     * only on a cache miss. A miss also reads the account, so the role always comes from
+     * the database and the token must carry the account's current token version.
+     * Returns null for revoked tokens.
+     */
+    private VerifiedTokenCache.VerifiedToken resolveToken(String jwt) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = jwtUtil.parseToken(jwt);
+        String username = claims.getSubject();
+        Long tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Long.class);
+        if (username == null || tokenVersion == null) {
+            return null;
+        }
+        
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (!(userDetails instanceof AuthenticatedUser account) || account.getTokenVersion() != tokenVersion) {
+            return null;
+        }
+        
+        String role = account.getAuthorities().iterator().next().getAuthority().substring("ROLE_".length());
+        return verifiedTokenCache.put(jwt, username, role, claims.getExpiration().getTime());
+    }
+    
     /**
      * Check if the endpoint is public and doesn't require authentication
      */
-    private boolean isPublicEndpoint(String path, String method) {
+    boolean isPublicEndpoint(String path, String method) {
         // Auth endpoints (registration, login)
         if (path.startsWith("/api/auth/") || path.startsWith("/api/v1/auth/")) {
             return true;
         }
 
-        // Restaurant endpoints (browsing, viewing menus)
-        if (path.startsWith("/api/v1/restaurants/")) {
+        // Restaurant endpoints (browsing, viewing menus); changes need the restaurant's account
+        if (path.startsWith("/api/v1/restaurants/") && "GET".equalsIgnoreCase(method)) {
+            return true;
+        }
+
+        // Search (restaurants and menu items)
+        if ((path.equals("/api/v1/search") || path.startsWith("/api/v1/search/")) && "GET".equalsIgnoreCase(method)) {
             return true;
         }
 
@@ -0,0 +1,51 @@
+package com.example.fooddelivery.security;
+
+import com.example.fooddelivery.service.ServiceFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and the per-request verification calls, with the key and parser built
+ * once as they are in the running application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = ServiceFixtures.jwtUtil();
+        
+        userDetails = new User("john@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+        token = jwtUtil.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+    
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,336 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.KitchenTicketDTO;
+import com.example.fooddelivery.dto.OrderStatusUpdate;
+import com.example.fooddelivery.dto.OrderStatusUpdateResult;
+import com.example.fooddelivery.event.OrderPlacedEvent;
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * In-memory kitchen queue per restaurant holding only PLACED and PREPARING orders, kept in
+ * priority order (promised time, then placement time, then size) so peek and take are
+ * O(log n). Order placement and status events keep it current after each commit, and
+ * subscribers of the kitchen stream receive every change. Each change is queued for
+ * delivery while the restaurant's queue is still locked, and the snapshot goes through
+ * the same serial queue, so subscribers see changes in the order they were applied.
+ * Rebuilt from the orders table on startup.
+ */
+@Service
+public class KitchenQueueService {
+    
+    private static final Set<OrderStatus> ACTIVE_STATUSES = EnumSet.of(OrderStatus.PLACED, OrderStatus.PREPARING);
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueueService.class);
+    
+    // Earliest promise first; placement time and then smaller orders break ties
+    private static final Comparator<KitchenTicketDTO> PRIORITY = Comparator
+            .comparing(KitchenTicketDTO::getPromisedAt)
+            .thenComparing(KitchenTicketDTO::getOrderDate)
+            .thenComparingInt(KitchenTicketDTO::getItemCount)
+            .thenComparing(KitchenTicketDTO::getOrderId);
+    
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ExecutorService trackingExecutor;
+    private final long basePrepMinutes;
+    private final long prepMinutesPerItem;
+    
+    private final Map<Long, RestaurantQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, KitchenStream> streams = new ConcurrentHashMap<>();
+    
+    @Value("${tracking.sse.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    @Autowired
+    public KitchenQueueService(OrderRepository orderRepository,
+                               OrderService orderService,
+                               @Qualifier("trackingExecutor") ExecutorService trackingExecutor,
+                               @Value("${kitchen.prep.base-minutes:15}") long basePrepMinutes,
+                               @Value("${kitchen.prep.minutes-per-item:2}") long prepMinutesPerItem) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.trackingExecutor = trackingExecutor;
+        this.basePrepMinutes = basePrepMinutes;
+        this.prepMinutesPerItem = prepMinutesPerItem;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildQueues() {
+        queues.clear();
+        int tickets = 0;
+        for (Object[] row : orderRepository.findKitchenRowsByStatusIn(ACTIVE_STATUSES)) {
+            KitchenTicketDTO ticket = toTicket(row);
+            queueFor(ticket.getRestaurantId()).put(ticket);
+            tickets++;
+        }
+        log.info("Rebuilt kitchen queues with {} active orders across {} restaurants", tickets, queues.size());
+    }
+    
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDateTime placedAt = event.getPlacedAt();
+        KitchenTicketDTO ticket = new KitchenTicketDTO(event.getOrderId(), event.getRestaurantId(), OrderStatus.PLACED,
+                placedAt, promisedAt(placedAt, event.getItemCount()), event.getItemCount());
+        RestaurantQueue queue = queueFor(ticket.getRestaurantId());
+        synchronized (queue) {
+            queue.put(ticket);
+            publish(ticket.getRestaurantId(), "added", ticket);
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!ACTIVE_STATUSES.contains(event.getStatus())) {
+            RestaurantQueue queue = queues.get(event.getRestaurantId());
+            if (queue == null) {
+                return;
+            }
+            synchronized (queue) {
+                KitchenTicketDTO removed = queue.remove(event.getOrderId());
+                if (removed != null) {
+                    publish(event.getRestaurantId(), "removed", removed.withStatus(event.getStatus()));
+                }
+            }
+            return;
+        }
+        
+        RestaurantQueue queue = queueFor(event.getRestaurantId());
+        synchronized (queue) {
+            KitchenTicketDTO ticket = queue.get(event.getOrderId());
+            if (ticket == null) {
+                // Moved back into the kitchen, or placed before the queue was rebuilt
+                ticket = resync(queue, event.getOrderId());
+                if (ticket == null) {
+                    return;
+                }
+            }
+            ticket = ticket.withStatus(event.getStatus());
+            queue.put(ticket);
+            publish(event.getRestaurantId(), "updated", ticket);
+        }
+    }
+    
+    // Reads never create a queue, so requests for unknown restaurant ids leave nothing behind
+    public Optional<KitchenTicketDTO> peek(Long restaurantId) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        return queue == null ? Optional.empty() : Optional.ofNullable(queue.peekWaiting());
+    }
+    
+    /**
+     * Hands the highest-priority waiting order to the kitchen by moving it to PREPARING.
+     * Tickets whose order changed elsewhere are skipped.
+     */
+    public Optional<KitchenTicketDTO> take(Long restaurantId) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return Optional.empty();
+        }
+        KitchenTicketDTO ticket;
+        while ((ticket = queue.pollWaiting()) != null) {
+            OrderStatusUpdateResult result;
+            try {
+                result = orderService.updateOrderStatuses(restaurantId,
+                        List.of(new OrderStatusUpdate(ticket.getOrderId(), OrderStatus.PREPARING))).get(0);
+            } catch (RuntimeException e) {
+                queue.put(ticket);
+                throw e;
+            }
+            
+            // On success the status event has already moved the ticket to preparing
+            if (result.getOutcome() == OrderStatusUpdateResult.Outcome.APPLIED) {
+                return Optional.of(ticket.withStatus(OrderStatus.PREPARING));
+            }
+            resync(queue, ticket.getOrderId());
+        }
+        return Optional.empty();
+    }
+    
+    public Map<String, Object> getQueue(Long restaurantId) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        return queue == null ? RestaurantQueue.emptySnapshot() : queue.snapshot();
+    }
+    
+    public SseEmitter subscribe(Long restaurantId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Runnable cleanup = () -> unsubscribe(restaurantId, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+        
+        // Under the queue's lock no change can land between the snapshot and the events after it
+        RestaurantQueue queue = queueFor(restaurantId);
+        synchronized (queue) {
+            KitchenStream stream = streams.compute(restaurantId, (id, existing) -> {
+                KitchenStream registered = existing != null ? existing : new KitchenStream(trackingExecutor);
+                registered.subscribers.add(emitter);
+                return registered;
+            });
+            Map<String, Object> snapshot = queue.snapshot();
+            stream.delivery.execute(() -> send(restaurantId, emitter, "snapshot", snapshot));
+        }
+        return emitter;
+    }
+    
+    // Keeps intermediaries from closing idle streams and flushes out dead connections
+    @Scheduled(fixedDelayString = "${tracking.sse.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        streams.forEach((restaurantId, stream) -> stream.delivery.execute(() -> {
+            for (SseEmitter emitter : stream.subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(restaurantId, emitter);
+                }
+            }
+        }));
+    }
+    
+    // Callers hold the restaurant queue's lock, so events are queued in the order the changes were made
+    private void publish(Long restaurantId, String eventName, KitchenTicketDTO ticket) {
+        KitchenStream stream = streams.get(restaurantId);
+        if (stream == null || stream.subscribers.isEmpty()) {
+            return;
+        }
+        
+        // Subscribers that join later get this change in their snapshot instead
+        List<SseEmitter> emitters = List.copyOf(stream.subscribers);
+        stream.delivery.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(restaurantId, emitter, eventName, ticket);
+            }
+        });
+    }
+    
+    private void send(Long restaurantId, SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(restaurantId, emitter);
+        }
+    }
+    
+    private void unsubscribe(Long restaurantId, SseEmitter emitter) {
+        streams.computeIfPresent(restaurantId, (id, stream) -> {
+            stream.subscribers.remove(emitter);
+            return stream.subscribers.isEmpty() ? null : stream;
+        });
+    }
+    
+    // Replaces the ticket with the order's stored state; null when it is no longer in the kitchen
+    private KitchenTicketDTO resync(RestaurantQueue queue, Long orderId) {
+        List<Object[]> rows = orderRepository.findKitchenRowById(orderId);
+        KitchenTicketDTO ticket = rows.isEmpty() ? null : toTicket(rows.get(0));
+        if (ticket == null || !ACTIVE_STATUSES.contains(ticket.getStatus())) {
+            queue.remove(orderId);
+            return null;
+        }
+        queue.put(ticket);
+        return ticket;
+    }
+    
+    private RestaurantQueue queueFor(Long restaurantId) {
+        return queues.computeIfAbsent(restaurantId, id -> new RestaurantQueue());
+    }
+    
+    // Row of [id, restaurant id, status, order date, item count]
+    private KitchenTicketDTO toTicket(Object[] row) {
+        LocalDateTime orderDate = (LocalDateTime) row[3];
+        int itemCount = row[4] == null ? 0 : ((Number) row[4]).intValue();
+        return new KitchenTicketDTO((Long) row[0], (Long) row[1], (OrderStatus) row[2], orderDate,
+                promisedAt(orderDate, itemCount), itemCount);
+    }
+    
+    private LocalDateTime promisedAt(LocalDateTime placedAt, int itemCount) {
+        return placedAt.plusMinutes(basePrepMinutes + prepMinutesPerItem * itemCount);
+    }
+    
+    // The kitchen stream subscribers of one restaurant and the queue their events are written from
+    private static final class KitchenStream {
+        
+        private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+        private final SerialExecutor delivery;
+        
+        KitchenStream(ExecutorService executor) {
+            this.delivery = new SerialExecutor(executor);
+        }
+    }
+    
+    /**
+     * Waiting (PLACED) and preparing tickets of one restaurant, each in priority order,
+     * plus an index by order id so updates and removals are O(log n).
+     */
+    private static final class RestaurantQueue {
+        
+        private final TreeSet<KitchenTicketDTO> waiting = new TreeSet<>(PRIORITY);
+        private final TreeSet<KitchenTicketDTO> preparing = new TreeSet<>(PRIORITY);
+        private final Map<Long, KitchenTicketDTO> byOrderId = new HashMap<>();
+        
+        synchronized KitchenTicketDTO get(Long orderId) {
+            return byOrderId.get(orderId);
+        }
+        
+        synchronized void put(KitchenTicketDTO ticket) {
+            remove(ticket.getOrderId());
+            byOrderId.put(ticket.getOrderId(), ticket);
+            (ticket.getStatus() == OrderStatus.PLACED ? waiting : preparing).add(ticket);
+        }
+        
+        synchronized KitchenTicketDTO remove(Long orderId) {
+            KitchenTicketDTO ticket = byOrderId.remove(orderId);
+            if (ticket != null) {
+                waiting.remove(ticket);
+                preparing.remove(ticket);
+            }
+            return ticket;
+        }
+        
+        synchronized KitchenTicketDTO peekWaiting() {
+            return waiting.isEmpty() ? null : waiting.first();
+        }
+        
+        // Stays indexed by order id so the status event that follows can find it
+        synchronized KitchenTicketDTO pollWaiting() {
+            return waiting.pollFirst();
+        }
+        
+        synchronized Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("waiting", new ArrayList<>(waiting));
+            snapshot.put("preparing", new ArrayList<>(preparing));
+            return snapshot;
+        }
+        
+        static Map<String, Object> emptySnapshot() {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("waiting", new ArrayList<>());
+            snapshot.put("preparing", new ArrayList<>());
+            return snapshot;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An active order in a restaurant's kitchen queue. Immutable because tickets are keys of
+ * the queue's sorted sets; a status change produces a new ticket.
+ */
+public class KitchenTicketDTO {
+    
+    private final Long orderId;
+    private final Long restaurantId;
+    private final OrderStatus status;
+    private final LocalDateTime orderDate;
+    private final LocalDateTime promisedAt;
+    private final int itemCount;
+    
+    public KitchenTicketDTO(Long orderId, Long restaurantId, OrderStatus status, LocalDateTime orderDate,
+                            LocalDateTime promisedAt, int itemCount) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.status = status;
+        this.orderDate = orderDate;
+        this.promisedAt = promisedAt;
+        this.itemCount = itemCount;
+    }
+    
+    public KitchenTicketDTO withStatus(OrderStatus status) {
+        return new KitchenTicketDTO(orderId, restaurantId, status, orderDate, promisedAt, itemCount);
+    }
+    
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public LocalDateTime getPromisedAt() {
+        return promisedAt;
+    }
+    
+    public int getItemCount() {
+        return itemCount;
+    }
+}
\ No newline at end of file
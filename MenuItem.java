@@ -1,7 +1,9 @@
 package com.example.fooddelivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,7 +13,8 @@ import jakarta.validation.constraints.NotNull;
 public class MenuItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -20,11 +23,13 @@ public class MenuItem {
     private String description;
     
     @NotNull(message = "Price is required")
-    @Min(value = 0, message = "Price must be positive")
-    private Double price;
+    private Money price;
     
+    // Discount in basis points (1/100 of a percent); exposed to clients as a percentage
     @Min(value = 0, message = "Discount must be positive")
-    private Double discountPercentage = 0.0;
+    @Max(value = 10000, message = "Discount cannot exceed 100%")
+    @Column(name = "discount_bps")
+    private int discountBasisPoints;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id")
@@ -35,11 +40,11 @@ public class MenuItem {
     public MenuItem() {
     }
     
-    public MenuItem(String name, String description, Double price, Double discountPercentage, Restaurant restaurant) {
+    public MenuItem(String name, String description, Money price, Double discountPercentage, Restaurant restaurant) {
         this.name = name;
         this.description = description;
         this.price = price;
-        this.discountPercentage = discountPercentage;
+        setDiscountPercentage(discountPercentage);
         this.restaurant = restaurant;
     }
     
@@ -68,20 +73,41 @@ public class MenuItem {
         this.description = description;
     }
     
-    public Double getPrice() {
+    public Money getPrice() {
         return price;
     }
     
-    public void setPrice(Double price) {
+    public void setPrice(Money price) {
+        if (price != null && price.getMinorUnits() < 0) {
+            throw new IllegalArgumentException("Price must be positive");
+        }
         this.price = price;
     }
     
+    @JsonIgnore
+    public int getDiscountBasisPoints() {
+        return discountBasisPoints;
+    }
+    
+    public void setDiscountBasisPoints(int discountBasisPoints) {
+        // Past 100% the discounted price would turn negative
+        if (discountBasisPoints < 0 || discountBasisPoints > 10000) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100%");
+        }
+        this.discountBasisPoints = discountBasisPoints;
+    }
+    
     public Double getDiscountPercentage() {
-        return discountPercentage;
+        return discountBasisPoints / 100.0;
     }
     
     public void setDiscountPercentage(Double discountPercentage) {
-        this.discountPercentage = discountPercentage;
+        setDiscountBasisPoints(discountPercentage == null ? 0 : (int) Math.round(discountPercentage * 100));
+    }
+    
+    // Unit price after the discount, in minor units
+    public long getDiscountedPriceMinor() {
+        return Money.discountedMinor(price.getMinorUnits(), discountBasisPoints);
     }
     
     public Restaurant getRestaurant() {
@@ -1,10 +1,12 @@
 package com.example.fooddelivery.dto;
 
+import com.example.fooddelivery.model.Money;
+
 public class MenuItemDTO {
     private Long id;
     private String name;
     private String description;
-    private Double price;
+    private Money price;
     private Double discountPercentage;
     private Long restaurantId;
     
@@ -12,7 +14,7 @@ public class MenuItemDTO {
     public MenuItemDTO() {
     }
     
-    public MenuItemDTO(Long id, String name, String description, Double price, 
+    public MenuItemDTO(Long id, String name, String description, Money price, 
                        Double discountPercentage, Long restaurantId) {
         this.id = id;
         this.name = name;
@@ -47,11 +49,11 @@ public class MenuItemDTO {
         this.description = description;
     }
     
-    public Double getPrice() {
+    public Money getPrice() {
         return price;
     }
     
-    public void setPrice(Double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
     
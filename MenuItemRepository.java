@@ -1,13 +1,32 @@
 package com.example.fooddelivery.repository;
 
+import com.example.fooddelivery.dto.MenuItemDTO;
 import com.example.fooddelivery.model.MenuItem;
 import com.example.fooddelivery.model.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByRestaurant(Restaurant restaurant);
+    
+    @Query("SELECT new com.example.fooddelivery.dto.MenuItemDTO(" +
+           "m.id, m.name, m.description, m.price, m.discountBasisPoints / 100.0, m.restaurant.id) " +
+           "FROM MenuItem m WHERE m.restaurant.id = :restaurantId ORDER BY m.id")
+    List<MenuItemDTO> findMenuByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT new com.example.fooddelivery.dto.MenuItemDTO(" +
+           "m.id, m.name, m.description, m.price, m.discountBasisPoints / 100.0, m.restaurant.id) " +
+           "FROM MenuItem m")
+    List<MenuItemDTO> findAllMenuItems();
+    
+    // Resolves every item of an order in one round-trip, scoped to the ordering restaurant
+    @Query("SELECT m FROM MenuItem m WHERE m.id IN :ids AND m.restaurant.id = :restaurantId")
+    List<MenuItem> findAllByIdInAndRestaurantId(@Param("ids") Collection<Long> ids,
+                                                @Param("restaurantId") Long restaurantId);
 }
\ No newline at end of file
@@ -1,35 +1,255 @@
 package com.example.fooddelivery.service;
 
+import com.example.fooddelivery.dto.GatewayProfile;
+import com.example.fooddelivery.exception.PaymentGatewayTimeoutException;
+import com.example.fooddelivery.model.Money;
 import com.example.fooddelivery.model.PaymentMethod;
 import com.example.fooddelivery.model.PaymentStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Local stand-in for the payment gateway. Each payment method has a {@link GatewayProfile}
+ * giving its latency distribution and its failure and timeout rates; profiles can be
+ * replaced at runtime and the random source reseeded for reproducible runs. Cash on
+ * delivery never charges anything, so a successful COD call returns PENDING.
+ */
 @Service
 public class MockPaymentService {
     
-    private final Random random = new Random();
+    private static final Logger log = LoggerFactory.getLogger(MockPaymentService.class);
     
-    public PaymentStatus processPayment(PaymentMethod paymentMethod, Double amount) {
-        // Simulate payment processing delay
+    private final ScheduledExecutorService gatewayCallbackScheduler;
+    private final Map<PaymentMethod, MethodStats> stats = new EnumMap<>(PaymentMethod.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    // Replaced wholesale on every update so calls never see a half-applied profile
+    private volatile Map<PaymentMethod, GatewayProfile> profiles;
+    private volatile Random random;
+    // Mixed into payment ids so each payment has one fixed final state per seed
+    private volatile long outcomeSalt;
+    
+    @Autowired
+    public MockPaymentService(@Qualifier("gatewayCallbackScheduler") ScheduledExecutorService gatewayCallbackScheduler,
+                              @Value("${payment.mock.latency-ms:1000}") long latencyMs,
+                              @Value("${payment.mock.failure-rate:0.2}") double failureRate,
+                              @Value("${payment.mock.timeout-ms:30000}") long timeoutMs,
+                              @Value("${payment.mock.seed:}") Long seed) {
+        this.gatewayCallbackScheduler = gatewayCallbackScheduler;
+        Map<PaymentMethod, GatewayProfile> defaults = new EnumMap<>(PaymentMethod.class);
+        for (PaymentMethod method : PaymentMethod.values()) {
+            defaults.put(method, new GatewayProfile(latencyMs, method == PaymentMethod.COD ? 0 : failureRate, timeoutMs));
+            stats.put(method, new MethodStats());
+        }
+        this.profiles = defaults;
+        reseed(seed);
+    }
+    
+    /**
+     * Calls the gateway and blocks until it answers.
+     *
+     * @throws PaymentGatewayTimeoutException when the simulated call times out
+     */
+    public PaymentStatus processPayment(PaymentMethod paymentMethod, Money amount) {
+        GatewayProfile profile = profiles.get(paymentMethod);
+        MethodStats methodStats = begin(paymentMethod);
+        Outcome outcome = sample(paymentMethod, profile);
+        pause(outcome.delayMs);
+        return finish(paymentMethod, methodStats, outcome);
+    }
+    
+    /**
+     * Asks the gateway for the final state of a payment whose call went unanswered. The
+     * query itself takes the profile's latency and may time out, but a payment always
+     * reports the same outcome: SUCCESS or FAILED in the profile's proportions. Cash on
+     * delivery never goes through the gateway, so it stays PENDING.
+     *
+     * @throws PaymentGatewayTimeoutException when the simulated query times out
+     */
+    public PaymentStatus queryPaymentStatus(PaymentMethod paymentMethod, Long paymentId) {
+        GatewayProfile profile = profiles.get(paymentMethod);
+        MethodStats methodStats = begin(paymentMethod);
+        Outcome outcome = sample(paymentMethod, profile);
+        pause(outcome.delayMs);
+        if (outcome.result == Result.TIMEOUT) {
+            return finish(paymentMethod, methodStats, outcome);
+        }
+        if (paymentMethod == PaymentMethod.COD) {
+            return finish(paymentMethod, methodStats, new Outcome(Result.SUCCESS, outcome.delayMs));
+        }
+        
+        double settled = new SplittableRandom(paymentId * 0x9E3779B97F4A7C15L ^ outcomeSalt).nextDouble();
+        return finish(paymentMethod, methodStats,
+                new Outcome(settled < profile.getFailureRate() ? Result.FAILURE : Result.SUCCESS, outcome.delayMs));
+    }
+    
+    /**
+     * Calls the gateway without blocking the caller when the method's profile uses async
+     * callbacks; the returned future completes when the simulated callback arrives, or
+     * exceptionally with {@link PaymentGatewayTimeoutException}. Otherwise behaves like
+     * {@link #processPayment} on the calling thread.
+     */
+    public CompletableFuture<PaymentStatus> submitPayment(PaymentMethod paymentMethod, Money amount) {
+        if (!profiles.get(paymentMethod).isAsyncCallback()) {
+            try {
+                return CompletableFuture.completedFuture(processPayment(paymentMethod, amount));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        
+        MethodStats methodStats = begin(paymentMethod);
+        Outcome outcome = sample(paymentMethod, profiles.get(paymentMethod));
+        CompletableFuture<PaymentStatus> callback = new CompletableFuture<>();
+        gatewayCallbackScheduler.schedule(() -> {
+            try {
+                callback.complete(finish(paymentMethod, methodStats, outcome));
+            } catch (RuntimeException e) {
+                callback.completeExceptionally(e);
+            }
+        }, outcome.delayMs, TimeUnit.MILLISECONDS);
+        return callback;
+    }
+    
+    public Map<PaymentMethod, GatewayProfile> getProfiles() {
+        Map<PaymentMethod, GatewayProfile> copy = new EnumMap<>(PaymentMethod.class);
+        profiles.forEach((method, profile) -> copy.put(method, new GatewayProfile(profile)));
+        return copy;
+    }
+    
+    public synchronized GatewayProfile updateProfile(PaymentMethod paymentMethod, GatewayProfile profile) {
+        profile.validate();
+        Map<PaymentMethod, GatewayProfile> updated = new EnumMap<>(profiles);
+        updated.put(paymentMethod, new GatewayProfile(profile));
+        profiles = updated;
+        log.info("Mock gateway profile for {} replaced", paymentMethod);
+        return new GatewayProfile(profile);
+    }
+    
+    // A null seed draws from an unseeded source
+    public void reseed(Long seed) {
+        random = seed != null ? new Random(seed) : new Random();
+        outcomeSalt = random.nextLong();
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> byMethod = new HashMap<>();
+        stats.forEach((method, methodStats) -> byMethod.put(method.name(), methodStats.snapshot()));
+        
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("inFlight", inFlight.get());
+        snapshot.put("methods", byMethod);
+        return snapshot;
+    }
+    
+    private MethodStats begin(PaymentMethod paymentMethod) {
+        MethodStats methodStats = stats.get(paymentMethod);
+        methodStats.calls.increment();
+        methodStats.inFlight.incrementAndGet();
+        inFlight.incrementAndGet();
+        return methodStats;
+    }
+    
+    private PaymentStatus finish(PaymentMethod paymentMethod, MethodStats methodStats, Outcome outcome) {
+        inFlight.decrementAndGet();
+        methodStats.inFlight.decrementAndGet();
+        switch (outcome.result) {
+            case TIMEOUT -> {
+                methodStats.timedOut.increment();
+                throw new PaymentGatewayTimeoutException(
+                        "Payment gateway did not respond within " + outcome.delayMs + " ms");
+            }
+            case FAILURE -> {
+                methodStats.failed.increment();
+                return PaymentStatus.FAILED;
+            }
+            default -> {
+                methodStats.succeeded.increment();
+                return paymentMethod == PaymentMethod.COD ? PaymentStatus.PENDING : PaymentStatus.SUCCESS;
+            }
+        }
+    }
+    
+    private static void pause(long delayMs) {
         try {
-            Thread.sleep(1000); // 1 second delay
+            Thread.sleep(delayMs);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+    }
+    
+    // Draws the result first: a timed-out call takes the timeout instead of its latency
+    private Outcome sample(PaymentMethod paymentMethod, GatewayProfile profile) {
+        Random source = random;
+        double draw = source.nextDouble();
+        if (draw < profile.getTimeoutRate()) {
+            return new Outcome(Result.TIMEOUT, profile.getTimeoutMs());
+        }
+        Result result = draw < profile.getTimeoutRate() + profile.getFailureRate() ? Result.FAILURE : Result.SUCCESS;
+        return new Outcome(result, sampleLatency(profile, source));
+    }
+    
+    private static long sampleLatency(GatewayProfile profile, Random source) {
+        double tailPercentile = profile.getTailPercentile();
+        if (tailPercentile > 0 && source.nextDouble() * 100 >= tailPercentile) {
+            return profile.getTailLatencyMs();
+        }
+        return switch (profile.getDistribution()) {
+            case FIXED -> profile.getLatencyMs();
+            case UNIFORM -> profile.getMinLatencyMs()
+                    + (long) (source.nextDouble() * (profile.getMaxLatencyMs() - profile.getMinLatencyMs() + 1));
+            // latencyMs is the median; sigma widens the right-hand tail
+            case LOG_NORMAL -> Math.round(profile.getLatencyMs() * Math.exp(profile.getSigma() * source.nextGaussian()));
+        };
+    }
+    
+    private enum Result {
+        SUCCESS,
+        FAILURE,
+        TIMEOUT
+    }
+    
+    private static final class Outcome {
         
-        // Cash on Delivery always returns PENDING
-        if (paymentMethod == PaymentMethod.COD) {
-            return PaymentStatus.PENDING;
+        private final Result result;
+        private final long delayMs;
+        
+        Outcome(Result result, long delayMs) {
+            this.result = result;
+            this.delayMs = delayMs;
         }
+    }
+    
+    private static final class MethodStats {
+        
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
         
-        // For MPESA and CARD, simulate 80% success rate
-        int randomValue = random.nextInt(100);
-        if (randomValue < 80) {
-            return PaymentStatus.SUCCESS;
-        } else {
-            return PaymentStatus.FAILED;
+        Map<String, Object> snapshot() {
+            return Map.of(
+                    "inFlight", inFlight.get(),
+                    "calls", calls.sum(),
+                    "succeeded", succeeded.sum(),
+                    "failed", failed.sum(),
+                    "timedOut", timedOut.sum());
         }
     }
 }
\ No newline at end of file
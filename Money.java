@@ -0,0 +1,165 @@
+package com.example.fooddelivery.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Immutable amount of money held as a count of minor units (cents) of a currency.
+ * Arithmetic is exact; the static helpers work on raw minor units so pricing loops
+ * can run without allocating. Serialised to JSON as a plain decimal number.
+ */
+@JsonDeserialize(using = Money.JsonReader.class)
+public final class Money implements Comparable<Money> {
+    
+    // The platform prices in a single currency; amounts are stored without it
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+    
+    private static final int BASIS_POINTS = 10_000;
+    
+    private final long minorUnits;
+    private final Currency currency;
+    
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+    
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+    
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+    
+    /**
+     * Parses a decimal amount such as {@code "12.99"}; rejects amounts with more
+     * decimal places than the currency has.
+     */
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+    
+    public static Money of(BigDecimal amount) {
+        try {
+            int scale = DEFAULT_CURRENCY.getDefaultFractionDigits();
+            return ofMinor(amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount.toPlainString());
+        }
+    }
+    
+    /**
+     * Minor units left after taking {@code basisPoints} (1/100 of a percent) off,
+     * with the discount rounded half up to the nearest minor unit.
+     */
+    public static long discountedMinor(long minorUnits, int basisPoints) {
+        return minorUnits - discountMinor(minorUnits, basisPoints);
+    }
+    
+    public static long discountMinor(long minorUnits, int basisPoints) {
+        return Math.addExact(Math.multiplyExact(minorUnits, basisPoints), BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+    
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+    
+    public Currency getCurrency() {
+        return currency;
+    }
+    
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+    
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+    
+    public Money times(int quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+    
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+    
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+    
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+    
+    /**
+     * Binds a JSON number (or numeric string) from its text. Going through
+     * {@code getDecimalValue()} leaves Jackson's parser returning that same value for the
+     * next number in the document, so a discount sent after a price came back as the price.
+     */
+    static final class JsonReader extends StdScalarDeserializer<Money> {
+        
+        JsonReader() {
+            super(Money.class);
+        }
+        
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+            }
+            String text = p.getText().trim();
+            try {
+                return of(text);
+            } catch (IllegalArgumentException e) {
+                throw ctxt.weirdStringException(text, Money.class, e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.fooddelivery.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing an order's lines and summing the total: the boxed {@code Double} arithmetic
+ * order placement used before {@link Money}, against the minor-unit arithmetic it uses now.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+    
+    @Param({"5", "20"})
+    private int lineCount;
+    
+    private Double[] prices;
+    private Double[] discountPercentages;
+    private long[] priceMinor;
+    private int[] discountBasisPoints;
+    private int[] quantities;
+    
+    @Setup
+    public void setUp() {
+        prices = new Double[lineCount];
+        discountPercentages = new Double[lineCount];
+        priceMinor = new long[lineCount];
+        discountBasisPoints = new int[lineCount];
+        quantities = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            priceMinor[i] = 899 + i * 125;
+            discountBasisPoints[i] = (i % 3) * 500;
+            prices[i] = priceMinor[i] / 100.0;
+            discountPercentages[i] = discountBasisPoints[i] / 100.0;
+            quantities[i] = 1 + i % 3;
+        }
+    }
+    
+    @Benchmark
+    public Double boxedDoubleTotal() {
+        Double total = 0.0;
+        for (int i = 0; i < lineCount; i++) {
+            Double unitPrice = prices[i];
+            if (discountPercentages[i] != null && discountPercentages[i] > 0) {
+                unitPrice = unitPrice * (1 - discountPercentages[i] / 100);
+            }
+            total += unitPrice * quantities[i];
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long minorUnitTotal() {
+        long total = 0;
+        for (int i = 0; i < lineCount; i++) {
+            total += Money.discountedMinor(priceMinor[i], discountBasisPoints[i]) * quantities[i];
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public Money moneyValueTotal() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            Money unitPrice = Money.ofMinor(Money.discountedMinor(priceMinor[i], discountBasisPoints[i]));
+            total = total.plus(unitPrice.times(quantities[i]));
+        }
+        return total;
+    }
+}
\ No newline at end of file
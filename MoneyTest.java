@@ -0,0 +1,128 @@
+package com.example.fooddelivery.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void decimalAmountsUpToTheCurrencyScaleAreExact() {
+        assertEquals(1299, Money.of("12.99").getMinorUnits());
+        assertEquals(1250, Money.of("12.5").getMinorUnits());
+        assertEquals(1200, Money.of("12").getMinorUnits());
+        // Trailing zeros beyond the scale lose nothing, so they are accepted
+        assertEquals(1250, Money.of(new BigDecimal("12.5000")).getMinorUnits());
+        assertEquals(-5, Money.of("-0.05").getMinorUnits());
+        assertSame(Money.ZERO, Money.of("0.00"));
+    }
+    
+    @Test
+    void decimalAmountsWithMoreDecimalPlacesThanTheCurrencyAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("12.999")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("0.001"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("92233720368547758.08"));
+    }
+    
+    @Test
+    void discountIsRoundedHalfUpToTheMinorUnit() {
+        // 10% of 1050 is exactly 105
+        assertEquals(105, Money.discountMinor(1050, 1000));
+        // 10% of 5 is 0.5, of 4 is 0.4, of 15 at 50% is 7.5
+        assertEquals(1, Money.discountMinor(5, 1000));
+        assertEquals(0, Money.discountMinor(4, 1000));
+        assertEquals(8, Money.discountMinor(15, 5000));
+        assertEquals(7, Money.discountedMinor(15, 5000));
+        // 12.5% of 999 is 124.875
+        assertEquals(125, Money.discountMinor(999, 1250));
+        assertEquals(874, Money.discountedMinor(999, 1250));
+    }
+    
+    @Test
+    void noDiscountAndFullDiscountAreExact() {
+        assertEquals(1299, Money.discountedMinor(1299, 0));
+        assertEquals(0, Money.discountedMinor(1299, 10000));
+    }
+    
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        Money min = Money.ofMinor(Long.MIN_VALUE);
+        
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> min.minus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.discountMinor(Long.MAX_VALUE / 2, 10000));
+        assertEquals(Long.MAX_VALUE, max.minus(Money.ZERO).plus(Money.ZERO).getMinorUnits());
+    }
+    
+    @Test
+    void arithmeticStaysInOneCurrency() {
+        Money dollars = Money.of("10.00");
+        Money euros = Money.ofMinor(1000, Currency.getInstance("EUR"));
+        
+        assertEquals(Money.of("22.50"), dollars.plus(Money.of("12.50")));
+        assertEquals(Money.of("-2.50"), dollars.minus(Money.of("12.50")));
+        assertEquals(Money.of("30.00"), dollars.times(3));
+        assertThrows(IllegalArgumentException.class, () -> dollars.plus(euros));
+        assertThrows(IllegalArgumentException.class, () -> dollars.compareTo(euros));
+    }
+    
+    @Test
+    void jsonIsAPlainDecimalWithTheCurrencyScale() throws JsonProcessingException {
+        assertEquals("12.30", objectMapper.writeValueAsString(Money.of("12.3")));
+        assertEquals("0.00", objectMapper.writeValueAsString(Money.ZERO));
+        assertEquals("{\"total\":-0.05}", objectMapper.writeValueAsString(Map.of("total", Money.ofMinor(-5))));
+    }
+    
+    @Test
+    void jsonRoundTripKeepsTheAmount() throws JsonProcessingException {
+        List<Money> amounts = List.of(Money.of("12.99"), Money.ZERO, Money.ofMinor(1), Money.ofMinor(Long.MAX_VALUE));
+        
+        String json = objectMapper.writeValueAsString(amounts);
+        Money[] parsed = objectMapper.readValue(json, Money[].class);
+        
+        assertEquals(amounts, List.of(parsed));
+        assertEquals(Money.of("12.30"), objectMapper.readValue("12.3", Money.class));
+        assertEquals(Money.of("7.00"), objectMapper.readValue("7", Money.class));
+    }
+    
+    @Test
+    void numbersAfterAnAmountInTheSameDocumentKeepTheirOwnValue() throws JsonProcessingException {
+        MenuItem menuItem = objectMapper.readValue("{\"name\":\"Margherita\",\"price\":12.99,\"discountPercentage\":25}", MenuItem.class);
+        
+        assertEquals(Money.of("12.99"), menuItem.getPrice());
+        assertEquals(2500, menuItem.getDiscountBasisPoints());
+    }
+    
+    @Test
+    void jsonWithTooManyDecimalPlacesIsRejected() {
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readValue("12.345", Money.class));
+    }
+    
+    @Test
+    void menuItemDiscountCannotExceedTheWholePrice() {
+        MenuItem menuItem = new MenuItem("Margherita", "Classic", Money.of("10.00"), 12.5, null);
+        assertEquals(1250, menuItem.getDiscountBasisPoints());
+        assertEquals(875, menuItem.getDiscountedPriceMinor());
+        
+        menuItem.setDiscountPercentage(100.0);
+        assertEquals(0, menuItem.getDiscountedPriceMinor());
+        
+        assertThrows(IllegalArgumentException.class, () -> menuItem.setDiscountPercentage(100.01));
+        assertThrows(IllegalArgumentException.class, () -> menuItem.setDiscountPercentage(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> menuItem.setDiscountBasisPoints(10001));
+        assertEquals(0, menuItem.getDiscountedPriceMinor());
+    }
+}
\ No newline at end of file
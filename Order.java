@@ -7,24 +7,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_order_date", columnList = "order_date, id"),
+    @Index(name = "idx_orders_customer_date", columnList = "customer_id, order_date, id"),
+    @Index(name = "idx_orders_restaurant_date", columnList = "restaurant_id, order_date, id"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date, id")
+})
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     @JsonIgnoreProperties({"orders", "password", "hibernateLazyInitializer", "handler"})
     private Customer customer;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id")
     @JsonIgnoreProperties({"menuItems", "orders", "hibernateLazyInitializer", "handler"})
     private Restaurant restaurant;
     
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties({"order", "hibernateLazyInitializer", "handler"})
     private List<OrderItem> orderItems = new ArrayList<>();
     
@@ -32,6 +38,7 @@ public class Order {
     @JsonIgnoreProperties({"order", "hibernateLazyInitializer", "handler"})
     private Payment payment;
     
+    @Column(name = "order_date")
     private LocalDateTime orderDate;
     
     @Enumerated(EnumType.STRING)
@@ -39,6 +46,19 @@ public class Order {
     
     private String deliveryAddress;  // ← ADD THIS FIELD
     
+    // Totals are fixed when the order is placed, so reads never need the items
+    private Money subtotal;
+    
+    private Money discountTotal;
+    
+    private Money totalAmount;
+    
+    private Integer itemCount;
+    
+    // Bumped by every status change, including the set-based ones in OrderRepository
+    @Version
+    private Long version;
+    
     // Constructors
     public Order() {
         this.orderDate = LocalDateTime.now();
@@ -117,10 +137,34 @@ public class Order {
         this.deliveryAddress = deliveryAddress;
     }
     
-    // Helper method to calculate total
-    public Double getTotalAmount() {
-        return orderItems.stream()
-                .mapToDouble(item -> item.getUnitPrice() * item.getQuantity())
-                .sum();
+    public Money getSubtotal() {
+        return subtotal;
+    }
+    
+    public Money getDiscountTotal() {
+        return discountTotal;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public Integer getItemCount() {
+        return itemCount;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Stores the placement-time totals. The grand total is the subtotal at list prices
+     * less the discounts applied to the lines.
+     */
+    public void setTotals(Money subtotal, Money discountTotal, int itemCount) {
+        this.subtotal = subtotal;
+        this.discountTotal = discountTotal;
+        this.totalAmount = subtotal.minus(discountTotal);
+        this.itemCount = itemCount;
     }
 }
\ No newline at end of file
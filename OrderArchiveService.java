@@ -0,0 +1,119 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.model.ArchivedOrder;
+import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.repository.ArchivedOrderRepository;
+import com.example.fooddelivery.repository.OrderItemRepository;
+import com.example.fooddelivery.repository.OrderRepository;
+import com.example.fooddelivery.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves delivered and cancelled orders older than {@code archive.orders.min-age-days} out of
+ * the hot tables into {@link OrderArchiveStore} segments. Each batch is appended and synced
+ * to disk before the transaction that indexes and deletes it commits; if that transaction
+ * fails, the appended records are simply never referenced and the batch is retried next run.
+ * <p>
+ * Payments leave with their orders, but only once they were resolved before the cutoff, so
+ * reconciliation never loses a pending payment, and {@link SettlementService} refuses to
+ * rerun days that archiving may already have reached. The platform counters need no change:
+ * they count hot and archived orders together.
+ */
+@Service
+public class OrderArchiveService {
+    
+    private static final Set<OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+    
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PaymentRepository paymentRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchiveStore orderArchiveStore;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final long minAgeDays;
+    private final int batchSize;
+    
+    @Autowired
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               PaymentRepository paymentRepository,
+                               ArchivedOrderRepository archivedOrderRepository,
+                               OrderArchiveStore orderArchiveStore,
+                               OrderService orderService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${archive.orders.min-age-days:90}") long minAgeDays,
+                               @Value("${archive.orders.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.paymentRepository = paymentRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderArchiveStore = orderArchiveStore;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Archives eligible orders in batches until none are left; returns how many were moved.
+     */
+    @Scheduled(cron = "${archive.orders.cron:0 0 4 * * *}")
+    public int archiveOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+        
+        if (archived > 0) {
+            log.info("Archived {} orders placed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+    
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = orderRepository.findArchivableIds(ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Order> orders = orderRepository.findDetailsByIdIn(ids);
+        List<OrderDetailDTO> details = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            details.add(orderService.convertToDetailDTO(order));
+        }
+        
+        List<OrderArchiveStore.SegmentRecord> records = orderArchiveStore.append(details);
+        List<ArchivedOrder> index = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderArchiveStore.SegmentRecord record = records.get(i);
+            index.add(new ArchivedOrder(orders.get(i), record.getSegment(), record.getOffset(), record.getLength()));
+        }
+        archivedOrderRepository.saveAllAndFlush(index);
+        
+        paymentRepository.deleteByOrderIdIn(ids);
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
\ No newline at end of file
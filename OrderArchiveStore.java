@@ -0,0 +1,180 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.model.ArchivedOrder;
+import com.example.fooddelivery.repository.ArchivedOrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only segment files holding archived orders. Each order is written as its own
+ * gzip member containing the {@link OrderDetailDTO} JSON, so a single order is read back
+ * by seeking to its offset and inflating just that member. Segments roll over once they
+ * reach {@code archive.orders.segment-max-bytes}.
+ */
+@Component
+public class OrderArchiveStore {
+    
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final DateTimeFormatter SEGMENT_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long segmentMaxBytes;
+    
+    @Autowired
+    public OrderArchiveStore(ArchivedOrderRepository archivedOrderRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${archive.orders.directory:./data/order-archive}") String directory,
+                             @Value("${archive.orders.segment-max-bytes:67108864}") long segmentMaxBytes) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.segmentMaxBytes = segmentMaxBytes;
+    }
+    
+    /**
+     * Location of one record appended by {@link #append(List)}.
+     */
+    public static final class SegmentRecord {
+        
+        private final String segment;
+        private final long offset;
+        private final int length;
+        
+        SegmentRecord(String segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        public String getSegment() {
+            return segment;
+        }
+        
+        public long getOffset() {
+            return offset;
+        }
+        
+        public int getLength() {
+            return length;
+        }
+    }
+    
+    /**
+     * Appends the orders to the active segment and forces them to disk before returning,
+     * so an index row is never committed for a record that could still be lost.
+     */
+    public synchronized List<SegmentRecord> append(List<OrderDetailDTO> orders) {
+        try {
+            Files.createDirectories(directory);
+            Path segment = activeSegment();
+            List<SegmentRecord> records = new ArrayList<>(orders.size());
+            
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                long offset = channel.size();
+                for (OrderDetailDTO order : orders) {
+                    byte[] record = compress(order);
+                    ByteBuffer buffer = ByteBuffer.wrap(record);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    records.add(new SegmentRecord(segment.getFileName().toString(), offset, record.length));
+                    offset += record.length;
+                }
+                channel.force(true);
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to order archive in " + directory, e);
+        }
+    }
+    
+    public Optional<OrderDetailDTO> find(Long orderId) {
+        return archivedOrderRepository.findById(orderId).map(this::read);
+    }
+    
+    public boolean contains(Long orderId) {
+        return archivedOrderRepository.existsById(orderId);
+    }
+    
+    // Reads only the record's byte range and inflates that single gzip member
+    private OrderDetailDTO read(ArchivedOrder archived) {
+        Path segment = directory.resolve(archived.getSegment());
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(archived.getRecordLength());
+            long position = archived.getSegmentOffset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Segment " + archived.getSegment() + " is truncated");
+                }
+                position += read;
+            }
+            try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+                return objectMapper.readValue(json, OrderDetailDTO.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived order " + archived.getOrderId(), e);
+        }
+    }
+    
+    private byte[] compress(OrderDetailDTO order) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, order);
+        }
+        return bytes.toByteArray();
+    }
+    
+    // The newest segment while it has room, otherwise a new one named by creation time
+    private Path activeSegment() throws IOException {
+        Optional<Path> latest;
+        try (Stream<Path> segments = Files.list(directory)) {
+            latest = segments
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .max(Path::compareTo);
+        }
+        if (latest.isPresent() && Files.size(latest.get()) < segmentMaxBytes) {
+            return latest.get();
+        }
+        
+        // Names must keep sorting in creation order, even for two roll-overs within a millisecond
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (latest.isPresent()) {
+            String name = latest.get().getFileName().toString();
+            LocalDateTime latestAt = LocalDateTime.parse(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()), SEGMENT_NAME_FORMAT);
+            if (!createdAt.isAfter(latestAt)) {
+                createdAt = latestAt.plus(1, ChronoUnit.MILLIS);
+            }
+        }
+        return directory.resolve(SEGMENT_PREFIX + createdAt.format(SEGMENT_NAME_FORMAT) + SEGMENT_SUFFIX);
+    }
+}
\ No newline at end of file
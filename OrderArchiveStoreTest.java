@@ -0,0 +1,187 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.model.ArchivedOrder;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.repository.ArchivedOrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Appends to real segment files in a temporary directory; the index rows that
+ * {@link OrderArchiveService} would commit are kept in a map behind a repository stub.
+ */
+class OrderArchiveStoreTest {
+    
+    @TempDir
+    Path directory;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<Long, ArchivedOrder> index = new HashMap<>();
+    
+    @Test
+    void appendedOrdersAreFoundAgain() {
+        OrderArchiveStore store = store(64 * 1024);
+        List<OrderDetailDTO> orders = List.of(order(1, "1 Short St"), order(2, "22 A Much Longer Avenue, Apartment 9"),
+                order(3, "3 Mid Road"));
+        
+        index(store.append(orders), orders);
+        
+        for (OrderDetailDTO order : orders) {
+            OrderDetailDTO found = store.find(order.getId()).orElseThrow();
+            assertEquals(order.getId(), found.getId());
+            assertEquals(order.getDeliveryAddress(), found.getDeliveryAddress());
+            assertEquals(order.getStatus(), found.getStatus());
+            assertEquals(order.getOrderDate(), found.getOrderDate());
+            assertEquals(order.getTotalAmount(), found.getTotalAmount());
+        }
+        assertTrue(store.contains(2L));
+    }
+    
+    @Test
+    void recordsAreBackToBackGzipMembers() throws IOException {
+        OrderArchiveStore store = store(64 * 1024);
+        List<OrderDetailDTO> orders = List.of(order(1, "1 Short St"), order(2, "22 A Much Longer Avenue"));
+        
+        List<OrderArchiveStore.SegmentRecord> records = store.append(orders);
+        
+        assertEquals(records.get(0).getSegment(), records.get(1).getSegment());
+        assertEquals(0, records.get(0).getOffset());
+        assertEquals(records.get(0).getLength(), records.get(1).getOffset());
+        byte[] segment = Files.readAllBytes(directory.resolve(records.get(0).getSegment()));
+        assertEquals(records.get(1).getOffset() + records.get(1).getLength(), segment.length);
+        
+        // Each byte range inflates on its own, without the members before it
+        for (int i = 0; i < records.size(); i++) {
+            OrderArchiveStore.SegmentRecord record = records.get(i);
+            byte[] member = Arrays.copyOfRange(segment, (int) record.getOffset(), (int) record.getOffset() + record.getLength());
+            assertArrayEquals(new byte[] {(byte) 0x1f, (byte) 0x8b}, Arrays.copyOf(member, 2));
+            try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(member))) {
+                assertEquals(orders.get(i).getId(), objectMapper.readValue(json, OrderDetailDTO.class).getId());
+            }
+        }
+    }
+    
+    @Test
+    void laterBatchesContinueTheSegment() {
+        OrderArchiveStore store = store(64 * 1024);
+        List<OrderDetailDTO> first = List.of(order(1, "1 Short St"));
+        List<OrderDetailDTO> second = List.of(order(2, "2 Short St"));
+        
+        List<OrderArchiveStore.SegmentRecord> firstRecords = store.append(first);
+        List<OrderArchiveStore.SegmentRecord> secondRecords = store.append(second);
+        index(firstRecords, first);
+        index(secondRecords, second);
+        
+        assertEquals(firstRecords.get(0).getSegment(), secondRecords.get(0).getSegment());
+        assertEquals(firstRecords.get(0).getLength(), secondRecords.get(0).getOffset());
+        assertEquals("1 Short St", store.find(1L).orElseThrow().getDeliveryAddress());
+        assertEquals("2 Short St", store.find(2L).orElseThrow().getDeliveryAddress());
+    }
+    
+    @Test
+    void fullSegmentRollsOverToANewOne() throws IOException {
+        // A batch always goes to one segment; the limit is checked before it is written
+        OrderArchiveStore store = store(1);
+        List<OrderDetailDTO> first = List.of(order(1, "1 Short St"), order(2, "2 Short St"));
+        List<OrderDetailDTO> second = List.of(order(3, "3 Short St"));
+        
+        List<OrderArchiveStore.SegmentRecord> firstRecords = store.append(first);
+        List<OrderArchiveStore.SegmentRecord> secondRecords = store.append(second);
+        index(firstRecords, first);
+        index(secondRecords, second);
+        
+        assertEquals(firstRecords.get(0).getSegment(), firstRecords.get(1).getSegment());
+        assertNotEquals(firstRecords.get(0).getSegment(), secondRecords.get(0).getSegment());
+        assertEquals(0, secondRecords.get(0).getOffset());
+        assertEquals(2, segments().size());
+        for (long id = 1; id <= 3; id++) {
+            assertEquals(id, store.find(id).orElseThrow().getId());
+        }
+    }
+    
+    @Test
+    void segmentsRolledOverInQuickSuccessionStayDistinctAndOrdered() throws IOException {
+        OrderArchiveStore store = store(1);
+        
+        String first = store.append(List.of(order(1, "1 Short St"))).get(0).getSegment();
+        String second = store.append(List.of(order(2, "2 Short St"))).get(0).getSegment();
+        String third = store.append(List.of(order(3, "3 Short St"))).get(0).getSegment();
+        
+        assertTrue(first.compareTo(second) < 0, first + " should sort before " + second);
+        assertTrue(second.compareTo(third) < 0, second + " should sort before " + third);
+        assertEquals(List.of(first, second, third), segments());
+    }
+    
+    @Test
+    void unknownOrderIsNotFound() {
+        OrderArchiveStore store = store(64 * 1024);
+        
+        assertEquals(Optional.empty(), store.find(42L));
+        assertFalse(store.contains(42L));
+    }
+    
+    private OrderArchiveStore store(long segmentMaxBytes) {
+        return new OrderArchiveStore(indexRepository(), objectMapper, directory.toString(), segmentMaxBytes);
+    }
+    
+    private void index(List<OrderArchiveStore.SegmentRecord> records, List<OrderDetailDTO> orders) {
+        for (int i = 0; i < orders.size(); i++) {
+            ArchivedOrder archived = new ArchivedOrder();
+            archived.setOrderId(orders.get(i).getId());
+            archived.setSegment(records.get(i).getSegment());
+            archived.setSegmentOffset(records.get(i).getOffset());
+            archived.setRecordLength(records.get(i).getLength());
+            index.put(archived.getOrderId(), archived);
+        }
+    }
+    
+    private List<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+    
+    private ArchivedOrderRepository indexRepository() {
+        return (ArchivedOrderRepository) Proxy.newProxyInstance(ArchivedOrderRepository.class.getClassLoader(),
+                new Class<?>[] {ArchivedOrderRepository.class}, (proxy, method, args) ->
+                        switch (method.getName()) {
+                            case "findById" -> Optional.ofNullable(index.get((Long) args[0]));
+                            case "existsById" -> index.containsKey((Long) args[0]);
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+    
+    private static OrderDetailDTO order(long id, String deliveryAddress) {
+        OrderDetailDTO order = new OrderDetailDTO();
+        order.setId(id);
+        order.setOrderDate(LocalDateTime.of(2026, 1, 15, 12, 30).plusMinutes(id));
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setDeliveryAddress(deliveryAddress);
+        order.setTotalAmount(Money.ofMinor(1000 + id));
+        return order;
+    }
+}
\ No newline at end of file
@@ -1,19 +1,31 @@
 package com.example.fooddelivery.controller;
 
+import com.example.fooddelivery.dto.OrderDetailDTO;
 import com.example.fooddelivery.dto.OrderRequest;
-import com.example.fooddelivery.dto.OrderItemRequest;  // Add this import
 import com.example.fooddelivery.dto.PaymentRequest;
-import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.exception.PaymentGatewayTimeoutException;
+import com.example.fooddelivery.exception.PaymentGatewayUnavailableException;
 import com.example.fooddelivery.model.OrderStatus;
 import com.example.fooddelivery.model.Payment;
+import com.example.fooddelivery.service.IdempotencyService;
 import com.example.fooddelivery.service.OrderService;
+import com.example.fooddelivery.service.OrderTrackingService;
 import com.example.fooddelivery.service.PaymentService;
+import com.example.fooddelivery.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -25,39 +37,55 @@ import java.util.Map;
 )
 public class OrderController {
     
+    private static final long MAX_PAYMENT_STATUS_WAIT_SECONDS = 30;
+    
     private final OrderService orderService;
     private final PaymentService paymentService;
+    private final OrderTrackingService orderTrackingService;
+    private final IdempotencyService idempotencyService;
+    private final RestaurantService restaurantService;
+    
+    @Value("${payment.async.enabled:true}")
+    private boolean asyncPaymentsEnabled;
     
     @Autowired
-    public OrderController(OrderService orderService, PaymentService paymentService) {
+    public OrderController(OrderService orderService,
+                          PaymentService paymentService,
+                          OrderTrackingService orderTrackingService,
+                          IdempotencyService idempotencyService,
+                          RestaurantService restaurantService) {
         this.orderService = orderService;
         this.paymentService = paymentService;
+        this.orderTrackingService = orderTrackingService;
+        this.idempotencyService = idempotencyService;
+        this.restaurantService = restaurantService;
     }
     
+    /**
+     * With an {@code Idempotency-Key} header, retries of the same request replay the
+     * first response instead of placing another order.
+     */
     @PostMapping
     public ResponseEntity<?> createOrder(@RequestBody OrderRequest orderRequest, 
-                                        Authentication authentication) {
+                                        Authentication authentication,
+                                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        String customerEmail = authentication.getName();
+        if (idempotencyKey == null) {
+            return placeOrder(orderRequest, customerEmail);
+        }
+        return idempotencyService.execute(customerEmail, idempotencyKey, "POST /api/v1/orders", orderRequest,
+                () -> placeOrder(orderRequest, customerEmail));
+    }
+    
+    private ResponseEntity<?> placeOrder(OrderRequest orderRequest, String customerEmail) {
         try {
-            System.out.println("=== ORDER CONTROLLER ===");
-            System.out.println("Received OrderRequest: " + orderRequest);
-            System.out.println("Restaurant ID: " + orderRequest.getRestaurantId());
-            System.out.println("Items: " + orderRequest.getItems());
-            
-            if (orderRequest.getItems() != null) {
-                for (int i = 0; i < orderRequest.getItems().size(); i++) {
-                    OrderItemRequest item = orderRequest.getItems().get(i);  // Changed from OrderRequest.OrderItemRequest
-                    System.out.println("Item " + i + ":");
-                    System.out.println("  - MenuItemId: " + item.getMenuItemId());
-                    System.out.println("  - Quantity: " + item.getQuantity());
-                }
-            }
-            
-            String customerEmail = authentication.getName();
-            Order order = orderService.createOrder(orderRequest, customerEmail);
+            OrderDetailDTO order = orderService.createOrder(orderRequest, customerEmail);
             return ResponseEntity.ok(order);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
         } catch (Exception e) {
-            System.err.println("Order creation error: " + e.getMessage());
-            e.printStackTrace();
             return ResponseEntity.status(500).body(
                 Map.of("message", "Failed to create order: " + e.getMessage())
             );
@@ -65,22 +93,37 @@ public class OrderController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-        Order order = orderService.getOrderById(id);
+    public ResponseEntity<OrderDetailDTO> getOrderById(@PathVariable Long id) {
+        OrderDetailDTO order = orderService.getOrderDetail(id);
         return ResponseEntity.ok(order);
     }
     
     @GetMapping("/{id}/track")
-    public ResponseEntity<Order> trackOrder(@PathVariable Long id) {
-        Order order = orderService.getOrderById(id);
+    public ResponseEntity<OrderDetailDTO> trackOrder(@PathVariable Long id) {
+        OrderDetailDTO order = orderService.getOrderDetail(id);
         return ResponseEntity.ok(order);
     }
     
+    @GetMapping(value = "/{id}/track/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderTracking(@PathVariable Long id) {
+        return orderTrackingService.subscribe(id);
+    }
+    
     @GetMapping("/user")
-    public ResponseEntity<?> getUserOrders(Authentication authentication) {
+    public ResponseEntity<?> getUserOrders(
+            Authentication authentication,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             String customerEmail = authentication.getName();
-            return ResponseEntity.ok(orderService.getOrdersByCustomer(customerEmail));
+            return ResponseEntity.ok(orderService.getOrdersByCustomer(customerEmail, status, from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
         } catch (Exception e) {
             return ResponseEntity.status(500).body(
                 Map.of("message", "Failed to fetch orders: " + e.getMessage())
@@ -91,18 +134,31 @@ public class OrderController {
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateOrderStatus(
             @PathVariable Long id,
-            @RequestBody Map<String, String> statusUpdate) {
+            @RequestBody Map<String, String> statusUpdate,
+            Authentication authentication) {
+        Long restaurantId = orderService.getRestaurantIdForOrder(id);
+        if (!restaurantService.canManage(restaurantId, authentication)) {
+            return ResponseEntity.status(403).body(
+                Map.of("message", "Not allowed to manage restaurant " + restaurantId)
+            );
+        }
+        if (statusUpdate.get("status") == null) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Status is required")
+            );
+        }
+        // Missing orders and concurrent updates are left to GlobalExceptionHandler (404 and 409)
         try {
             OrderStatus status = OrderStatus.valueOf(statusUpdate.get("status"));
-            Order updatedOrder = orderService.updateOrderStatus(id, status);
+            OrderDetailDTO updatedOrder = orderService.updateOrderStatus(id, status);
             return ResponseEntity.ok(updatedOrder);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
                 Map.of("message", "Invalid status: " + statusUpdate.get("status"))
             );
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(
-                Map.of("message", "Failed to update order status: " + e.getMessage())
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
             );
         }
     }
@@ -126,14 +182,37 @@ public class OrderController {
     @PostMapping("/{orderId}/pay")
     public ResponseEntity<?> processPayment(
             @PathVariable Long orderId,
-            @RequestBody PaymentRequest paymentRequest) {
+            @RequestBody PaymentRequest paymentRequest,
+            Authentication authentication,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return pay(orderId, paymentRequest);
+        }
+        return idempotencyService.execute(authentication.getName(), idempotencyKey,
+                "POST /api/v1/orders/" + orderId + "/pay", paymentRequest,
+                () -> pay(orderId, paymentRequest));
+    }
+    
+    private ResponseEntity<?> pay(Long orderId, PaymentRequest paymentRequest) {
         try {
+            if (asyncPaymentsEnabled) {
+                Payment payment = paymentService.initiatePayment(orderId, paymentRequest);
+                return ResponseEntity.accepted().body(payment);
+            }
             Payment payment = paymentService.processPayment(orderId, paymentRequest);
             return ResponseEntity.ok(payment);
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(
                 Map.of("message", e.getMessage())
             );
+        } catch (PaymentGatewayTimeoutException e) {
+            return ResponseEntity.status(504).body(
+                Map.of("message", e.getMessage())
+            );
+        } catch (PaymentGatewayUnavailableException e) {
+            return ResponseEntity.status(503).body(
+                Map.of("message", e.getMessage())
+            );
         } catch (Exception e) {
             return ResponseEntity.status(500).body(
                 Map.of("message", "Payment processing failed: " + e.getMessage())
@@ -152,4 +231,45 @@ public class OrderController {
             );
         }
     }
+    
+    /**
+     * Payment status for clients of the asynchronous /pay flow. With {@code waitSeconds}
+     * the request is parked (without holding a worker thread) until the gateway answers
+     * or the wait elapses, so clients can long-poll instead of polling tightly.
+     */
+    @GetMapping("/{orderId}/payment/status")
+    public DeferredResult<ResponseEntity<?>> getPaymentStatus(
+            @PathVariable Long orderId,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        long timeoutMillis = Math.min(Math.max(waitSeconds, 0), MAX_PAYMENT_STATUS_WAIT_SECONDS) * 1000;
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>(timeoutMillis > 0 ? timeoutMillis : null);
+        
+        CompletableFuture<Payment> inFlight = paymentService.getInFlightPayment(orderId);
+        if (inFlight == null || timeoutMillis == 0) {
+            deferred.setResult(paymentStatusResponse(orderId));
+            return deferred;
+        }
+        
+        deferred.onTimeout(() -> deferred.setResult(paymentStatusResponse(orderId)));
+        inFlight.whenComplete((payment, error) -> deferred.setResult(paymentStatusResponse(orderId)));
+        return deferred;
+    }
+    
+    private ResponseEntity<?> paymentStatusResponse(Long orderId) {
+        try {
+            Payment payment = paymentService.getPaymentByOrderId(orderId);
+            Map<String, Object> status = new HashMap<>();
+            status.put("orderId", orderId);
+            status.put("paymentId", payment.getId());
+            status.put("paymentMethod", payment.getPaymentMethod());
+            status.put("paymentStatus", payment.getPaymentStatus());
+            status.put("amount", payment.getAmount());
+            status.put("processing", paymentService.getInFlightPayment(orderId) != null);
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(404).body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,376 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderDetailDTO {
+    private Long id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private String deliveryAddress;
+    private Money subtotal;
+    private Money discountTotal;
+    private Money totalAmount;
+    private CustomerInfo customer;
+    private RestaurantInfo restaurant;
+    private List<LineItem> orderItems;
+    private PaymentInfo payment;
+    
+    // Constructors
+    public OrderDetailDTO() {
+    }
+    
+    public OrderDetailDTO(Long id, LocalDateTime orderDate, OrderStatus status, String deliveryAddress,
+                          Money subtotal, Money discountTotal, Money totalAmount, CustomerInfo customer, RestaurantInfo restaurant, List<LineItem> orderItems, PaymentInfo payment) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.deliveryAddress = deliveryAddress;
+        this.subtotal = subtotal;
+        this.discountTotal = discountTotal;
+        this.totalAmount = totalAmount;
+        this.customer = customer;
+        this.restaurant = restaurant;
+        this.orderItems = orderItems;
+        this.payment = payment;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public String getDeliveryAddress() {
+        return deliveryAddress;
+    }
+    
+    public void setDeliveryAddress(String deliveryAddress) {
+        this.deliveryAddress = deliveryAddress;
+    }
+    
+    public Money getSubtotal() {
+        return subtotal;
+    }
+    
+    public void setSubtotal(Money subtotal) {
+        this.subtotal = subtotal;
+    }
+    
+    public Money getDiscountTotal() {
+        return discountTotal;
+    }
+    
+    public void setDiscountTotal(Money discountTotal) {
+        this.discountTotal = discountTotal;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(Money totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public CustomerInfo getCustomer() {
+        return customer;
+    }
+    
+    public void setCustomer(CustomerInfo customer) {
+        this.customer = customer;
+    }
+    
+    public RestaurantInfo getRestaurant() {
+        return restaurant;
+    }
+    
+    public void setRestaurant(RestaurantInfo restaurant) {
+        this.restaurant = restaurant;
+    }
+    
+    public List<LineItem> getOrderItems() {
+        return orderItems;
+    }
+    
+    public void setOrderItems(List<LineItem> orderItems) {
+        this.orderItems = orderItems;
+    }
+    
+    public PaymentInfo getPayment() {
+        return payment;
+    }
+    
+    public void setPayment(PaymentInfo payment) {
+        this.payment = payment;
+    }
+    
+    public static class CustomerInfo {
+        private Long id;
+        private String name;
+        private String email;
+        
+        public CustomerInfo() {
+        }
+        
+        public CustomerInfo(Long id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getEmail() {
+            return email;
+        }
+        
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+    
+    public static class RestaurantInfo {
+        private Long id;
+        private String name;
+        private String location;
+        
+        public RestaurantInfo() {
+        }
+        
+        public RestaurantInfo(Long id, String name, String location) {
+            this.id = id;
+            this.name = name;
+            this.location = location;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getLocation() {
+            return location;
+        }
+        
+        public void setLocation(String location) {
+            this.location = location;
+        }
+    }
+    
+    public static class MenuItemInfo {
+        private Long id;
+        private String name;
+        private String description;
+        
+        public MenuItemInfo() {
+        }
+        
+        public MenuItemInfo(Long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+        
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+    
+    public static class LineItem {
+        private Long id;
+        private Long menuItemId;
+        private MenuItemInfo menuItem;
+        private Integer quantity;
+        private Money unitPrice;
+        private Money lineTotal;
+        
+        public LineItem() {
+        }
+        
+        public LineItem(Long id, Long menuItemId, MenuItemInfo menuItem, Integer quantity, Money unitPrice, Money lineTotal) {
+            this.id = id;
+            this.menuItemId = menuItemId;
+            this.menuItem = menuItem;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+            this.lineTotal = lineTotal;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public Long getMenuItemId() {
+            return menuItemId;
+        }
+        
+        public void setMenuItemId(Long menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+        
+        public MenuItemInfo getMenuItem() {
+            return menuItem;
+        }
+        
+        public void setMenuItem(MenuItemInfo menuItem) {
+            this.menuItem = menuItem;
+        }
+        
+        public Integer getQuantity() {
+            return quantity;
+        }
+        
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+        
+        public Money getUnitPrice() {
+            return unitPrice;
+        }
+        
+        public void setUnitPrice(Money unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+        
+        public Money getLineTotal() {
+            return lineTotal;
+        }
+        
+        public void setLineTotal(Money lineTotal) {
+            this.lineTotal = lineTotal;
+        }
+    }
+    
+    public static class PaymentInfo {
+        private Long id;
+        private PaymentMethod paymentMethod;
+        private PaymentStatus paymentStatus;
+        private Money amount;
+        private LocalDateTime paymentDate;
+        
+        public PaymentInfo() {
+        }
+        
+        public PaymentInfo(Long id, PaymentMethod paymentMethod, PaymentStatus paymentStatus, Money amount, LocalDateTime paymentDate) {
+            this.id = id;
+            this.paymentMethod = paymentMethod;
+            this.paymentStatus = paymentStatus;
+            this.amount = amount;
+            this.paymentDate = paymentDate;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public PaymentMethod getPaymentMethod() {
+            return paymentMethod;
+        }
+        
+        public void setPaymentMethod(PaymentMethod paymentMethod) {
+            this.paymentMethod = paymentMethod;
+        }
+        
+        public PaymentStatus getPaymentStatus() {
+            return paymentStatus;
+        }
+        
+        public void setPaymentStatus(PaymentStatus paymentStatus) {
+            this.paymentStatus = paymentStatus;
+        }
+        
+        public Money getAmount() {
+            return amount;
+        }
+        
+        public void setAmount(Money amount) {
+            this.amount = amount;
+        }
+        
+        public LocalDateTime getPaymentDate() {
+            return paymentDate;
+        }
+        
+        public void setPaymentDate(LocalDateTime paymentDate) {
+            this.paymentDate = paymentDate;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.fooddelivery.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the seeded data, shared by the benchmarks.
+ */
+public final class OrderFixtures {
+    
+    private OrderFixtures() {
+    }
+    
+    public static Order order(long id, int lineCount) {
+        Customer customer = new Customer("Jane Smith", "jane@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6/2YLCeJLZ1mQmp3KsKfH1e",
+                "456 Oak Ave, Nairobi", "+254700000002");
+        customer.setId(id % 50 + 1);
+        customer.setRole(Role.CUSTOMER);
+        
+        Restaurant restaurant = new Restaurant("Pizza Palace", "Downtown Nairobi", "+254701234567");
+        restaurant.setId(id % 10 + 1);
+        
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomer(customer);
+        order.setRestaurant(restaurant);
+        order.setOrderDate(LocalDateTime.of(2024, 3, 14, 19, 30).plusMinutes(id));
+        order.setStatus(OrderStatus.PREPARING);
+        order.setDeliveryAddress(customer.getAddress());
+        
+        List<OrderItem> items = new ArrayList<>(lineCount);
+        long subtotal = 0;
+        long total = 0;
+        int itemCount = 0;
+        for (int i = 0; i < lineCount; i++) {
+            MenuItem menuItem = new MenuItem("Margherita Pizza " + i,
+                    "Classic pizza with tomato sauce, mozzarella, and basil", Money.ofMinor(1299 + i * 50), 10.0, restaurant);
+            menuItem.setId(id * 10 + i);
+            
+            OrderItem item = new OrderItem(order, menuItem, 1 + i % 3, Money.ofMinor(menuItem.getDiscountedPriceMinor()));
+            item.setId(id * 10 + i);
+            items.add(item);
+            
+            subtotal += menuItem.getPrice().getMinorUnits() * item.getQuantity();
+            total += item.getUnitPrice().getMinorUnits() * item.getQuantity();
+            itemCount += item.getQuantity();
+        }
+        order.setOrderItems(items);
+        order.setTotals(Money.ofMinor(subtotal), Money.ofMinor(subtotal - total), itemCount);
+        
+        Payment payment = new Payment(order, order.getTotalAmount(), PaymentMethod.MPESA,
+                PaymentStatus.SUCCESS, order.getOrderDate().plusMinutes(1));
+        payment.setId(id);
+        order.setPayment(payment);
+        return order;
+    }
+    
+    public static List<Order> orders(int count, int lineCount) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            orders.add(order(i, lineCount));
+        }
+        return orders;
+    }
+}
\ No newline at end of file
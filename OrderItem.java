@@ -10,7 +10,8 @@ import jakarta.validation.constraints.Positive;
 public class OrderItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,7 +19,7 @@ public class OrderItem {
     @JsonIgnoreProperties({"orderItems", "customer", "hibernateLazyInitializer", "handler"})
     private Order order;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_item_id")
     @JsonIgnoreProperties({"restaurant", "hibernateLazyInitializer", "handler"})
     private MenuItem menuItem;
@@ -28,13 +29,13 @@ public class OrderItem {
     private Integer quantity;
     
     @NotNull(message = "Unit price is required")
-    private Double unitPrice;
+    private Money unitPrice;
     
     // Constructors
     public OrderItem() {
     }
     
-    public OrderItem(Order order, MenuItem menuItem, Integer quantity, Double unitPrice) {
+    public OrderItem(Order order, MenuItem menuItem, Integer quantity, Money unitPrice) {
         this.order = order;
         this.menuItem = menuItem;
         this.quantity = quantity;
@@ -74,11 +75,15 @@ public class OrderItem {
         this.quantity = quantity;
     }
     
-    public Double getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
     
-    public void setUnitPrice(Double unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
+    
+    public Money getLineTotal() {
+        return unitPrice.times(quantity);
+    }
 }
\ No newline at end of file
@@ -2,8 +2,22 @@ package com.example.fooddelivery.repository;
 
 import com.example.fooddelivery.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+    
+    // Rows of [menu item id, quantity ordered]
+    @Query("SELECT i.menuItem.id, SUM(i.quantity) FROM OrderItem i GROUP BY i.menuItem.id")
+    List<Object[]> sumQuantityByMenuItem();
 }
\ No newline at end of file
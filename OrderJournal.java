@@ -0,0 +1,461 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.event.OrderJournalEvent;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of order events in memory-mapped segment files. Offsets are byte
+ * positions across all segments; a segment is named after the offset of its first record
+ * and the next one starts where the last record of the previous one ended.
+ * <p>
+ * Appends only copy a fixed-size record into the mapped segment. Durability is group
+ * committed: a single flusher forces everything written since the last flush every
+ * {@code journal.flush-interval-ms}, and {@link #awaitDurable(long)} lets a caller wait for it.
+ */
+@Component
+public class OrderJournal {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderJournal.class);
+    
+    private static final String SEGMENT_SUFFIX = ".journal";
+    // [int payload length][int CRC-32C of payload][payload]; a zero length marks the end of a segment
+    private static final int HEADER_BYTES = 8;
+    // type, order id, restaurant id, epoch millis, previous status, status, payment method, payment status, amount
+    private static final int PAYLOAD_BYTES = 1 + 8 + 8 + 8 + 1 + 1 + 1 + 1 + 8;
+    private static final int RECORD_BYTES = HEADER_BYTES + PAYLOAD_BYTES;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    
+    // Enums are stored as ordinal + 1 with 0 for null, so new constants must only be appended
+    private static final OrderJournalEvent.Type[] TYPES = OrderJournalEvent.Type.values();
+    private static final OrderStatus[] ORDER_STATUSES = OrderStatus.values();
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+    private static final PaymentStatus[] PAYMENT_STATUSES = PaymentStatus.values();
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalMs;
+    private final ScheduledExecutorService journalFlusher;
+    
+    // Base offsets of all segments, oldest first
+    private final NavigableSet<Long> segments = new ConcurrentSkipListSet<>();
+    private final Queue<DurabilityWaiter> waiters = new ConcurrentLinkedQueue<>();
+    
+    private final Object writeLock = new Object();
+    private MappedByteBuffer activeSegment;
+    private long activeBase;
+    
+    // End of the last complete record, and of the last one forced to disk
+    private volatile long writeOffset;
+    private volatile long durableOffset;
+    
+    @Autowired
+    public OrderJournal(@Value("${journal.directory:./data/order-journal}") String directory,
+                        @Value("${journal.segment-bytes:67108864}") int segmentBytes,
+                        @Value("${journal.flush-interval-ms:5}") long flushIntervalMs,
+                        @Qualifier("journalFlusher") ScheduledExecutorService journalFlusher) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMs = flushIntervalMs;
+        this.journalFlusher = journalFlusher;
+    }
+    
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                        .forEach(segments::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order journal in " + directory, e);
+        }
+        
+        if (segments.isEmpty()) {
+            activeBase = 0;
+            activeSegment = map(activeBase);
+            segments.add(activeBase);
+        } else {
+            activeBase = segments.last();
+            activeSegment = map(activeBase);
+        }
+        
+        writeOffset = activeBase + recover(activeSegment);
+        durableOffset = writeOffset;
+        journalFlusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Order journal open at offset {} in {}", writeOffset, directory);
+    }
+    
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+    
+    /**
+     * Appends the event and returns its offset; the event's own offset is ignored.
+     * The record is visible to readers immediately and durable after the next flush.
+     */
+    public long append(OrderJournalEvent event) {
+        byte[] payload = encode(event);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int checksum = (int) crc.getValue();
+        
+        synchronized (writeLock) {
+            if (writeOffset - activeBase + RECORD_BYTES > segmentBytes) {
+                roll();
+            }
+            long offset = writeOffset;
+            int position = (int) (offset - activeBase);
+            activeSegment.putInt(position + 4, checksum);
+            activeSegment.put(position + HEADER_BYTES, payload);
+            // The length goes in last so a torn write never looks like a complete record
+            activeSegment.putInt(position, PAYLOAD_BYTES);
+            writeOffset = offset + RECORD_BYTES;
+            return offset;
+        }
+    }
+    
+    /**
+     * Completes once the record at {@code offset} has been forced to disk.
+     */
+    public CompletableFuture<Void> awaitDurable(long offset) {
+        if (durableOffset > offset) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DurabilityWaiter waiter = new DurabilityWaiter(offset);
+        waiters.add(waiter);
+        // The flusher may have passed this offset while the waiter was being queued
+        if (durableOffset > offset && waiters.remove(waiter)) {
+            waiter.future.complete(null);
+        }
+        return waiter.future;
+    }
+    
+    /**
+     * Streams up to {@code maxEvents} records starting at {@code fromOffset} (0 for the
+     * beginning) to the consumer and returns the offset to continue from.
+     */
+    public long replay(long fromOffset, int maxEvents, Consumer<OrderJournalEvent> consumer) {
+        long limit = writeOffset;
+        long offset = fromOffset;
+        int delivered = 0;
+        
+        Long base = segments.floor(offset);
+        if (base == null) {
+            throw new IllegalArgumentException("Offset " + fromOffset + " is before the start of the journal");
+        }
+        SegmentReader reader = openReader(base);
+        try {
+            while (delivered < maxEvents && offset < limit) {
+                int position = (int) (offset - base);
+                ByteBuffer record = position + RECORD_BYTES <= segmentBytes ? reader.read(position) : null;
+                int length = record == null ? 0 : record.getInt(0);
+                if (length == 0) {
+                    Long next = segments.higher(base);
+                    if (next == null) {
+                        break;
+                    }
+                    reader.close();
+                    base = next;
+                    reader = openReader(base);
+                    continue;
+                }
+                
+                OrderJournalEvent event = readRecord(record, 0, offset);
+                if (event == null) {
+                    throw new IllegalArgumentException("No journal record starts at offset " + offset);
+                }
+                consumer.accept(event);
+                delivered++;
+                offset += HEADER_BYTES + length;
+            }
+        } finally {
+            reader.close();
+        }
+        return offset;
+    }
+    
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+    
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+    
+    // Group commit: one force covers every record appended since the previous one
+    void flush() {
+        MappedByteBuffer segment;
+        long base;
+        long target;
+        synchronized (writeLock) {
+            segment = activeSegment;
+            base = activeBase;
+            target = writeOffset;
+        }
+        
+        long durable = durableOffset;
+        if (target > durable) {
+            try {
+                int from = (int) (Math.max(durable, base) - base);
+                segment.force(from, (int) (target - base) - from);
+            } catch (RuntimeException e) {
+                log.error("Could not flush order journal: {}", e.getMessage());
+                failWaiters(target, e);
+                return;
+            }
+            advanceDurableOffset(target);
+        }
+    }
+    
+    // Called with writeLock held
+    private void roll() {
+        activeSegment.force();
+        advanceDurableOffset(writeOffset);
+        activeBase = writeOffset;
+        activeSegment = map(activeBase);
+        segments.add(activeBase);
+        log.info("Order journal rolled to segment {}", activeBase);
+    }
+    
+    private void advanceDurableOffset(long offset) {
+        synchronized (waiters) {
+            if (offset <= durableOffset) {
+                return;
+            }
+            durableOffset = offset;
+        }
+        Iterator<DurabilityWaiter> pending = waiters.iterator();
+        while (pending.hasNext()) {
+            DurabilityWaiter waiter = pending.next();
+            if (waiter.offset < offset) {
+                pending.remove();
+                waiter.future.complete(null);
+            }
+        }
+    }
+    
+    // A failed force leaves its records unforced, so their waiters fail instead of hanging until a later flush
+    private void failWaiters(long offset, Throwable cause) {
+        Iterator<DurabilityWaiter> pending = waiters.iterator();
+        while (pending.hasNext()) {
+            DurabilityWaiter waiter = pending.next();
+            if (waiter.offset < offset) {
+                pending.remove();
+                waiter.future.completeExceptionally(cause);
+            }
+        }
+    }
+    
+    // Finds the end of the last intact record and clears anything torn after it
+    private int recover(MappedByteBuffer segment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                // Pages of later records can reach disk before the header of this one
+                if (!isZeroFrom(segment, position)) {
+                    log.warn("Discarding order journal bytes after the end marker at offset {}", activeBase + position);
+                    clearFrom(segment, position);
+                }
+                return position;
+            }
+            if (readRecord(segment, position, 0) == null) {
+                log.warn("Discarding torn order journal record at offset {}", activeBase + position);
+                clearFrom(segment, position);
+                return position;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+    
+    private boolean isZeroFrom(MappedByteBuffer segment, int position) {
+        for (int i = position; i < segmentBytes; i++) {
+            if (segment.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void clearFrom(MappedByteBuffer segment, int position) {
+        segment.put(position, new byte[segmentBytes - position]);
+        segment.force();
+    }
+    
+    private OrderJournalEvent readRecord(ByteBuffer segment, int position, long offset) {
+        int length = segment.getInt(position);
+        if (length < PAYLOAD_BYTES || position + HEADER_BYTES + length > segment.limit()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        segment.get(position + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != segment.getInt(position + 4)) {
+            return null;
+        }
+        return decode(offset, ByteBuffer.wrap(payload));
+    }
+    
+    private byte[] encode(OrderJournalEvent event) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_BYTES);
+        payload.put((byte) (event.getType().ordinal() + 1));
+        payload.putLong(event.getOrderId() == null ? NO_VALUE : event.getOrderId());
+        payload.putLong(event.getRestaurantId() == null ? NO_VALUE : event.getRestaurantId());
+        payload.putLong(event.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        payload.put(ordinal(event.getPreviousStatus()));
+        payload.put(ordinal(event.getStatus()));
+        payload.put(ordinal(event.getPaymentMethod()));
+        payload.put(ordinal(event.getPaymentStatus()));
+        payload.putLong(event.getAmount() == null ? NO_VALUE : event.getAmount().getMinorUnits());
+        return payload.array();
+    }
+    
+    private OrderJournalEvent decode(long offset, ByteBuffer payload) {
+        OrderJournalEvent.Type type = TYPES[payload.get() - 1];
+        long orderId = payload.getLong();
+        long restaurantId = payload.getLong();
+        LocalDateTime occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(payload.getLong()), ZoneId.systemDefault());
+        OrderStatus previousStatus = valueOf(ORDER_STATUSES, payload.get());
+        OrderStatus status = valueOf(ORDER_STATUSES, payload.get());
+        PaymentMethod paymentMethod = valueOf(PAYMENT_METHODS, payload.get());
+        PaymentStatus paymentStatus = valueOf(PAYMENT_STATUSES, payload.get());
+        long amount = payload.getLong();
+        return new OrderJournalEvent(offset, type,
+                orderId == NO_VALUE ? null : orderId,
+                restaurantId == NO_VALUE ? null : restaurantId,
+                occurredAt, previousStatus, status, paymentMethod, paymentStatus,
+                amount == NO_VALUE ? null : Money.ofMinor(amount));
+    }
+    
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+    
+    private static <E> E valueOf(E[] values, byte ordinal) {
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+    
+    private MappedByteBuffer map(long base) {
+        Path segment = segmentPath(base);
+        try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map order journal segment " + segment, e);
+        }
+    }
+    
+    // Mappings are only released by the garbage collector, so replay reads sealed segments
+    // through a channel and the active one through the writer's mapping instead of mapping its own
+    private SegmentReader openReader(long base) {
+        synchronized (writeLock) {
+            if (base == activeBase) {
+                return new SegmentReader(null, activeSegment);
+            }
+        }
+        Path segment = segmentPath(base);
+        try {
+            return new SegmentReader(FileChannel.open(segment, StandardOpenOption.READ), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order journal segment " + segment, e);
+        }
+    }
+    
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+    
+    private static final class SegmentReader {
+        
+        private final FileChannel channel;
+        private final MappedByteBuffer mapped;
+        private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        
+        SegmentReader(FileChannel channel, MappedByteBuffer mapped) {
+            this.channel = channel;
+            this.mapped = mapped;
+        }
+        
+        // Returns the record-sized block at the position, or null past the end of the file
+        ByteBuffer read(int position) {
+            record.clear();
+            if (mapped != null) {
+                mapped.get(position, record.array(), 0, RECORD_BYTES);
+                return record;
+            }
+            try {
+                while (record.hasRemaining()) {
+                    if (channel.read(record, position + record.position()) < 0) {
+                        return null;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read order journal", e);
+            }
+            return record;
+        }
+        
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close order journal segment: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private static final class DurabilityWaiter {
+        
+        private final long offset;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        
+        DurabilityWaiter(long offset) {
+            this.offset = offset;
+        }
+    }
+}
\ No newline at end of file
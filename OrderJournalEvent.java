@@ -0,0 +1,89 @@
+package com.example.fooddelivery.event;
+
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the order event journal. Fields that do not apply to a type are null;
+ * {@code offset} is where the entry starts and can be passed back to replay from it.
+ */
+public class OrderJournalEvent {
+    
+    public enum Type {
+        ORDER_PLACED,
+        STATUS_CHANGED,
+        PAYMENT_RECORDED,
+        CANCELLED
+    }
+    
+    private final long offset;
+    private final Type type;
+    private final Long orderId;
+    private final Long restaurantId;
+    private final LocalDateTime occurredAt;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final PaymentMethod paymentMethod;
+    private final PaymentStatus paymentStatus;
+    private final Money amount;
+    
+    public OrderJournalEvent(long offset, Type type, Long orderId, Long restaurantId, LocalDateTime occurredAt,
+                             OrderStatus previousStatus, OrderStatus status,
+                             PaymentMethod paymentMethod, PaymentStatus paymentStatus, Money amount) {
+        this.offset = offset;
+        this.type = type;
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.occurredAt = occurredAt;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.paymentStatus = paymentStatus;
+        this.amount = amount;
+    }
+    
+    // Getters
+    public long getOffset() {
+        return offset;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public Money getAmount() {
+        return amount;
+    }
+}
\ No newline at end of file
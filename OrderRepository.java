@@ -1,15 +1,144 @@
 package com.example.fooddelivery.repository;
 
+import com.example.fooddelivery.dto.OrderSummaryDTO;
 import com.example.fooddelivery.model.Customer;
 import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderStatus;
 import com.example.fooddelivery.model.Restaurant;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     List<Order> findByCustomer(Customer customer);
     List<Order> findByRestaurant(Restaurant restaurant);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+    
+    @Query("SELECT o.restaurant.id FROM Order o WHERE o.id = :id")
+    Optional<Long> findRestaurantIdById(@Param("id") Long id);
+    
+    // Native so the sum of the converted Money column stays an exact BIGINT of minor units
+    @Query(value = "SELECT COALESCE(SUM(total_amount), 0) FROM orders", nativeQuery = true)
+    long sumTotalAmountMinor();
+    
+    // Rows of [status, count]
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countOrdersByStatus();
+    
+    // Rows of [restaurant id, order count]
+    @Query("SELECT o.restaurant.id, COUNT(o) FROM Order o GROUP BY o.restaurant.id")
+    List<Object[]> countOrdersByRestaurant();
+    
+    // Walks idx_orders_order_date, so a page costs the same however many orders exist
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderDate DESC, o.id DESC")
+    Slice<Long> findRecentOrderIds(Pageable pageable);
+    
+    @Query("SELECT new com.example.fooddelivery.dto.OrderSummaryDTO(" +
+           "o.id, o.orderDate, o.status, c.id, c.name, r.id, r.name, CAST(o.itemCount AS Long), o.totalAmount) " +
+           "FROM Order o JOIN o.customer c JOIN o.restaurant r " +
+           "WHERE o.id IN :ids " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT o FROM Order o " +
+           "JOIN FETCH o.customer JOIN FETCH o.restaurant " +
+           "JOIN FETCH o.orderItems i JOIN FETCH i.menuItem " +
+           "LEFT JOIN FETCH o.payment " +
+           "WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
+    
+    // Restaurant is already known to the caller, so only what a kitchen ticket shows is fetched
+    @Query("SELECT DISTINCT o FROM Order o " +
+           "JOIN FETCH o.customer " +
+           "JOIN FETCH o.orderItems i JOIN FETCH i.menuItem " +
+           "LEFT JOIN FETCH o.payment " +
+           "WHERE o.id IN :ids " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findTicketsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Rows of [id, restaurant id, status, version]
+    @Query("SELECT o.id, o.restaurant.id, o.status, o.version FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findStatusVersionsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Applies one transition to many orders; rows changed since they were read no longer match
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status = :from AND o.version = :version")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("version") Long version);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = :status AND o.version = :version")
+    List<Long> findIdsByStatusAndVersion(@Param("ids") Collection<Long> ids,
+                                         @Param("status") OrderStatus status,
+                                         @Param("version") Long version);
+    
+    // Rows of [id, restaurant id, status, order date, item count]
+    @Query("SELECT o.id, o.restaurant.id, o.status, o.orderDate, o.itemCount FROM Order o WHERE o.status IN :statuses")
+    List<Object[]> findKitchenRowsByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+    
+    @Query("SELECT o.id, o.restaurant.id, o.status, o.orderDate, o.itemCount FROM Order o WHERE o.id = :id")
+    List<Object[]> findKitchenRowById(@Param("id") Long id);
+    
+    // Still PLACED with no payment that could complete it: none at all, or a failed non-COD one
+    String UNPAID_PLACED = "o.status = com.example.fooddelivery.model.OrderStatus.PLACED " +
+           "AND NOT EXISTS (SELECT p.id FROM Payment p WHERE p.order.id = o.id " +
+           "AND (p.paymentMethod = com.example.fooddelivery.model.PaymentMethod.COD " +
+           "OR p.paymentStatus <> com.example.fooddelivery.model.PaymentStatus.FAILED))";
+    
+    // Rows of [id, order date]
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE " + UNPAID_PLACED)
+    List<Object[]> findUnpaidPlacedOrders();
+    
+    // Rows of [id, restaurant id, version]
+    @Query("SELECT o.id, o.restaurant.id, o.version FROM Order o WHERE o.id IN :ids AND " + UNPAID_PLACED)
+    List<Object[]> findUnpaidPlacedRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Order o SET o.status = com.example.fooddelivery.model.OrderStatus.CANCELLED, " +
+           "o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.version = :version AND " + UNPAID_PLACED)
+    int cancelUnpaid(@Param("ids") Collection<Long> ids, @Param("version") Long version);
+    
+    // Oldest first along idx_orders_status_date; orders whose payment is pending or was
+    // resolved after the cutoff stay, so reconciliation and settlement reruns still see it
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderDate < :cutoff " +
+           "AND NOT EXISTS (SELECT p.id FROM Payment p WHERE p.order.id = o.id " +
+           "AND (p.resolvedAt IS NULL OR p.resolvedAt >= :cutoff)) " +
+           "ORDER BY o.orderDate, o.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Pageable pageable);
+    
+    // Outer joins on the items so every requested order comes back and none is deleted unarchived
+    @Query("SELECT DISTINCT o FROM Order o " +
+           "JOIN FETCH o.customer JOIN FETCH o.restaurant " +
+           "LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.menuItem " +
+           "LEFT JOIN FETCH o.payment " +
+           "WHERE o.id IN :ids")
+    List<Order> findDetailsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Items and payment must be deleted first; see OrderItemRepository and PaymentRepository
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
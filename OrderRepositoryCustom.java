@@ -0,0 +1,18 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.dto.OrderCursor;
+import com.example.fooddelivery.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    
+    /**
+     * Ids of the next {@code limit} orders after {@code cursor} in (orderDate DESC, id DESC)
+     * order. Only the supplied filters become predicates, so each variant can seek
+     * straight into its composite index.
+     */
+    List<Long> findOrderIdsPage(Long customerId, Long restaurantId, OrderStatus status,
+                                LocalDateTime from, LocalDateTime to, OrderCursor cursor, int limit);
+}
\ No newline at end of file
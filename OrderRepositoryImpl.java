@@ -0,0 +1,56 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.dto.OrderCursor;
+import com.example.fooddelivery.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Long> findOrderIdsPage(Long customerId, Long restaurantId, OrderStatus status,
+                                       LocalDateTime from, LocalDateTime to, OrderCursor cursor, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT o.id FROM Order o WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (customerId != null) {
+            jpql.append(" AND o.customer.id = :customerId");
+            parameters.put("customerId", customerId);
+        }
+        if (restaurantId != null) {
+            jpql.append(" AND o.restaurant.id = :restaurantId");
+            parameters.put("restaurantId", restaurantId);
+        }
+        if (status != null) {
+            jpql.append(" AND o.status = :status");
+            parameters.put("status", status);
+        }
+        if (from != null) {
+            jpql.append(" AND o.orderDate >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND o.orderDate < :to");
+            parameters.put("to", to);
+        }
+        if (cursor != null) {
+            jpql.append(" AND (o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId))");
+            parameters.put("cursorDate", cursor.getOrderDate());
+            parameters.put("cursorId", cursor.getId());
+        }
+        jpql.append(" ORDER BY o.orderDate DESC, o.id DESC");
+        
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.Customer;
+import com.example.fooddelivery.model.MenuItem;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderItem;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.Restaurant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that order writes stay batched: the number of statements for an order must not
+ * grow with its number of items.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.fooddelivery.repository.OrderRepositoryTest$StatementRecorder"
+})
+class OrderRepositoryTest {
+    
+    private static final int ITEMS = 20;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Customer customer;
+    private Restaurant restaurant;
+    private final List<MenuItem> menuItems = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(new Customer("Test Customer", "order-test@example.com", "secret",
+                "1 Test Street", "0700000000"));
+        restaurant = entityManager.persist(new Restaurant("Test Kitchen", "Test Town", "0711111111"));
+        for (int i = 0; i < ITEMS; i++) {
+            menuItems.add(entityManager.persist(new MenuItem("Dish " + i, "Test dish", Money.ofMinor(500 + i), 0.0, restaurant)));
+        }
+        entityManager.flush();
+        
+        // The pooled optimizer reads each sequence twice on first use, so that is kept out of the measurement
+        orderRepository.save(newOrder());
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void twentyItemOrderIsWrittenInTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        // Every few orders one of them also draws a new block of 50 ids from each sequence
+        for (int i = 0; i < 5; i++) {
+            statistics.clear();
+            StatementRecorder.STATEMENTS.clear();
+            
+            orderRepository.save(newOrder());
+            entityManager.flush();
+            entityManager.clear();
+            
+            List<String> writes = StatementRecorder.STATEMENTS.stream()
+                    .filter(sql -> !sql.startsWith("select next value for"))
+                    .toList();
+            long idFetches = StatementRecorder.STATEMENTS.size() - writes.size();
+            
+            // One INSERT into orders and one batched INSERT into order_items
+            assertEquals(ITEMS + 1, statistics.getEntityInsertCount());
+            assertEquals(2, writes.size(), () -> "Statements: " + writes);
+            assertTrue(writes.get(0).startsWith("insert into orders "));
+            assertTrue(writes.get(1).startsWith("insert into order_items "));
+            assertTrue(idFetches <= 2, () -> "Sequence fetches: " + idFetches);
+            assertEquals(StatementRecorder.STATEMENTS.size(), statistics.getPrepareStatementCount());
+        }
+    }
+    
+    private Order newOrder() {
+        Order order = new Order();
+        order.setCustomer(entityManager.getEntityManager().getReference(Customer.class, customer.getId()));
+        order.setRestaurant(entityManager.getEntityManager().getReference(Restaurant.class, restaurant.getId()));
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PLACED);
+        order.setDeliveryAddress(customer.getAddress());
+        
+        List<OrderItem> orderItems = new ArrayList<>(ITEMS);
+        long subtotal = 0;
+        for (MenuItem menuItem : menuItems) {
+            MenuItem reference = entityManager.getEntityManager().getReference(MenuItem.class, menuItem.getId());
+            orderItems.add(new OrderItem(order, reference, 1, menuItem.getPrice()));
+            subtotal += menuItem.getPrice().getMinorUnits();
+        }
+        order.setOrderItems(orderItems);
+        order.setTotals(Money.ofMinor(subtotal), Money.ZERO, ITEMS);
+        return order;
+    }
+    
+    // Sees each prepared statement once, so a JDBC batch is recorded as a single statement
+    public static class StatementRecorder implements StatementInspector {
+        
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of one order, as the full entity graph (still reachable through
+ * {@code Payment.order}) and as the {@link OrderDetailDTO} the order endpoints return.
+ * The mapper is configured the way Spring Boot builds the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderSerializationBenchmark {
+    
+    @Param({"3", "10"})
+    private int lineCount;
+    
+    private ObjectMapper objectMapper;
+    private OrderService orderService;
+    private Order order;
+    private OrderDetailDTO orderDetail;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        order = OrderFixtures.order(1, lineCount);
+        
+        // convertToDetailDTO touches none of the repositories
+        orderService = ServiceFixtures.orderService();
+        orderDetail = orderService.convertToDetailDTO(order);
+    }
+    
+    @Benchmark
+    public byte[] serializeEntityGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+    
+    @Benchmark
+    public byte[] serializeDetailDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDetail);
+    }
+    
+    @Benchmark
+    public OrderDetailDTO convertToDetailDTO() {
+        return orderService.convertToDetailDTO(order);
+    }
+}
\ No newline at end of file
@@ -1,56 +1,88 @@
 package com.example.fooddelivery.service;
 
+import com.example.fooddelivery.dto.CursorPage;
+import com.example.fooddelivery.dto.OrderCursor;
+import com.example.fooddelivery.dto.OrderDetailDTO;
 import com.example.fooddelivery.dto.OrderRequest;
-import com.example.fooddelivery.dto.OrderItemRequest;  // Add this import
+import com.example.fooddelivery.dto.OrderStatusUpdate;
+import com.example.fooddelivery.dto.OrderStatusUpdateResult;
+import com.example.fooddelivery.dto.OrderStatusUpdateResult.Outcome;
+import com.example.fooddelivery.dto.OrderSummaryDTO;
+import com.example.fooddelivery.dto.OrderItemRequest;
+import com.example.fooddelivery.dto.RestaurantTicketDTO;
 import com.example.fooddelivery.exception.ResourceNotFoundException;
 import com.example.fooddelivery.model.*;
 import com.example.fooddelivery.repository.*;
+import com.example.fooddelivery.event.OrderPlacedEvent;
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_STATUS_UPDATES = 500;
+    
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final PlatformStatsService platformStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderArchiveStore orderArchiveStore;
     
     @Autowired
     public OrderService(OrderRepository orderRepository,
                        CustomerRepository customerRepository,
                        RestaurantRepository restaurantRepository,
                        MenuItemRepository menuItemRepository,
-                       OrderItemRepository orderItemRepository) {
+                       PlatformStatsService platformStatsService,
+                       ApplicationEventPublisher eventPublisher,
+                       OrderArchiveStore orderArchiveStore) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.restaurantRepository = restaurantRepository;
         this.menuItemRepository = menuItemRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.platformStatsService = platformStatsService;
+        this.eventPublisher = eventPublisher;
+        this.orderArchiveStore = orderArchiveStore;
     }
     
+    /**
+     * Places an order in a fixed number of statements regardless of item count:
+     * the request is validated up front, all menu items are resolved in a single
+     * lookup scoped to the restaurant, priced in memory, and the order is persisted
+     * together with its items through the cascade on {@link Order#getOrderItems()}.
+     * The totals are computed here once and stored on the order row.
+     */
     @Transactional
-    public Order createOrder(OrderRequest orderRequest, String customerEmail) {
-        System.out.println("=== CREATE ORDER START ===");
-        System.out.println("Customer Email: " + customerEmail);
-        System.out.println("Restaurant ID: " + orderRequest.getRestaurantId());
-        System.out.println("Number of items: " + orderRequest.getItems().size());
+    public OrderDetailDTO createOrder(OrderRequest orderRequest, String customerEmail) {
+        Map<Long, Integer> quantities = validateOrderRequest(orderRequest);
         
         Customer customer = customerRepository.findByEmail(customerEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with email: " + customerEmail));
         
-        System.out.println("Customer found: " + customer.getName());
-        
         Restaurant restaurant = restaurantRepository.findById(orderRequest.getRestaurantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + orderRequest.getRestaurantId()));
         
-        System.out.println("Restaurant found: " + restaurant.getName());
+        Map<Long, MenuItem> menuItems = resolveMenuItems(quantities.keySet(), restaurant.getId());
         
         Order order = new Order();
         order.setCustomer(customer);
@@ -59,15 +91,49 @@ public class OrderService {
         order.setStatus(OrderStatus.PLACED);
         order.setDeliveryAddress(customer.getAddress());
         
+        // Exact arithmetic on minor units; the only allocations are the line items themselves
+        List<OrderItem> orderItems = new ArrayList<>(quantities.size());
+        long subtotal = 0;
+        long total = 0;
+        int itemCount = 0;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            MenuItem menuItem = menuItems.get(line.getKey());
+            int quantity = line.getValue();
+            long unitPrice = menuItem.getDiscountedPriceMinor();
+            orderItems.add(new OrderItem(order, menuItem, quantity, Money.ofMinor(unitPrice)));
+            
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(menuItem.getPrice().getMinorUnits(), quantity));
+            total = Math.addExact(total, Math.multiplyExact(unitPrice, quantity));
+            itemCount += quantity;
+        }
+        order.setOrderItems(orderItems);
+        order.setTotals(Money.ofMinor(subtotal), Money.ofMinor(subtotal - total), itemCount);
+        
         Order savedOrder = orderRepository.save(order);
-        System.out.println("Order saved with ID: " + savedOrder.getId());
+        platformStatsService.recordOrderPlaced(savedOrder.getTotalAmount());
+        eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder.getId(), customer.getId(),
+                restaurant.getId(), savedOrder.getTotalAmount(), itemCount, savedOrder.getOrderDate()));
+        return convertToDetailDTO(savedOrder);
+    }
+    
+    /**
+     * Rejects malformed requests before any database work and folds repeated
+     * menu items into a single line, keeping the order in which they were requested.
+     */
+    private Map<Long, Integer> validateOrderRequest(OrderRequest orderRequest) {
+        if (orderRequest.getRestaurantId() == null) {
+            throw new IllegalArgumentException("Restaurant ID is required");
+        }
         
-        List<OrderItem> orderItems = new ArrayList<>();
+        if (orderRequest.getItems() == null || orderRequest.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
         
-        for (OrderItemRequest itemRequest : orderRequest.getItems()) {  // Changed from OrderRequest.OrderItemRequest
-            System.out.println("--- Processing Item ---");
-            System.out.println("Menu Item ID: " + itemRequest.getMenuItemId());
-            System.out.println("Quantity from request: " + itemRequest.getQuantity());
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest itemRequest : orderRequest.getItems()) {
+            if (itemRequest.getMenuItemId() == null) {
+                throw new IllegalArgumentException("Menu item ID is required for every order item");
+            }
             
             if (itemRequest.getQuantity() == null) {
                 throw new IllegalArgumentException("Quantity cannot be null for menu item: " + itemRequest.getMenuItemId());
@@ -77,40 +143,26 @@ public class OrderService {
                 throw new IllegalArgumentException("Quantity must be positive for menu item: " + itemRequest.getMenuItemId());
             }
             
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + itemRequest.getMenuItemId()));
-            
-            System.out.println("Menu Item found: " + menuItem.getName());
-            System.out.println("Menu Item price: " + menuItem.getPrice());
-            
-            double unitPrice = menuItem.getPrice();
-            if (menuItem.getDiscountPercentage() != null && menuItem.getDiscountPercentage() > 0) {
-                unitPrice = unitPrice * (1 - menuItem.getDiscountPercentage() / 100);
-                System.out.println("Discounted price: " + unitPrice);
-            }
-            
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(savedOrder);
-            orderItem.setMenuItem(menuItem);
-            orderItem.setQuantity(itemRequest.getQuantity());
-            orderItem.setUnitPrice(unitPrice);
-            
-            System.out.println("OrderItem created:");
-            System.out.println("  - Quantity: " + orderItem.getQuantity());
-            System.out.println("  - Unit Price: " + orderItem.getUnitPrice());
-            
-            orderItems.add(orderItem);
+            quantities.merge(itemRequest.getMenuItemId(), itemRequest.getQuantity(), Integer::sum);
         }
         
-        System.out.println("Total order items to save: " + orderItems.size());
-        
-        List<OrderItem> savedOrderItems = orderItemRepository.saveAll(orderItems);
-        System.out.println("Order items saved: " + savedOrderItems.size());
+        return quantities;
+    }
+    
+    private Map<Long, MenuItem> resolveMenuItems(Collection<Long> menuItemIds, Long restaurantId) {
+        Map<Long, MenuItem> menuItems = new HashMap<>();
+        for (MenuItem menuItem : menuItemRepository.findAllByIdInAndRestaurantId(menuItemIds, restaurantId)) {
+            menuItems.put(menuItem.getId(), menuItem);
+        }
         
-        savedOrder.setOrderItems(savedOrderItems);
+        if (menuItems.size() != menuItemIds.size()) {
+            List<Long> missing = menuItemIds.stream()
+                    .filter(id -> !menuItems.containsKey(id))
+                    .collect(Collectors.toList());
+            throw new ResourceNotFoundException("Menu items not found for restaurant " + restaurantId + ": " + missing);
+        }
         
-        System.out.println("=== CREATE ORDER END ===");
-        return savedOrder;
+        return menuItems;
     }
     
     @Transactional(readOnly = true)
@@ -119,30 +171,246 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
     
+    /**
+     * Loads the order with its customer, restaurant, items and payment in one fetch-join query,
+     * falling back to the archive for orders already moved out of the hot tables.
+     */
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByCustomer(String customerEmail) {
-        Customer customer = customerRepository.findByEmail(customerEmail)
+    public OrderDetailDTO getOrderDetail(Long id) {
+        return orderRepository.findDetailById(id)
+                .map(this::convertToDetailDTO)
+                .or(() -> orderArchiveStore.find(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummaryDTO> getOrdersByCustomer(String customerEmail, OrderStatus status,
+                                                          LocalDateTime from, LocalDateTime to,
+                                                          String cursor, Integer limit) {
+        Long customerId = customerRepository.findIdByEmail(customerEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with email: " + customerEmail));
-        return orderRepository.findByCustomer(customer);
+        return findOrderPage(customerId, null, status, from, to, cursor, limit,
+                orderRepository::findSummariesByIdIn,
+                summary -> new OrderCursor(summary.getOrderDate(), summary.getId()));
     }
     
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByRestaurant(Long restaurantId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + restaurantId));
-        return orderRepository.findByRestaurant(restaurant);
+    public CursorPage<RestaurantTicketDTO> getRestaurantTickets(Long restaurantId, OrderStatus status,
+                                                               LocalDateTime from, LocalDateTime to,
+                                                               String cursor, Integer limit) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        return findOrderPage(null, restaurantId, status, from, to, cursor, limit,
+                ids -> orderRepository.findTicketsByIdIn(ids).stream()
+                        .map(this::convertToTicketDTO)
+                        .collect(Collectors.toList()),
+                ticket -> new OrderCursor(ticket.getOrderDate(), ticket.getOrderId()));
     }
     
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public CursorPage<OrderSummaryDTO> getAllOrders(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                                    String cursor, Integer limit) {
+        return findOrderPage(null, null, status, from, to, cursor, limit,
+                orderRepository::findSummariesByIdIn,
+                summary -> new OrderCursor(summary.getOrderDate(), summary.getId()));
+    }
+    
+    /**
+     * Keyset page over (orderDate, id): fetches one extra id to learn whether another page
+     * exists, then loads the read model for just this page. The loader must keep the
+     * (orderDate, id) descending order so the last row yields the next cursor.
+     */
+    private <T> CursorPage<T> findOrderPage(Long customerId, Long restaurantId, OrderStatus status,
+                                            LocalDateTime from, LocalDateTime to,
+                                            String cursor, Integer limit,
+                                            Function<List<Long>, List<T>> loader,
+                                            Function<T, OrderCursor> cursorOf) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        
+        List<Long> ids = orderRepository.findOrderIdsPage(customerId, restaurantId, status, from, to,
+                OrderCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        
+        if (ids.isEmpty()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+        
+        List<T> rows = loader.apply(ids);
+        String nextCursor = hasMore ? cursorOf.apply(rows.get(rows.size() - 1)).encode() : null;
+        return new CursorPage<>(rows, nextCursor, hasMore);
     }
     
+    // A one-entry updateOrderStatuses, so single and bulk changes share the same guarded UPDATE
     @Transactional
-    public Order updateOrderStatus(Long orderId, OrderStatus status) {
-        Order order = getOrderById(orderId);
-        order.setStatus(status);
-        return orderRepository.save(order);
+    public OrderDetailDTO updateOrderStatus(Long orderId, OrderStatus status) {
+        Long restaurantId = getRestaurantIdForOrder(orderId);
+        OrderStatusUpdateResult result = updateOrderStatuses(restaurantId,
+                List.of(new OrderStatusUpdate(orderId, status))).get(0);
+        switch (result.getOutcome()) {
+            case NOT_FOUND -> throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            case INVALID_TRANSITION -> throw new IllegalStateException(result.getMessage());
+            case CONFLICT -> throw new ObjectOptimisticLockingFailureException(Order.class, orderId);
+            default -> { }
+        }
+        Order order = orderRepository.findDetailById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        return convertToDetailDTO(order);
+    }
+    
+    @Transactional(readOnly = true)
+    public Long getRestaurantIdForOrder(Long orderId) {
+        return orderRepository.findRestaurantIdById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+    
+    /**
+     * Applies many kitchen status changes in one transaction. Current state is read in one
+     * query, each entry is checked against {@link OrderStatus#canTransitionTo}, and the
+     * valid ones are written with one guarded UPDATE per (from, to, version) group, so
+     * orders changed concurrently since the read are reported as conflicts, not overwritten.
+     */
+    @Transactional
+    public List<OrderStatusUpdateResult> updateOrderStatuses(Long restaurantId, List<OrderStatusUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("At least one status update is required");
+        }
+        if (updates.size() > MAX_STATUS_UPDATES) {
+            throw new IllegalArgumentException("At most " + MAX_STATUS_UPDATES + " status updates are allowed per request");
+        }
+        
+        Map<Long, Object[]> current = new HashMap<>();
+        List<Long> ids = updates.stream()
+                .map(OrderStatusUpdate::getOrderId)
+                .filter(id -> id != null)
+                .distinct()
+                .collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            for (Object[] row : orderRepository.findStatusVersionsByIdIn(ids)) {
+                current.put((Long) row[0], row);
+            }
+        }
+        
+        List<OrderStatusUpdateResult> results = new ArrayList<>(updates.size());
+        Map<String, TransitionBatch> batches = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (OrderStatusUpdate update : updates) {
+            Long orderId = update.getOrderId();
+            OrderStatus target = update.getStatus();
+            if (orderId == null || target == null) {
+                results.add(new OrderStatusUpdateResult(orderId, null, target, Outcome.INVALID_TRANSITION,
+                        "orderId and status are required"));
+                continue;
+            }
+            if (!seen.add(orderId)) {
+                results.add(new OrderStatusUpdateResult(orderId, null, target, Outcome.DUPLICATE,
+                        "Order appears more than once in this request"));
+                continue;
+            }
+            
+            Object[] row = current.get(orderId);
+            if (row == null || !restaurantId.equals(row[1])) {
+                results.add(new OrderStatusUpdateResult(orderId, null, target, Outcome.NOT_FOUND,
+                        "Order not found for restaurant " + restaurantId));
+                continue;
+            }
+            
+            OrderStatus status = (OrderStatus) row[2];
+            Long version = (Long) row[3];
+            if (status == target) {
+                results.add(new OrderStatusUpdateResult(orderId, status, status, Outcome.UNCHANGED, null));
+            } else if (!status.canTransitionTo(target)) {
+                results.add(new OrderStatusUpdateResult(orderId, status, status, Outcome.INVALID_TRANSITION,
+                        "Cannot move order from " + status + " to " + target));
+            } else {
+                OrderStatusUpdateResult result = new OrderStatusUpdateResult(orderId, status, target, Outcome.APPLIED, null);
+                results.add(result);
+                batches.computeIfAbsent(status + ">" + target + "@" + version,
+                        key -> new TransitionBatch(status, target, version)).results.add(result);
+            }
+        }
+        
+        for (TransitionBatch batch : batches.values()) {
+            applyTransition(restaurantId, batch);
+        }
+        return results;
+    }
+    
+    private void applyTransition(Long restaurantId, TransitionBatch batch) {
+        List<Long> batchIds = batch.results.stream()
+                .map(OrderStatusUpdateResult::getOrderId)
+                .collect(Collectors.toList());
+        int updated = orderRepository.transitionStatus(batchIds, batch.from, batch.to, batch.version);
+        
+        // Only when some rows moved underneath us do we need to find out which ones
+        Set<Long> applied = updated == batchIds.size()
+                ? new HashSet<>(batchIds)
+                : new HashSet<>(orderRepository.findIdsByStatusAndVersion(batchIds, batch.to, batch.version + 1));
+        platformStatsService.recordOrderStatusChange(batch.from, batch.to, applied.size());
+        
+        for (OrderStatusUpdateResult result : batch.results) {
+            if (applied.contains(result.getOrderId())) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        result.getOrderId(), restaurantId, batch.from, batch.to));
+            } else {
+                result.setStatus(batch.from);
+                result.setOutcome(Outcome.CONFLICT);
+                result.setMessage("Order was changed by another request; reload it and retry");
+            }
+        }
+    }
+    
+    // Orders sharing a current status, target status and version, updated with one statement
+    private static final class TransitionBatch {
+        
+        private final OrderStatus from;
+        private final OrderStatus to;
+        private final Long version;
+        private final List<OrderStatusUpdateResult> results = new ArrayList<>();
+        
+        TransitionBatch(OrderStatus from, OrderStatus to, Long version) {
+            this.from = from;
+            this.to = to;
+            this.version = version;
+        }
+    }
+    
+    /**
+     * Cancels those of the given orders that are still PLACED and unpaid (no payment, or only
+     * a failed non-COD one), using the same guarded per-version updates as
+     * {@link #updateOrderStatuses}. Returns the ids that were cancelled.
+     */
+    @Transactional
+    public List<Long> cancelUnpaidOrders(Collection<Long> orderIds) {
+        // Rows of [id, restaurant id, version], grouped by version
+        Map<Long, List<Object[]>> byVersion = orderRepository.findUnpaidPlacedRowsByIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[2]));
+        
+        List<Long> cancelled = new ArrayList<>();
+        for (Map.Entry<Long, List<Object[]>> group : byVersion.entrySet()) {
+            Long version = group.getKey();
+            List<Long> ids = group.getValue().stream()
+                    .map(row -> (Long) row[0])
+                    .collect(Collectors.toList());
+            int updated = orderRepository.cancelUnpaid(ids, version);
+            Set<Long> applied = updated == ids.size()
+                    ? new HashSet<>(ids)
+                    : new HashSet<>(orderRepository.findIdsByStatusAndVersion(ids, OrderStatus.CANCELLED, version + 1));
+            platformStatsService.recordOrderStatusChange(OrderStatus.PLACED, OrderStatus.CANCELLED, applied.size());
+            
+            for (Object[] row : group.getValue()) {
+                Long orderId = (Long) row[0];
+                if (applied.contains(orderId)) {
+                    cancelled.add(orderId);
+                    eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                            orderId, (Long) row[1], OrderStatus.PLACED, OrderStatus.CANCELLED));
+                }
+            }
+        }
+        return cancelled;
     }
     
     @Transactional
@@ -153,7 +421,75 @@ public class OrderService {
             throw new IllegalStateException("Cannot cancel order that is already en route or delivered");
         }
         
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        
+        if (previousStatus != OrderStatus.CANCELLED) {
+            platformStatsService.recordOrderStatusChange(previousStatus, OrderStatus.CANCELLED, 1);
+            publishStatusChange(order, previousStatus);
+        }
+    }
+    
+    // Listeners (e.g. tracking streams) receive this only after the transaction commits
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getRestaurant().getId(), previousStatus, order.getStatus()));
+    }
+    
+    // Callers must have fetched customer, restaurant, items with their menu items, and payment
+    OrderDetailDTO convertToDetailDTO(Order order) {
+        Customer customer = order.getCustomer();
+        Restaurant restaurant = order.getRestaurant();
+        
+        List<OrderDetailDTO.LineItem> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            MenuItem menuItem = item.getMenuItem();
+            lines.add(new OrderDetailDTO.LineItem(
+                    item.getId(),
+                    menuItem.getId(),
+                    new OrderDetailDTO.MenuItemInfo(menuItem.getId(), menuItem.getName(), menuItem.getDescription()),
+                    item.getQuantity(),
+                    item.getUnitPrice(),
+                    item.getLineTotal()));
+        }
+        
+        Payment payment = order.getPayment();
+        OrderDetailDTO.PaymentInfo paymentInfo = payment == null ? null : new OrderDetailDTO.PaymentInfo(
+                payment.getId(), payment.getPaymentMethod(), payment.getPaymentStatus(),
+                payment.getAmount(), payment.getPaymentDate());
+        
+        return new OrderDetailDTO(
+                order.getId(),
+                order.getOrderDate(),
+                order.getStatus(),
+                order.getDeliveryAddress(),
+                order.getSubtotal(),
+                order.getDiscountTotal(),
+                order.getTotalAmount(),
+                new OrderDetailDTO.CustomerInfo(customer.getId(), customer.getName(), customer.getEmail()),
+                new OrderDetailDTO.RestaurantInfo(restaurant.getId(), restaurant.getName(), restaurant.getLocation()),
+                lines,
+                paymentInfo);
+    }
+    
+    private RestaurantTicketDTO convertToTicketDTO(Order order) {
+        List<RestaurantTicketDTO.TicketLine> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            lines.add(new RestaurantTicketDTO.TicketLine(
+                    item.getMenuItem().getId(), item.getMenuItem().getName(), item.getQuantity()));
+        }
+        
+        Payment payment = order.getPayment();
+        return new RestaurantTicketDTO(
+                order.getId(),
+                order.getOrderDate(),
+                order.getStatus(),
+                order.getCustomer().getName(),
+                order.getDeliveryAddress(),
+                order.getItemCount().longValue(),
+                lines,
+                payment == null ? null : payment.getPaymentMethod(),
+                payment == null ? null : payment.getPaymentStatus());
     }
 }
\ No newline at end of file
@@ -1,9 +1,29 @@
 package com.example.fooddelivery.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PLACED,
     PREPARING,
     EN_ROUTE,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+    
+    // Forward-only lifecycle; an order can be cancelled until it leaves the restaurant
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    
+    static {
+        TRANSITIONS.put(PLACED, EnumSet.of(PREPARING, CANCELLED));
+        TRANSITIONS.put(PREPARING, EnumSet.of(EN_ROUTE, CANCELLED));
+        TRANSITIONS.put(EN_ROUTE, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+    
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.fooddelivery.event;
+
+import com.example.fooddelivery.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+public class OrderStatusChangedEvent {
+    
+    private final Long orderId;
+    private final Long restaurantId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final LocalDateTime changedAt;
+    
+    public OrderStatusChangedEvent(Long orderId, Long restaurantId, OrderStatus previousStatus, OrderStatus status) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public boolean isTerminal() {
+        return status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED;
+    }
+}
\ No newline at end of file
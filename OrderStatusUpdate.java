@@ -0,0 +1,35 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.OrderStatus;
+
+public class OrderStatusUpdate {
+    
+    private Long orderId;
+    private OrderStatus status;
+    
+    // Constructors
+    public OrderStatusUpdate() {
+    }
+    
+    public OrderStatusUpdate(Long orderId, OrderStatus status) {
+        this.orderId = orderId;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
\ No newline at end of file
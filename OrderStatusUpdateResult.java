@@ -0,0 +1,78 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.OrderStatus;
+
+/**
+ * Outcome of one entry of a bulk status update, reported in request order.
+ */
+public class OrderStatusUpdateResult {
+    
+    public enum Outcome {
+        APPLIED,
+        UNCHANGED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        CONFLICT,
+        DUPLICATE
+    }
+    
+    private Long orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private Outcome outcome;
+    private String message;
+    
+    // Constructors
+    public OrderStatusUpdateResult() {
+    }
+    
+    public OrderStatusUpdateResult(Long orderId, OrderStatus previousStatus, OrderStatus status,
+                                   Outcome outcome, String message) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.outcome = outcome;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public Outcome getOutcome() {
+        return outcome;
+    }
+    
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
\ No newline at end of file
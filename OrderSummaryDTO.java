@@ -0,0 +1,109 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+public class OrderSummaryDTO {
+    private Long id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private Long customerId;
+    private String customerName;
+    private Long restaurantId;
+    private String restaurantName;
+    private Long itemCount;
+    private Money totalAmount;
+    
+    // Constructors
+    public OrderSummaryDTO() {
+    }
+    
+    public OrderSummaryDTO(Long id, LocalDateTime orderDate, OrderStatus status, Long customerId,
+                           String customerName, Long restaurantId, String restaurantName,
+                           Long itemCount, Money totalAmount) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.restaurantId = restaurantId;
+        this.restaurantName = restaurantName;
+        this.itemCount = itemCount;
+        this.totalAmount = totalAmount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+    
+    public void setRestaurantName(String restaurantName) {
+        this.restaurantName = restaurantName;
+    }
+    
+    public Long getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(Money totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
\ No newline at end of file
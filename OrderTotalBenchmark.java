@@ -0,0 +1,64 @@
+package com.example.fooddelivery.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the stored {@link Order#getTotalAmount()} against recomputing it from the items,
+ * per order and summed across a list of orders as the admin dashboard once did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+    
+    @Param({"1", "5", "20"})
+    private int lineCount;
+    
+    @Param({"1000"})
+    private int orderCount;
+    
+    private Order order;
+    private List<Order> orders;
+    
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(1, lineCount);
+        orders = OrderFixtures.orders(orderCount, lineCount);
+    }
+    
+    @Benchmark
+    public Money orderTotal() {
+        return order.getTotalAmount();
+    }
+    
+    @Benchmark
+    public long orderTotalFromItems() {
+        return totalFromItems(order);
+    }
+    
+    @Benchmark
+    public long revenueAcrossOrders() {
+        return orders.stream()
+                .mapToLong(o -> o.getTotalAmount().getMinorUnits())
+                .sum();
+    }
+    
+    @Benchmark
+    public long revenueAcrossOrdersFromItems() {
+        return orders.stream()
+                .mapToLong(OrderTotalBenchmark::totalFromItems)
+                .sum();
+    }
+    
+    private static long totalFromItems(Order order) {
+        return order.getOrderItems().stream()
+                .mapToLong(item -> item.getUnitPrice().getMinorUnits() * item.getQuantity())
+                .sum();
+    }
+}
\ No newline at end of file
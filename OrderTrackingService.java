@@ -0,0 +1,162 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
+import com.example.fooddelivery.exception.ResourceNotFoundException;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process registry of Server-Sent Events subscribers for order tracking.
+ * Emitters are parked on the servlet container's async support, so open
+ * connections cost memory only; a thread is borrowed just while an event is written.
+ * Each order's snapshot, events and heartbeats go through one serial queue, and a
+ * subscriber is only sent statuses further along than the last one it got.
+ */
+@Service
+public class OrderTrackingService {
+    
+    private final OrderRepository orderRepository;
+    private final ExecutorService trackingExecutor;
+    
+    private final Map<Long, OrderStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    
+    @Value("${tracking.sse.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    @Autowired
+    public OrderTrackingService(OrderRepository orderRepository,
+                                @Qualifier("trackingExecutor") ExecutorService trackingExecutor) {
+        this.orderRepository = orderRepository;
+        this.trackingExecutor = trackingExecutor;
+    }
+    
+    public SseEmitter subscribe(Long orderId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMs));
+        
+        // Register before reading the status so a change committed in between is not missed
+        OrderStream stream = streams.compute(orderId, (id, existing) -> {
+            OrderStream registered = existing != null ? existing : new OrderStream(trackingExecutor);
+            registered.subscribers.add(subscriber);
+            return registered;
+        });
+        openConnections.incrementAndGet();
+        
+        Runnable cleanup = () -> unsubscribe(orderId, subscriber);
+        subscriber.emitter.onCompletion(cleanup);
+        subscriber.emitter.onTimeout(cleanup);
+        subscriber.emitter.onError(error -> cleanup.run());
+        
+        OrderStatus currentStatus = orderRepository.findStatusById(orderId).orElse(null);
+        if (currentStatus == null) {
+            unsubscribe(orderId, subscriber);
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        
+        // Queued behind any event already on its way; whichever of the two is older is dropped
+        OrderStatusChangedEvent snapshot = new OrderStatusChangedEvent(orderId, null, currentStatus, currentStatus);
+        stream.delivery.execute(() -> deliver(orderId, subscriber, snapshot));
+        return subscriber.emitter;
+    }
+    
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderStream stream = streams.get(event.getOrderId());
+        if (stream == null || stream.subscribers.isEmpty()) {
+            return;
+        }
+        
+        // Fan out off the committing thread so slow clients never delay a status update
+        stream.delivery.execute(() -> {
+            for (Subscriber subscriber : stream.subscribers) {
+                deliver(event.getOrderId(), subscriber, event);
+            }
+        });
+    }
+    
+    // Keeps intermediaries from closing idle streams and flushes out dead connections
+    @Scheduled(fixedDelayString = "${tracking.sse.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        streams.forEach((orderId, stream) -> stream.delivery.execute(() -> {
+            for (Subscriber subscriber : stream.subscribers) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(orderId, subscriber);
+                }
+            }
+        }));
+    }
+    
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+    
+    // Runs on the order's delivery queue; statuses follow the enum's lifecycle order
+    private void deliver(Long orderId, Subscriber subscriber, OrderStatusChangedEvent event) {
+        if (subscriber.lastSent != null && event.getStatus().compareTo(subscriber.lastSent) <= 0) {
+            return;
+        }
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .name("status")
+                    .id(orderId + "-" + event.getStatus())
+                    .data(event));
+            subscriber.lastSent = event.getStatus();
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(orderId, subscriber);
+            return;
+        }
+        
+        // Finished orders get their final state and nothing else to wait for
+        if (event.isTerminal()) {
+            unsubscribe(orderId, subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+    
+    private void unsubscribe(Long orderId, Subscriber subscriber) {
+        streams.computeIfPresent(orderId, (id, stream) -> {
+            if (stream.subscribers.remove(subscriber)) {
+                openConnections.decrementAndGet();
+            }
+            return stream.subscribers.isEmpty() ? null : stream;
+        });
+    }
+    
+    // The subscribers of one order and the queue their events are written from
+    private static final class OrderStream {
+        
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final SerialExecutor delivery;
+        
+        OrderStream(ExecutorService executor) {
+            this.delivery = new SerialExecutor(executor);
+        }
+    }
+    
+    // Only touched from its order's delivery queue once subscribed
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private OrderStatus lastSent;
+        
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
\ No newline at end of file
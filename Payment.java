@@ -6,20 +6,23 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_resolved_at", columnList = "resolved_at")
+})
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id")
+    @JoinColumn(name = "order_id", unique = true)
     @JsonIgnoreProperties({"payment", "orderItems", "hibernateLazyInitializer", "handler"})
     private Order order;
     
     @NotNull(message = "Amount is required")
-    private Double amount;
+    private Money amount;
     
     @Enumerated(EnumType.STRING)
     private PaymentMethod paymentMethod;
@@ -29,11 +32,14 @@ public class Payment {
     
     private LocalDateTime paymentDate;
     
+    // When the payment reached SUCCESS or FAILED; paymentDate stays the time it was recorded
+    private LocalDateTime resolvedAt;
+    
     // Constructors
     public Payment() {
     }
     
-    public Payment(Order order, Double amount, PaymentMethod paymentMethod, PaymentStatus paymentStatus, LocalDateTime paymentDate) {
+    public Payment(Order order, Money amount, PaymentMethod paymentMethod, PaymentStatus paymentStatus, LocalDateTime paymentDate) {
         this.order = order;
         this.amount = amount;
         this.paymentMethod = paymentMethod;
@@ -57,11 +63,11 @@ public void setOrder(Order order) {
     this.order = order;
 }
 
-public Double getAmount() {
+public Money getAmount() {
     return amount;
 }
 
-public void setAmount(Double amount) {
+public void setAmount(Money amount) {
     this.amount = amount;
 }
 
@@ -89,4 +95,12 @@ public void setPaymentDate(LocalDateTime paymentDate) {
     this.paymentDate = paymentDate;
 }
 
+public LocalDateTime getResolvedAt() {
+    return resolvedAt;
+}
+
+public void setResolvedAt(LocalDateTime resolvedAt) {
+    this.resolvedAt = resolvedAt;
+}
+
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.exception.PaymentGatewayUnavailableException;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Isolates gateway calls per payment method. Each method has its own bulkhead, a bounded
+ * number of concurrent calls with a bounded queue of callers waiting at most
+ * {@code max-wait-ms} for a slot, and its own {@link CircuitBreaker}, which counts errors
+ * and slow calls as failures (a declined payment is an answer, not a failure). A slow or
+ * failing card gateway therefore cannot use up the slots or trip the circuit of M-Pesa or
+ * cash on delivery.
+ */
+@Service
+public class PaymentGatewayGuard {
+    
+    private static final Logger log = LoggerFactory.getLogger(PaymentGatewayGuard.class);
+    
+    private final MockPaymentService mockPaymentService;
+    private final Map<PaymentMethod, Compartment> compartments = new EnumMap<>(PaymentMethod.class);
+    private final int queueLimit;
+    private final long maxWaitMs;
+    private final long slowCallNanos;
+    
+    @Autowired
+    public PaymentGatewayGuard(MockPaymentService mockPaymentService,
+                               @Value("${payment.gateway.bulkhead.max-concurrent:50}") int maxConcurrent,
+                               @Value("${payment.gateway.bulkhead.queue-limit:100}") int queueLimit,
+                               @Value("${payment.gateway.bulkhead.max-wait-ms:2000}") long maxWaitMs,
+                               @Value("${payment.gateway.breaker.window-size:20}") int windowSize,
+                               @Value("${payment.gateway.breaker.minimum-calls:10}") int minimumCalls,
+                               @Value("${payment.gateway.breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                               @Value("${payment.gateway.breaker.slow-call-ms:5000}") long slowCallMs,
+                               @Value("${payment.gateway.breaker.open-ms:30000}") long openMs,
+                               @Value("${payment.gateway.breaker.half-open-probes:3}") int halfOpenProbes) {
+        this.mockPaymentService = mockPaymentService;
+        this.queueLimit = queueLimit;
+        this.maxWaitMs = maxWaitMs;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        for (PaymentMethod method : PaymentMethod.values()) {
+            compartments.put(method, new Compartment(maxConcurrent,
+                    new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openMs, halfOpenProbes)));
+        }
+    }
+    
+    /**
+     * Blocking gateway call through the method's bulkhead and circuit breaker.
+     *
+     * @throws PaymentGatewayUnavailableException when the call is refused without reaching the gateway
+     */
+    public PaymentStatus processPayment(PaymentMethod paymentMethod, Money amount) {
+        Compartment compartment = compartments.get(paymentMethod);
+        long permission = compartment.enter(paymentMethod);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            PaymentStatus paymentStatus = mockPaymentService.processPayment(paymentMethod, amount);
+            failed = System.nanoTime() - start > slowCallNanos;
+            return paymentStatus;
+        } finally {
+            compartment.exit(paymentMethod, permission, failed);
+        }
+    }
+    
+    /**
+     * Like {@link #processPayment}, but the slot is held until the gateway's answer arrives
+     * rather than until this method returns. Waiting for a slot still blocks the caller.
+     */
+    public CompletableFuture<PaymentStatus> submitPayment(PaymentMethod paymentMethod, Money amount) {
+        Compartment compartment = compartments.get(paymentMethod);
+        long permission = compartment.enter(paymentMethod);
+        long start = System.nanoTime();
+        CompletableFuture<PaymentStatus> answer;
+        try {
+            answer = mockPaymentService.submitPayment(paymentMethod, amount);
+        } catch (RuntimeException e) {
+            compartment.exit(paymentMethod, permission, true);
+            throw e;
+        }
+        return answer.whenComplete((paymentStatus, error) -> {
+            boolean failed = error != null || System.nanoTime() - start > slowCallNanos;
+            compartment.exit(paymentMethod, permission, failed);
+        });
+    }
+    
+    /**
+     * Queries the final state of a payment through the same bulkhead and circuit breaker
+     * as payment calls.
+     */
+    public PaymentStatus queryPaymentStatus(PaymentMethod paymentMethod, Long paymentId) {
+        Compartment compartment = compartments.get(paymentMethod);
+        long permission = compartment.enter(paymentMethod);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            PaymentStatus paymentStatus = mockPaymentService.queryPaymentStatus(paymentMethod, paymentId);
+            failed = System.nanoTime() - start > slowCallNanos;
+            return paymentStatus;
+        } finally {
+            compartment.exit(paymentMethod, permission, failed);
+        }
+    }
+    
+    // Fails fast while the method's circuit refuses calls, before anything is recorded for the
+    // payment; once openMs has passed the payment goes through and its gateway call is the probe
+    public void checkAvailable(PaymentMethod paymentMethod) {
+        Compartment compartment = compartments.get(paymentMethod);
+        if (!compartment.breaker.isCallPermitted()) {
+            compartment.rejectedOpen.increment();
+            throw circuitOpen(paymentMethod);
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        compartments.forEach((method, compartment) -> stats.put(method.name(), compartment.snapshot()));
+        return stats;
+    }
+    
+    private static PaymentGatewayUnavailableException circuitOpen(PaymentMethod paymentMethod) {
+        return new PaymentGatewayUnavailableException(
+                "Payments by " + paymentMethod + " are temporarily unavailable, please try again later");
+    }
+    
+    private static PaymentGatewayUnavailableException bulkheadFull(PaymentMethod paymentMethod) {
+        return new PaymentGatewayUnavailableException(
+                "Too many " + paymentMethod + " payments in progress, please try again later");
+    }
+    
+    private final class Compartment {
+        
+        private final int maxConcurrent;
+        private final Semaphore slots;
+        private final CircuitBreaker breaker;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final LongAdder rejectedOpen = new LongAdder();
+        private final LongAdder rejectedQueueFull = new LongAdder();
+        private final LongAdder rejectedWaitTimeout = new LongAdder();
+        private final LongAdder queuedCalls = new LongAdder();
+        private final LongAdder queueWaitNanos = new LongAdder();
+        private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+        
+        Compartment(int maxConcurrent, CircuitBreaker breaker) {
+            this.maxConcurrent = maxConcurrent;
+            this.slots = new Semaphore(maxConcurrent);
+            this.breaker = breaker;
+        }
+        
+        // Takes a breaker permission and then a slot; returns the permission for exit
+        long enter(PaymentMethod paymentMethod) {
+            long permission = breaker.tryAcquire();
+            if (permission == CircuitBreaker.REJECTED) {
+                rejectedOpen.increment();
+                throw circuitOpen(paymentMethod);
+            }
+            if (slots.tryAcquire()) {
+                return permission;
+            }
+            
+            if (waiting.incrementAndGet() > queueLimit) {
+                waiting.decrementAndGet();
+                breaker.release(permission);
+                rejectedQueueFull.increment();
+                throw bulkheadFull(paymentMethod);
+            }
+            long start = System.nanoTime();
+            boolean acquired = false;
+            try {
+                acquired = slots.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+                long waited = System.nanoTime() - start;
+                queuedCalls.increment();
+                queueWaitNanos.add(waited);
+                maxQueueWaitNanos.accumulate(waited);
+            }
+            if (!acquired) {
+                breaker.release(permission);
+                rejectedWaitTimeout.increment();
+                log.warn("{} payment gave up after waiting {} ms for a gateway slot", paymentMethod, maxWaitMs);
+                throw bulkheadFull(paymentMethod);
+            }
+            return permission;
+        }
+        
+        void exit(PaymentMethod paymentMethod, long permission, boolean failed) {
+            slots.release();
+            CircuitBreaker.State before = breaker.getState();
+            breaker.onResult(permission, failed);
+            CircuitBreaker.State after = breaker.getState();
+            if (after != before) {
+                log.warn("{} payment gateway circuit moved from {} to {}", paymentMethod, before, after);
+            }
+        }
+        
+        Map<String, Object> snapshot() {
+            long queued = queuedCalls.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("breaker", breaker.snapshot());
+            snapshot.put("inFlight", maxConcurrent - slots.availablePermits());
+            snapshot.put("maxConcurrent", maxConcurrent);
+            snapshot.put("waiting", waiting.get());
+            snapshot.put("queueLimit", queueLimit);
+            snapshot.put("rejectedOpenCircuit", rejectedOpen.sum());
+            snapshot.put("rejectedQueueFull", rejectedQueueFull.sum());
+            snapshot.put("rejectedWaitTimeout", rejectedWaitTimeout.sum());
+            snapshot.put("queuedCalls", queued);
+            snapshot.put("averageQueueWaitMillis", queued == 0 ? 0.0 : queueWaitNanos.sum() / (queued * 1_000_000.0));
+            snapshot.put("maxQueueWaitMillis", maxQueueWaitNanos.get() / 1_000_000.0);
+            return snapshot;
+        }
+    }
+}
\ No newline at end of file
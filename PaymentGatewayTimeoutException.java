@@ -0,0 +1,13 @@
+package com.example.fooddelivery.exception;
+
+// The gateway did not answer in time; the payment's real outcome is unknown
+public class PaymentGatewayTimeoutException extends RuntimeException {
+    
+    public PaymentGatewayTimeoutException(String message) {
+        super(message);
+    }
+    
+    public PaymentGatewayTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
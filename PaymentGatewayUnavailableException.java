@@ -0,0 +1,13 @@
+package com.example.fooddelivery.exception;
+
+// The call was refused before reaching the gateway: its circuit is open or its bulkhead is full
+public class PaymentGatewayUnavailableException extends RuntimeException {
+    
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+    
+    public PaymentGatewayUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
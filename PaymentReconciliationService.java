@@ -0,0 +1,378 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
+import com.example.fooddelivery.event.PaymentRecordedEvent;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.Payment;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+import com.example.fooddelivery.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves payments left PENDING: card and M-Pesa payments whose gateway call timed out,
+ * and cash on delivery, which succeeds once the order is delivered and fails if it is
+ * cancelled. Every pending payment has one entry in a {@link DelayQueue}; the worker takes
+ * whatever is due in batches, asks the gateway (or the order) for the final state and
+ * writes the answers back with one guarded bulk update per status. Unresolved payments go
+ * back into the queue with exponential backoff and jitter, so nothing scans the payments
+ * table on a timer; the table is read once on startup to rebuild the queue.
+ */
+@Service
+public class PaymentReconciliationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationService.class);
+    
+    private final PaymentRepository paymentRepository;
+    private final PaymentGatewayGuard paymentGatewayGuard;
+    private final PaymentService paymentService;
+    private final PlatformStatsService platformStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService reconciliationWorker;
+    private final ExecutorService paymentExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final long initialDelayMs;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final int batchSize;
+    
+    private final DelayQueue<Attempt> queue = new DelayQueue<>();
+    // The live attempt per payment; queued attempts no longer in here are stale and skipped
+    private final Map<Long, Attempt> tracked = new ConcurrentHashMap<>();
+    // Cash on delivery payments by order id, so delivery or cancellation can wake them early
+    private final Map<Long, Long> codPaymentsByOrder = new ConcurrentHashMap<>();
+    
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final Map<PaymentStatus, LongAdder> reconciled = new EnumMap<>(PaymentStatus.class);
+    private final LongAdder resolvedDirectly = new LongAdder();
+    private final LongAdder resolvedAfterChecks = new LongAdder();
+    private final LongAdder resolutionMillis = new LongAdder();
+    private final LongAccumulator maxResolutionMillis = new LongAccumulator(Math::max, 0);
+    
+    @Autowired
+    public PaymentReconciliationService(PaymentRepository paymentRepository,
+                                        PaymentGatewayGuard paymentGatewayGuard,
+                                        PaymentService paymentService,
+                                        PlatformStatsService platformStatsService,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Qualifier("reconciliationWorker") ExecutorService reconciliationWorker,
+                                        @Qualifier("paymentExecutor") ExecutorService paymentExecutor,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${payment.reconcile.initial-delay-ms:60000}") long initialDelayMs,
+                                        @Value("${payment.reconcile.backoff-base-ms:10000}") long backoffBaseMs,
+                                        @Value("${payment.reconcile.backoff-max-ms:1800000}") long backoffMaxMs,
+                                        @Value("${payment.reconcile.batch-size:200}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGatewayGuard = paymentGatewayGuard;
+        this.paymentService = paymentService;
+        this.platformStatsService = platformStatsService;
+        this.eventPublisher = eventPublisher;
+        this.reconciliationWorker = reconciliationWorker;
+        this.paymentExecutor = paymentExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.initialDelayMs = initialDelayMs;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.batchSize = batchSize;
+        reconciled.put(PaymentStatus.SUCCESS, new LongAdder());
+        reconciled.put(PaymentStatus.FAILED, new LongAdder());
+    }
+    
+    // The queue lives only in memory, so it is refilled from the table before the worker starts
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = paymentRepository.findPendingRows(afterId, PageRequest.of(0, batchSize));
+            // Rows of [id, order id, payment method, payment date]
+            for (Object[] row : rows) {
+                // Spread the first checks out rather than querying the whole backlog at once
+                long delayMs = ThreadLocalRandom.current().nextLong(initialDelayMs + 1);
+                track((Long) row[0], (Long) row[1], (PaymentMethod) row[2], epochMillis((LocalDateTime) row[3]), delayMs);
+            }
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+        log.info("Queued {} pending payments for reconciliation", tracked.size());
+        
+        reconciliationWorker.execute(this::run);
+    }
+    
+    @TransactionalEventListener
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        if (event.getPaymentStatus() == PaymentStatus.PENDING) {
+            // Leave the original gateway call time to answer before checking on it
+            track(event.getPaymentId(), event.getOrderId(), event.getPaymentMethod(),
+                    epochMillis(event.getRecordedAt()), initialDelayMs);
+            return;
+        }
+        
+        Attempt attempt = tracked.remove(event.getPaymentId());
+        if (attempt == null) {
+            return;
+        }
+        codPaymentsByOrder.remove(attempt.orderId, attempt.paymentId);
+        long waitedMs = Math.max(0, System.currentTimeMillis() - attempt.pendingSinceMs);
+        if (attempt.checks == 0) {
+            resolvedDirectly.increment();
+        } else {
+            resolvedAfterChecks.increment();
+            resolutionMillis.add(waitedMs);
+            maxResolutionMillis.accumulate(waitedMs);
+        }
+    }
+    
+    // A delivered or cancelled order settles its cash payment, so check it now instead of at its next backoff
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getStatus() != OrderStatus.DELIVERED && event.getStatus() != OrderStatus.CANCELLED) {
+            return;
+        }
+        Long paymentId = codPaymentsByOrder.get(event.getOrderId());
+        Attempt attempt = paymentId == null ? null : tracked.get(paymentId);
+        if (attempt != null) {
+            // Queued only once live, or the worker could take it first and skip it as stale
+            Attempt next = attempt.next(0, false);
+            if (tracked.replace(paymentId, attempt, next)) {
+                enqueue(next);
+            }
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Attempt oldest = null;
+        for (Attempt attempt : tracked.values()) {
+            if (oldest == null || attempt.pendingSinceMs < oldest.pendingSinceMs) {
+                oldest = attempt;
+            }
+        }
+        long resolved = resolvedAfterChecks.sum();
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingInDatabase", paymentRepository.countByPaymentStatus(PaymentStatus.PENDING));
+        stats.put("backlog", tracked.size());
+        stats.put("oldestPendingSeconds", oldest == null ? 0 : (System.currentTimeMillis() - oldest.pendingSinceMs) / 1000);
+        stats.put("checks", checks.sum());
+        stats.put("retries", retries.sum());
+        stats.put("reconciledSuccess", reconciled.get(PaymentStatus.SUCCESS).sum());
+        stats.put("reconciledFailed", reconciled.get(PaymentStatus.FAILED).sum());
+        stats.put("resolvedWithoutReconciliation", resolvedDirectly.sum());
+        stats.put("resolvedAfterReconciliation", resolved);
+        stats.put("averageTimeToResolutionSeconds", resolved == 0 ? 0.0 : resolutionMillis.sum() / (resolved * 1000.0));
+        stats.put("maxTimeToResolutionSeconds", maxResolutionMillis.get() / 1000.0);
+        return stats;
+    }
+    
+    private void run() {
+        List<Attempt> due = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, batchSize - 1);
+                reconcile(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Put the batch back rather than losing track of it
+                log.error("Payment reconciliation batch failed: {}", e.getMessage());
+                for (Attempt attempt : due) {
+                    if (retry(attempt)) {
+                        retries.increment();
+                    }
+                }
+            } finally {
+                due.clear();
+            }
+        }
+    }
+    
+    private void reconcile(List<Attempt> due) {
+        Map<Long, Attempt> current = new HashMap<>();
+        for (Attempt attempt : due) {
+            if (tracked.get(attempt.paymentId) == attempt) {
+                current.put(attempt.paymentId, attempt);
+            }
+        }
+        if (current.isEmpty()) {
+            return;
+        }
+        
+        // Rows of [id, order id, payment method, order status]; payments missing here are no longer pending
+        Map<Long, CompletableFuture<PaymentStatus>> answers = new HashMap<>();
+        for (Object[] row : paymentRepository.findPendingRowsByIdIn(current.keySet())) {
+            Long paymentId = (Long) row[0];
+            Long orderId = (Long) row[1];
+            PaymentMethod paymentMethod = (PaymentMethod) row[2];
+            OrderStatus orderStatus = (OrderStatus) row[3];
+            checks.increment();
+            
+            if (paymentMethod == PaymentMethod.COD) {
+                answers.put(paymentId, CompletableFuture.completedFuture(codOutcome(orderStatus)));
+            } else if (paymentService.getInFlightPayment(orderId) != null) {
+                // The original call is still waiting on the gateway
+                answers.put(paymentId, CompletableFuture.completedFuture(PaymentStatus.PENDING));
+            } else {
+                answers.put(paymentId, CompletableFuture.supplyAsync(
+                        () -> paymentGatewayGuard.queryPaymentStatus(paymentMethod, paymentId), paymentExecutor));
+            }
+        }
+        
+        Map<PaymentStatus, List<Long>> resolved = new EnumMap<>(PaymentStatus.class);
+        for (Attempt attempt : current.values()) {
+            CompletableFuture<PaymentStatus> answer = answers.get(attempt.paymentId);
+            if (answer == null) {
+                untrack(attempt);
+                continue;
+            }
+            PaymentStatus paymentStatus;
+            try {
+                paymentStatus = answer.join();
+            } catch (RuntimeException e) {
+                paymentStatus = PaymentStatus.PENDING;
+            }
+            
+            // Resolved payments are requeued too, in case the update below fails; their
+            // payment event untracks them once it commits
+            if (retry(attempt) && paymentStatus == PaymentStatus.PENDING) {
+                retries.increment();
+            }
+            if (paymentStatus != PaymentStatus.PENDING) {
+                resolved.computeIfAbsent(paymentStatus, status -> new ArrayList<>()).add(attempt.paymentId);
+            }
+        }
+        
+        if (!resolved.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx -> apply(resolved));
+        }
+    }
+    
+    // One bulk update per final status; stats and events follow the payments actually changed
+    private void apply(Map<PaymentStatus, List<Long>> resolved) {
+        LocalDateTime now = LocalDateTime.now();
+        resolved.forEach((paymentStatus, paymentIds) -> {
+            List<Payment> payments = paymentRepository.findPendingByIdInForUpdate(paymentIds);
+            if (payments.isEmpty()) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(payments.size());
+            for (Payment payment : payments) {
+                ids.add(payment.getId());
+                platformStatsService.recordPaymentTransition(PaymentStatus.PENDING, paymentStatus, payment.getAmount());
+                eventPublisher.publishEvent(new PaymentRecordedEvent(payment.getOrder().getId(), payment.getId(),
+                        payment.getPaymentMethod(), PaymentStatus.PENDING, paymentStatus, payment.getAmount()));
+            }
+            paymentRepository.resolvePending(ids, paymentStatus, now);
+            reconciled.get(paymentStatus).add(ids.size());
+        });
+    }
+    
+    private static PaymentStatus codOutcome(OrderStatus orderStatus) {
+        return switch (orderStatus) {
+            case DELIVERED -> PaymentStatus.SUCCESS;
+            case CANCELLED -> PaymentStatus.FAILED;
+            default -> PaymentStatus.PENDING;
+        };
+    }
+    
+    private void track(Long paymentId, Long orderId, PaymentMethod paymentMethod, long pendingSinceMs, long delayMs) {
+        Attempt attempt = new Attempt(paymentId, orderId, paymentMethod, pendingSinceMs, 0, delayMs);
+        if (paymentMethod == PaymentMethod.COD) {
+            codPaymentsByOrder.put(orderId, paymentId);
+        }
+        tracked.put(paymentId, attempt);
+        enqueue(attempt);
+    }
+    
+    // Requeues with equal jitter: half the exponential backoff plus a random share of the other half.
+    // False when the attempt was superseded or the payment resolved meanwhile
+    private boolean retry(Attempt attempt) {
+        long backoffMs = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt.checks, 30));
+        long delayMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        Attempt next = attempt.next(delayMs, true);
+        if (!tracked.replace(attempt.paymentId, attempt, next)) {
+            return false;
+        }
+        enqueue(next);
+        return true;
+    }
+    
+    private void untrack(Attempt attempt) {
+        if (tracked.remove(attempt.paymentId, attempt)) {
+            codPaymentsByOrder.remove(attempt.orderId, attempt.paymentId);
+        }
+    }
+    
+    private void enqueue(Attempt attempt) {
+        queue.put(attempt);
+    }
+    
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static final class Attempt implements Delayed {
+        
+        private final Long paymentId;
+        private final Long orderId;
+        private final PaymentMethod paymentMethod;
+        private final long pendingSinceMs;
+        private final int checks;
+        private final long dueNanos;
+        
+        Attempt(Long paymentId, Long orderId, PaymentMethod paymentMethod, long pendingSinceMs, int checks, long delayMs) {
+            this.paymentId = paymentId;
+            this.orderId = orderId;
+            this.paymentMethod = paymentMethod;
+            this.pendingSinceMs = pendingSinceMs;
+            this.checks = checks;
+            this.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        }
+        
+        Attempt next(long delayMs, boolean checked) {
+            return new Attempt(paymentId, orderId, paymentMethod, pendingSinceMs, checked ? checks + 1 : checks, delayMs);
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueNanos, ((Attempt) other).dueNanos);
+        }
+    }
+}
\ No newline at end of file
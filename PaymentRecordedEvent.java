@@ -0,0 +1,59 @@
+package com.example.fooddelivery.event;
+
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+// Published for a new payment and for every later change of its status
+public class PaymentRecordedEvent {
+    
+    private final Long orderId;
+    private final Long paymentId;
+    private final PaymentMethod paymentMethod;
+    private final PaymentStatus previousStatus;
+    private final PaymentStatus paymentStatus;
+    private final Money amount;
+    private final LocalDateTime recordedAt;
+    
+    public PaymentRecordedEvent(Long orderId, Long paymentId, PaymentMethod paymentMethod,
+                                PaymentStatus previousStatus, PaymentStatus paymentStatus, Money amount) {
+        this.orderId = orderId;
+        this.paymentId = paymentId;
+        this.paymentMethod = paymentMethod;
+        this.previousStatus = previousStatus;
+        this.paymentStatus = paymentStatus;
+        this.amount = amount;
+        this.recordedAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getPaymentId() {
+        return paymentId;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public PaymentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public Money getAmount() {
+        return amount;
+    }
+    
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+}
\ No newline at end of file
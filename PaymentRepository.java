@@ -2,12 +2,75 @@ package com.example.fooddelivery.repository;
 
 import com.example.fooddelivery.model.Order;
 import com.example.fooddelivery.model.Payment;
+import com.example.fooddelivery.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrder(Order order);
+    
+    boolean existsByOrderId(Long orderId);
+    
+    long countByPaymentStatus(PaymentStatus paymentStatus);
+    
+    // Rows of [id, order id, payment method, payment date]
+    @Query("SELECT p.id, p.order.id, p.paymentMethod, p.paymentDate FROM Payment p " +
+           "WHERE p.paymentStatus = com.example.fooddelivery.model.PaymentStatus.PENDING AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Object[]> findPendingRows(@Param("afterId") long afterId, Pageable pageable);
+    
+    // Rows of [id, order id, payment method, order status] for those still PENDING
+    @Query("SELECT p.id, o.id, p.paymentMethod, o.status FROM Payment p JOIN p.order o " +
+           "WHERE p.id IN :ids AND p.paymentStatus = com.example.fooddelivery.model.PaymentStatus.PENDING")
+    List<Object[]> findPendingRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Locks the still-pending payments so the bulk resolution below cannot race another writer
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p " +
+           "WHERE p.id IN :ids AND p.paymentStatus = com.example.fooddelivery.model.PaymentStatus.PENDING")
+    List<Payment> findPendingByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Leaves paymentDate alone so a payment never moves to another day once recorded
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :status, p.resolvedAt = :resolvedAt " +
+           "WHERE p.id IN :ids AND p.paymentStatus = com.example.fooddelivery.model.PaymentStatus.PENDING")
+    int resolvePending(@Param("ids") Collection<Long> ids,
+                       @Param("status") PaymentStatus status,
+                       @Param("resolvedAt") LocalDateTime resolvedAt);
+    
+    // Rows of [status name, count, amount in minor units]; native so the sum stays an exact BIGINT
+    @Query(value = "SELECT payment_status, COUNT(*), COALESCE(SUM(amount), 0) FROM payments GROUP BY payment_status",
+           nativeQuery = true)
+    List<Object[]> summarizeByStatus();
+    
+    /**
+     * Next chunk of payments that succeeded within [from, to) after {@code afterId}, in id
+     * order. Cash on delivery succeeds when its order is delivered, so it is settled on that
+     * day. Rows of [payment id, restaurant id, payment method, amount, resolved at].
+     */
+    @Query("SELECT p.id, o.restaurant.id, p.paymentMethod, p.amount, p.resolvedAt " +
+           "FROM Payment p JOIN p.order o " +
+           "WHERE p.id > :afterId AND p.resolvedAt >= :from AND p.resolvedAt < :to " +
+           "AND p.paymentStatus = com.example.fooddelivery.model.PaymentStatus.SUCCESS " +
+           "ORDER BY p.id")
+    List<Object[]> findSettlementRows(@Param("afterId") long afterId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
\ No newline at end of file
@@ -1,52 +1,77 @@
 package com.example.fooddelivery.service;
 
 import com.example.fooddelivery.dto.PaymentRequest;
+import com.example.fooddelivery.event.PaymentRecordedEvent;
+import com.example.fooddelivery.exception.PaymentGatewayTimeoutException;
+import com.example.fooddelivery.exception.PaymentGatewayUnavailableException;
 import com.example.fooddelivery.exception.ResourceNotFoundException;
+import com.example.fooddelivery.model.Money;
 import com.example.fooddelivery.model.Order;
+import com.example.fooddelivery.model.OrderStatus;
 import com.example.fooddelivery.model.Payment;
 import com.example.fooddelivery.model.PaymentMethod;
 import com.example.fooddelivery.model.PaymentStatus;
 import com.example.fooddelivery.repository.OrderRepository;
 import com.example.fooddelivery.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class PaymentService {
     
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+    
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
-    private final MockPaymentService mockPaymentService;
+    private final PaymentGatewayGuard paymentGatewayGuard;
+    private final PlatformStatsService platformStatsService;
+    private final ExecutorService paymentExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Gateway calls still in flight, keyed by order id, so status readers can wait on the outcome
+    private final Map<Long, CompletableFuture<Payment>> inFlightPayments = new ConcurrentHashMap<>();
     
     @Autowired
     public PaymentService(PaymentRepository paymentRepository, 
                          OrderRepository orderRepository,
-                         MockPaymentService mockPaymentService) {
+                         PaymentGatewayGuard paymentGatewayGuard,
+                         PlatformStatsService platformStatsService,
+                         @Qualifier("paymentExecutor") ExecutorService paymentExecutor,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
-        this.mockPaymentService = mockPaymentService;
+        this.paymentGatewayGuard = paymentGatewayGuard;
+        this.platformStatsService = platformStatsService;
+        this.paymentExecutor = paymentExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
     public Payment processPayment(Long orderId, PaymentRequest paymentRequest) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
-        
-        // Check if payment already exists
-        if (order.getPayment() != null) {
-            throw new IllegalStateException("Payment already processed for this order");
-        }
+        Order order = findPayableOrder(orderId);
+        Money totalAmount = order.getTotalAmount();
         
-        // Calculate total amount from order items
-        double totalAmount = order.getOrderItems().stream()
-                .mapToDouble(item -> item.getUnitPrice() * item.getQuantity())
-                .sum();
-        
-        // Process payment through mock service
-        PaymentStatus paymentStatus = mockPaymentService.processPayment(
+        // Process payment through the method's bulkhead and circuit breaker
+        PaymentStatus paymentStatus = paymentGatewayGuard.processPayment(
                 paymentRequest.getPaymentMethod(), 
                 totalAmount
         );
@@ -58,8 +83,14 @@ public class PaymentService {
         payment.setPaymentMethod(paymentRequest.getPaymentMethod());
         payment.setPaymentStatus(paymentStatus);
         payment.setPaymentDate(LocalDateTime.now());
+        if (paymentStatus != PaymentStatus.PENDING) {
+            payment.setResolvedAt(payment.getPaymentDate());
+        }
         
         Payment savedPayment = paymentRepository.save(payment);
+        platformStatsService.recordPaymentTransition(null, paymentStatus, totalAmount);
+        eventPublisher.publishEvent(new PaymentRecordedEvent(orderId, savedPayment.getId(),
+                savedPayment.getPaymentMethod(), null, paymentStatus, totalAmount));
         
         // Update order with payment
         order.setPayment(savedPayment);
@@ -68,6 +99,115 @@ public class PaymentService {
         return savedPayment;
     }
     
+    /**
+     * Records a PENDING payment and hands the gateway call to the payment executor once
+     * this transaction has committed, so neither the request thread nor its JDBC
+     * connection is held while the gateway responds.
+     */
+    @Transactional
+    public Payment initiatePayment(Long orderId, PaymentRequest paymentRequest) {
+        Order order = findPayableOrder(orderId);
+        Money totalAmount = order.getTotalAmount();
+        PaymentMethod paymentMethod = paymentRequest.getPaymentMethod();
+        paymentGatewayGuard.checkAvailable(paymentMethod);
+        
+        Payment payment = new Payment(order, totalAmount, paymentMethod, PaymentStatus.PENDING, LocalDateTime.now());
+        Payment savedPayment = paymentRepository.save(payment);
+        order.setPayment(savedPayment);
+        platformStatsService.recordPaymentTransition(null, PaymentStatus.PENDING, totalAmount);
+        
+        Long paymentId = savedPayment.getId();
+        eventPublisher.publishEvent(new PaymentRecordedEvent(orderId, paymentId, paymentMethod,
+                null, PaymentStatus.PENDING, totalAmount));
+        CompletableFuture<Payment> result = new CompletableFuture<>();
+        inFlightPayments.put(orderId, result);
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    paymentExecutor.execute(() -> completePayment(orderId, paymentId, paymentMethod, totalAmount, result));
+                } else {
+                    inFlightPayments.remove(orderId, result);
+                    result.cancel(false);
+                }
+            }
+        });
+        
+        return savedPayment;
+    }
+    
+    // With async gateway callbacks nothing is parked while the gateway works; the outcome is
+    // written back on the payment executor when the callback arrives
+    private void completePayment(Long orderId, Long paymentId, PaymentMethod paymentMethod,
+                                 Money amount, CompletableFuture<Payment> result) {
+        CompletableFuture<PaymentStatus> answer;
+        try {
+            answer = paymentGatewayGuard.submitPayment(paymentMethod, amount);
+        } catch (PaymentGatewayUnavailableException e) {
+            // Never reached the gateway, so nothing was charged and the payment can safely fail
+            log.warn("Payment {} for order {} was refused before reaching the gateway: {}", paymentId, orderId, e.getMessage());
+            recordOutcome(orderId, paymentId, paymentMethod, amount, PaymentStatus.FAILED, result);
+            return;
+        }
+        answer.whenCompleteAsync((paymentStatus, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof PaymentGatewayTimeoutException) {
+                    // The outcome is unknown, so the payment stays PENDING rather than being failed
+                    log.warn("Payment {} for order {} timed out at the gateway and stays pending", paymentId, orderId);
+                } else {
+                    log.error("Payment {} for order {} could not be completed: {}", paymentId, orderId, cause.getMessage());
+                }
+                inFlightPayments.remove(orderId, result);
+                result.completeExceptionally(cause);
+                return;
+            }
+            recordOutcome(orderId, paymentId, paymentMethod, amount, paymentStatus, result);
+        }, paymentExecutor);
+    }
+    
+    // Leaves the in-flight map before completing, so a waiter woken by the result never sees it
+    // still in flight
+    private void recordOutcome(Long orderId, Long paymentId, PaymentMethod paymentMethod, Money amount,
+                               PaymentStatus paymentStatus, CompletableFuture<Payment> result) {
+        Payment payment;
+        try {
+            // Write the outcome back in its own short transaction
+            payment = transactionTemplate.execute(tx -> {
+                Payment pending = paymentRepository.findById(paymentId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
+                if (pending.getPaymentStatus() != PaymentStatus.PENDING) {
+                    // Already resolved by reconciliation; the first answer stands
+                    return pending;
+                }
+                platformStatsService.recordPaymentTransition(pending.getPaymentStatus(), paymentStatus, amount);
+                eventPublisher.publishEvent(new PaymentRecordedEvent(orderId, paymentId, paymentMethod,
+                        pending.getPaymentStatus(), paymentStatus, amount));
+                pending.setPaymentStatus(paymentStatus);
+                if (paymentStatus != PaymentStatus.PENDING) {
+                    pending.setResolvedAt(LocalDateTime.now());
+                }
+                return paymentRepository.save(pending);
+            });
+        } catch (Exception e) {
+            log.error("Payment {} for order {} could not be completed: {}", paymentId, orderId, e.getMessage());
+            inFlightPayments.remove(orderId, result);
+            result.completeExceptionally(e);
+            return;
+        }
+        inFlightPayments.remove(orderId, result);
+        result.complete(payment);
+    }
+    
+    /**
+     * Outcome of a gateway call still in flight for the order, or {@code null} when
+     * no call is pending and the stored payment is already final.
+     */
+    public CompletableFuture<Payment> getInFlightPayment(Long orderId) {
+        return inFlightPayments.get(orderId);
+    }
+    
     @Transactional(readOnly = true)
     public Payment getPaymentByOrderId(Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -79,4 +219,26 @@ public class PaymentService {
         
         return order.getPayment();
     }
+    
+    /**
+     * Locks the order row so concurrent payment attempts for the same order run one after
+     * another; the second then sees the first one's payment and is rejected. The unique
+     * payments.order_id constraint backs this up.
+     */
+    private Order findPayableOrder(Long orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        
+        // Unpaid orders are cancelled automatically; the row lock above orders this against that
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new IllegalStateException("Order has been cancelled");
+        }
+        
+        // Check if payment already exists
+        if (paymentRepository.existsByOrderId(orderId)) {
+            throw new IllegalStateException("Payment already processed for this order");
+        }
+        
+        return order;
+    }
 }
\ No newline at end of file
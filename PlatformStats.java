@@ -0,0 +1,176 @@
+package com.example.fooddelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "platform_stats")
+public class PlatformStats {
+    
+    // Counters are spread over this many rows, ids 0 to STRIPES - 1; the totals are their sum
+    public static final int STRIPES = 16;
+    
+    @Id
+    private Long id;
+    
+    private long totalOrders;
+    
+    // Revenue counters are in minor units of Money.DEFAULT_CURRENCY
+    private long totalRevenueMinor;
+    
+    private long successfulPayments;
+    
+    private long paidRevenueMinor;
+    
+    private long failedPayments;
+    
+    private long pendingPayments;
+    
+    // Orders by current status, hot and archived together
+    private long placedOrders;
+    
+    private long preparingOrders;
+    
+    private long enRouteOrders;
+    
+    private long deliveredOrders;
+    
+    private long cancelledOrders;
+    
+    private long totalRestaurants;
+    
+    private long totalCustomers;
+    
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public PlatformStats() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public PlatformStats(Long id) {
+        this.id = id;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+    
+    public void setTotalOrders(long totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+    
+    public long getTotalRevenueMinor() {
+        return totalRevenueMinor;
+    }
+    
+    public void setTotalRevenueMinor(long totalRevenueMinor) {
+        this.totalRevenueMinor = totalRevenueMinor;
+    }
+    
+    public long getSuccessfulPayments() {
+        return successfulPayments;
+    }
+    
+    public void setSuccessfulPayments(long successfulPayments) {
+        this.successfulPayments = successfulPayments;
+    }
+    
+    public long getPaidRevenueMinor() {
+        return paidRevenueMinor;
+    }
+    
+    public void setPaidRevenueMinor(long paidRevenueMinor) {
+        this.paidRevenueMinor = paidRevenueMinor;
+    }
+    
+    public long getFailedPayments() {
+        return failedPayments;
+    }
+    
+    public void setFailedPayments(long failedPayments) {
+        this.failedPayments = failedPayments;
+    }
+    
+    public long getPendingPayments() {
+        return pendingPayments;
+    }
+    
+    public void setPendingPayments(long pendingPayments) {
+        this.pendingPayments = pendingPayments;
+    }
+    
+    public long getPlacedOrders() {
+        return placedOrders;
+    }
+    
+    public void setPlacedOrders(long placedOrders) {
+        this.placedOrders = placedOrders;
+    }
+    
+    public long getPreparingOrders() {
+        return preparingOrders;
+    }
+    
+    public void setPreparingOrders(long preparingOrders) {
+        this.preparingOrders = preparingOrders;
+    }
+    
+    public long getEnRouteOrders() {
+        return enRouteOrders;
+    }
+    
+    public void setEnRouteOrders(long enRouteOrders) {
+        this.enRouteOrders = enRouteOrders;
+    }
+    
+    public long getDeliveredOrders() {
+        return deliveredOrders;
+    }
+    
+    public void setDeliveredOrders(long deliveredOrders) {
+        this.deliveredOrders = deliveredOrders;
+    }
+    
+    public long getCancelledOrders() {
+        return cancelledOrders;
+    }
+    
+    public void setCancelledOrders(long cancelledOrders) {
+        this.cancelledOrders = cancelledOrders;
+    }
+    
+    public long getTotalRestaurants() {
+        return totalRestaurants;
+    }
+    
+    public void setTotalRestaurants(long totalRestaurants) {
+        this.totalRestaurants = totalRestaurants;
+    }
+    
+    public long getTotalCustomers() {
+        return totalCustomers;
+    }
+    
+    public void setTotalCustomers(long totalCustomers) {
+        this.totalCustomers = totalCustomers;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
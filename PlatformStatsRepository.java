@@ -0,0 +1,63 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.PlatformStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlatformStatsRepository extends JpaRepository<PlatformStats, Long> {
+    
+    // Every stripe, locked in id order so two rebuilds cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PlatformStats s ORDER BY s.id")
+    List<PlatformStats> findAllForUpdate();
+    
+    @Modifying
+    @Query("UPDATE PlatformStats s SET s.totalOrders = s.totalOrders + 1, s.placedOrders = s.placedOrders + 1, " +
+           "s.totalRevenueMinor = s.totalRevenueMinor + :amountMinor, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :stripe")
+    int recordOrderPlaced(@Param("stripe") long stripe, @Param("amountMinor") long amountMinor);
+    
+    @Modifying
+    @Query("UPDATE PlatformStats s SET s.placedOrders = s.placedOrders + :placedDelta, " +
+           "s.preparingOrders = s.preparingOrders + :preparingDelta, " +
+           "s.enRouteOrders = s.enRouteOrders + :enRouteDelta, " +
+           "s.deliveredOrders = s.deliveredOrders + :deliveredDelta, " +
+           "s.cancelledOrders = s.cancelledOrders + :cancelledDelta, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :stripe")
+    int recordOrderStatusChange(@Param("stripe") long stripe,
+                                @Param("placedDelta") long placedDelta,
+                                @Param("preparingDelta") long preparingDelta,
+                                @Param("enRouteDelta") long enRouteDelta,
+                                @Param("deliveredDelta") long deliveredDelta,
+                                @Param("cancelledDelta") long cancelledDelta);
+    
+    @Modifying
+    @Query("UPDATE PlatformStats s SET s.totalRestaurants = s.totalRestaurants + :delta, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :stripe")
+    int recordRestaurantCountChange(@Param("stripe") long stripe, @Param("delta") long delta);
+    
+    @Modifying
+    @Query("UPDATE PlatformStats s SET s.totalCustomers = s.totalCustomers + :delta, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :stripe")
+    int recordCustomerCountChange(@Param("stripe") long stripe, @Param("delta") long delta);
+    
+    @Modifying
+    @Query("UPDATE PlatformStats s SET s.pendingPayments = s.pendingPayments + :pendingDelta, " +
+           "s.successfulPayments = s.successfulPayments + :successDelta, " +
+           "s.failedPayments = s.failedPayments + :failedDelta, " +
+           "s.paidRevenueMinor = s.paidRevenueMinor + :paidAmountMinor, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :stripe")
+    int recordPaymentChange(@Param("stripe") long stripe,
+                            @Param("pendingDelta") long pendingDelta,
+                            @Param("successDelta") long successDelta,
+                            @Param("failedDelta") long failedDelta,
+                            @Param("paidAmountMinor") long paidAmountMinor);
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.OrderSummaryDTO;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentStatus;
+import com.example.fooddelivery.model.PlatformStats;
+import com.example.fooddelivery.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the admin dashboard from the {@code platform_stats} counters, which order, payment,
+ * restaurant and customer writes keep current in their own transactions. Each write adds to
+ * one of {@link PlatformStats#STRIPES} rows chosen by the calling thread, so concurrent
+ * transactions rarely queue on the same row lock, and a dashboard read sums the stripes.
+ */
+@Service
+public class PlatformStatsService {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final PlatformStatsRepository platformStatsRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final CustomerRepository customerRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    
+    @Autowired
+    public PlatformStatsService(PlatformStatsRepository platformStatsRepository,
+                                OrderRepository orderRepository,
+                                PaymentRepository paymentRepository,
+                                RestaurantRepository restaurantRepository,
+                                CustomerRepository customerRepository,
+                                ArchivedOrderRepository archivedOrderRepository) {
+        this.platformStatsRepository = platformStatsRepository;
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.customerRepository = customerRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderPlaced(Money orderTotal) {
+        platformStatsRepository.recordOrderPlaced(stripe(), orderTotal.getMinorUnits());
+    }
+    
+    /**
+     * Moves one payment between status buckets; {@code previousStatus} is null for a new payment.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPaymentTransition(PaymentStatus previousStatus, PaymentStatus newStatus, Money amount) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        
+        long pendingDelta = delta(PaymentStatus.PENDING, previousStatus, newStatus);
+        long successDelta = delta(PaymentStatus.SUCCESS, previousStatus, newStatus);
+        long failedDelta = delta(PaymentStatus.FAILED, previousStatus, newStatus);
+        long paidAmountMinor = successDelta * amount.getMinorUnits();
+        
+        platformStatsRepository.recordPaymentChange(stripe(), pendingDelta, successDelta, failedDelta, paidAmountMinor);
+    }
+    
+    /**
+     * Moves {@code orders} orders from one status bucket to another.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderStatusChange(OrderStatus previousStatus, OrderStatus newStatus, long orders) {
+        if (previousStatus == newStatus || orders == 0) {
+            return;
+        }
+        
+        platformStatsRepository.recordOrderStatusChange(stripe(),
+                orders * delta(OrderStatus.PLACED, previousStatus, newStatus),
+                orders * delta(OrderStatus.PREPARING, previousStatus, newStatus),
+                orders * delta(OrderStatus.EN_ROUTE, previousStatus, newStatus),
+                orders * delta(OrderStatus.DELIVERED, previousStatus, newStatus),
+                orders * delta(OrderStatus.CANCELLED, previousStatus, newStatus));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRestaurantCountChange(long delta) {
+        platformStatsRepository.recordRestaurantCountChange(stripe(), delta);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCustomerRegistered() {
+        platformStatsRepository.recordCustomerCountChange(stripe(), 1);
+    }
+    
+    // A transaction runs on one thread, so it only ever locks one stripe and cannot deadlock on them
+    private static long stripe() {
+        return Thread.currentThread().threadId() % PlatformStats.STRIPES;
+    }
+    
+    private static <S extends Enum<S>> long delta(S bucket, S previousStatus, S newStatus) {
+        return (newStatus == bucket ? 1 : 0) - (previousStatus == bucket ? 1 : 0);
+    }
+    
+    /**
+     * Recomputes the counters from the hot and archived orders into stripe 0 and zeroes the
+     * others; also seeds the stripes on first start. The stripes are locked before anything
+     * is counted, so a write that commits meanwhile is either counted here or applied on top
+     * of the result once the locks are released, never both.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildStats() {
+        List<PlatformStats> stripes = new ArrayList<>(platformStatsRepository.findAllForUpdate());
+        for (long id = stripes.size(); id < PlatformStats.STRIPES; id++) {
+            stripes.add(new PlatformStats(id));
+        }
+        for (PlatformStats stripe : stripes) {
+            clear(stripe);
+        }
+        PlatformStats stats = stripes.get(0);
+        
+        stats.setTotalOrders(orderRepository.count() + archivedOrderRepository.count());
+        stats.setTotalRevenueMinor(orderRepository.sumTotalAmountMinor() + archivedOrderRepository.sumTotalAmountMinor());
+        
+        addPaymentSummary(stats, paymentRepository.summarizeByStatus());
+        addPaymentSummary(stats, archivedOrderRepository.summarizePaymentsByStatus());
+        
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.countOrdersByStatus()) {
+            ordersByStatus.put((OrderStatus) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : archivedOrderRepository.countOrdersByStatus()) {
+            ordersByStatus.merge((OrderStatus) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        stats.setPlacedOrders(ordersByStatus.getOrDefault(OrderStatus.PLACED, 0L));
+        stats.setPreparingOrders(ordersByStatus.getOrDefault(OrderStatus.PREPARING, 0L));
+        stats.setEnRouteOrders(ordersByStatus.getOrDefault(OrderStatus.EN_ROUTE, 0L));
+        stats.setDeliveredOrders(ordersByStatus.getOrDefault(OrderStatus.DELIVERED, 0L));
+        stats.setCancelledOrders(ordersByStatus.getOrDefault(OrderStatus.CANCELLED, 0L));
+        stats.setTotalRestaurants(restaurantRepository.count());
+        stats.setTotalCustomers(customerRepository.count());
+        
+        platformStatsRepository.saveAll(stripes);
+    }
+    
+    private static void clear(PlatformStats stripe) {
+        stripe.setTotalOrders(0);
+        stripe.setTotalRevenueMinor(0);
+        stripe.setPendingPayments(0);
+        stripe.setSuccessfulPayments(0);
+        stripe.setFailedPayments(0);
+        stripe.setPaidRevenueMinor(0);
+        stripe.setPlacedOrders(0);
+        stripe.setPreparingOrders(0);
+        stripe.setEnRouteOrders(0);
+        stripe.setDeliveredOrders(0);
+        stripe.setCancelledOrders(0);
+        stripe.setTotalRestaurants(0);
+        stripe.setTotalCustomers(0);
+        stripe.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    private void addPaymentSummary(PlatformStats stats, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            PaymentStatus status = PaymentStatus.valueOf((String) row[0]);
+            long count = ((Number) row[1]).longValue();
+            long amountMinor = ((Number) row[2]).longValue();
+            if (status == PaymentStatus.PENDING) {
+                stats.setPendingPayments(stats.getPendingPayments() + count);
+            } else if (status == PaymentStatus.SUCCESS) {
+                stats.setSuccessfulPayments(stats.getSuccessfulPayments() + count);
+                stats.setPaidRevenueMinor(stats.getPaidRevenueMinor() + amountMinor);
+            } else if (status == PaymentStatus.FAILED) {
+                stats.setFailedPayments(stats.getFailedPayments() + count);
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDashboard(int page, int size) {
+        PlatformStats stats = sum(platformStatsRepository.findAll());
+        
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        ordersByStatus.put(OrderStatus.PLACED, stats.getPlacedOrders());
+        ordersByStatus.put(OrderStatus.PREPARING, stats.getPreparingOrders());
+        ordersByStatus.put(OrderStatus.EN_ROUTE, stats.getEnRouteOrders());
+        ordersByStatus.put(OrderStatus.DELIVERED, stats.getDeliveredOrders());
+        ordersByStatus.put(OrderStatus.CANCELLED, stats.getCancelledOrders());
+        
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("totalRestaurants", stats.getTotalRestaurants());
+        dashboard.put("totalOrders", stats.getTotalOrders());
+        dashboard.put("totalCustomers", stats.getTotalCustomers());
+        dashboard.put("totalRevenue", Money.ofMinor(stats.getTotalRevenueMinor()));
+        dashboard.put("paidRevenue", Money.ofMinor(stats.getPaidRevenueMinor()));
+        dashboard.put("successfulPayments", stats.getSuccessfulPayments());
+        dashboard.put("failedPayments", stats.getFailedPayments());
+        dashboard.put("pendingPayments", stats.getPendingPayments());
+        dashboard.put("ordersByStatus", ordersByStatus);
+        
+        Slice<OrderSummaryDTO> recentOrders = getRecentOrders(page, size);
+        dashboard.put("recentOrders", recentOrders.getContent());
+        dashboard.put("page", recentOrders.getNumber());
+        dashboard.put("size", recentOrders.getSize());
+        dashboard.put("hasMore", recentOrders.hasNext());
+        return dashboard;
+    }
+    
+    private static PlatformStats sum(List<PlatformStats> stripes) {
+        PlatformStats total = new PlatformStats();
+        for (PlatformStats stripe : stripes) {
+            total.setTotalOrders(total.getTotalOrders() + stripe.getTotalOrders());
+            total.setTotalRevenueMinor(total.getTotalRevenueMinor() + stripe.getTotalRevenueMinor());
+            total.setPendingPayments(total.getPendingPayments() + stripe.getPendingPayments());
+            total.setSuccessfulPayments(total.getSuccessfulPayments() + stripe.getSuccessfulPayments());
+            total.setFailedPayments(total.getFailedPayments() + stripe.getFailedPayments());
+            total.setPaidRevenueMinor(total.getPaidRevenueMinor() + stripe.getPaidRevenueMinor());
+            total.setPlacedOrders(total.getPlacedOrders() + stripe.getPlacedOrders());
+            total.setPreparingOrders(total.getPreparingOrders() + stripe.getPreparingOrders());
+            total.setEnRouteOrders(total.getEnRouteOrders() + stripe.getEnRouteOrders());
+            total.setDeliveredOrders(total.getDeliveredOrders() + stripe.getDeliveredOrders());
+            total.setCancelledOrders(total.getCancelledOrders() + stripe.getCancelledOrders());
+            total.setTotalRestaurants(total.getTotalRestaurants() + stripe.getTotalRestaurants());
+            total.setTotalCustomers(total.getTotalCustomers() + stripe.getTotalCustomers());
+        }
+        return total;
+    }
+    
+    @Transactional(readOnly = true)
+    public Slice<OrderSummaryDTO> getRecentOrders(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Slice<Long> ids = orderRepository.findRecentOrderIds(pageRequest);
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+        
+        List<OrderSummaryDTO> summaries = orderRepository.findSummariesByIdIn(ids.getContent());
+        return new SliceImpl<>(summaries, pageRequest, ids.hasNext());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.fooddelivery.security;
+
+import com.example.fooddelivery.service.ServiceFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public-path check the JWT filter runs before anything else on every request.
+ * The paths cover each rule plus an authenticated route that falls through all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublicEndpointBenchmark {
+    
+    @Param({
+        "/api/v1/auth/login",
+        "/api/v1/restaurants/3/menu",
+        "/api/v1/feedback/restaurant/3",
+        "/api/v1/orders/42/track"
+    })
+    private String path;
+    
+    private JwtAuthenticationFilter filter;
+    
+    @Setup
+    public void setUp() {
+        // isPublicEndpoint only looks at the path and method
+        filter = ServiceFixtures.jwtAuthenticationFilter();
+    }
+    
+    @Benchmark
+    public boolean isPublicEndpoint() {
+        return filter.isPublicEndpoint(path, "GET");
+    }
+}
\ No newline at end of file
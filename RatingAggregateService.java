@@ -0,0 +1,118 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.RestaurantRatingDTO;
+import com.example.fooddelivery.model.RestaurantRating;
+import com.example.fooddelivery.repository.RestaurantRatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps per-restaurant rating count, sum and 1-5 histogram in {@code restaurant_ratings}
+ * so the public rating endpoint reads a single row instead of every review.
+ */
+@Service
+public class RatingAggregateService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateService.class);
+    
+    private final RestaurantRatingRepository restaurantRatingRepository;
+    private final TransactionTemplate newTransaction;
+    
+    @Autowired
+    public RatingAggregateService(RestaurantRatingRepository restaurantRatingRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.restaurantRatingRepository = restaurantRatingRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    // Runs inside the feedback transaction so the aggregate commits (or rolls back) with the review
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRating(Long restaurantId, int rating) {
+        if (restaurantRatingRepository.incrementRating(restaurantId, rating) == 0) {
+            createEmptyAggregate(restaurantId);
+            restaurantRatingRepository.incrementRating(restaurantId, rating);
+        }
+    }
+    
+    // Commits an empty row on its own, so racing first reviews (or a rebuild) cannot fail the
+    // review with a duplicate key; whoever loses just increments the winner's row
+    private void createEmptyAggregate(Long restaurantId) {
+        try {
+            newTransaction.executeWithoutResult(tx -> {
+                if (!restaurantRatingRepository.existsById(restaurantId)) {
+                    restaurantRatingRepository.saveAndFlush(new RestaurantRating(restaurantId));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rating aggregate for restaurant {} was created concurrently", restaurantId);
+        }
+    }
+    
+    @Transactional
+    public void createAggregate(Long restaurantId) {
+        if (!restaurantRatingRepository.existsById(restaurantId)) {
+            restaurantRatingRepository.save(new RestaurantRating(restaurantId));
+        }
+    }
+    
+    @Transactional
+    public void deleteAggregate(Long restaurantId) {
+        restaurantRatingRepository.deleteById(restaurantId);
+    }
+    
+    @Transactional(readOnly = true)
+    public RestaurantRatingDTO getRating(Long restaurantId) {
+        RestaurantRating aggregate = restaurantRatingRepository.findById(restaurantId)
+                .orElseGet(() -> new RestaurantRating(restaurantId));
+        
+        return new RestaurantRatingDTO(
+            restaurantId,
+            aggregate.getAverageRating(),
+            aggregate.getRatingCount(),
+            aggregate.getHistogram()
+        );
+    }
+    
+    /**
+     * Recomputes every aggregate from the {@code feedbacks} table in one set-based MERGE.
+     * Repairs drift, creates rows for restaurants that have none yet and drops rows of
+     * deleted restaurants.
+     * <p>
+     * The existing rows are locked before feedbacks are read. A review that already
+     * incremented its row commits first and is then seen by the grouped scan; one that has
+     * not waits for the rebuild and increments the rebuilt value. Either way it is counted
+     * once.
+     */
+    @Transactional
+    public int rebuildAggregates() {
+        restaurantRatingRepository.findAllForUpdate();
+        restaurantRatingRepository.deleteOrphans();
+        return restaurantRatingRepository.recomputeFromFeedbacks();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildOnStartup() {
+        int rebuilt = rebuildAggregates();
+        log.info("Rebuilt rating aggregates for {} restaurants", rebuilt);
+    }
+    
+    @Scheduled(cron = "${ratings.rebuild.cron:0 30 3 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        int rebuilt = rebuildAggregates();
+        log.info("Scheduled rating aggregate repair covered {} restaurants", rebuilt);
+    }
+}
\ No newline at end of file
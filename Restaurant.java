@@ -1,5 +1,6 @@
 package com.example.fooddelivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -11,7 +12,8 @@ import java.util.List;
 public class Restaurant {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurants_seq")
+    @SequenceGenerator(name = "restaurants_seq", sequenceName = "restaurants_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -26,6 +28,12 @@ public class Restaurant {
     @JsonIgnoreProperties("restaurant")
     private List<MenuItem> menuItems = new ArrayList<>();
     
+    // Restaurant account that may manage its menu and orders; admins manage every restaurant
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id")
+    @JsonIgnore
+    private User owner;
+    
     // Constructors
     public Restaurant() {
     }
@@ -76,4 +84,12 @@ public class Restaurant {
     public void setMenuItems(List<MenuItem> menuItems) {
         this.menuItems = menuItems;
     }
+    
+    public User getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(User owner) {
+        this.owner = owner;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,27 @@
 package com.example.fooddelivery.controller;
 
+import com.example.fooddelivery.dto.CursorPage;
+import com.example.fooddelivery.dto.KitchenTicketDTO;
 import com.example.fooddelivery.dto.MenuItemDTO;
+import com.example.fooddelivery.dto.OrderDetailDTO;
+import com.example.fooddelivery.dto.OrderStatusUpdate;
+import com.example.fooddelivery.dto.OrderStatusUpdateResult;
+import com.example.fooddelivery.dto.RestaurantTicketDTO;
 import com.example.fooddelivery.model.MenuItem;
-import com.example.fooddelivery.model.Order;
 import com.example.fooddelivery.model.OrderStatus;
 import com.example.fooddelivery.model.Restaurant;
+import com.example.fooddelivery.service.KitchenQueueService;
 import com.example.fooddelivery.service.OrderService;
 import com.example.fooddelivery.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,11 +37,14 @@ public class RestaurantController {
     
     private final RestaurantService restaurantService;
     private final OrderService orderService;
+    private final KitchenQueueService kitchenQueueService;
     
     @Autowired
-    public RestaurantController(RestaurantService restaurantService, OrderService orderService) {
+    public RestaurantController(RestaurantService restaurantService, OrderService orderService,
+                                KitchenQueueService kitchenQueueService) {
         this.restaurantService = restaurantService;
         this.orderService = orderService;
+        this.kitchenQueueService = kitchenQueueService;
     }
     
     @GetMapping
@@ -52,26 +66,114 @@ public class RestaurantController {
     }
     
     @GetMapping("/{id}/orders")
-    public ResponseEntity<List<Order>> getRestaurantOrders(@PathVariable Long id) {
-        List<Order> orders = orderService.getOrdersByRestaurant(id);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<CursorPage<RestaurantTicketDTO>> getRestaurantOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getRestaurantTickets(id, status, from, to, cursor, limit));
+    }
+    
+    // Active orders only: waiting and preparing tickets, each in priority order
+    @GetMapping("/{id}/kitchen")
+    public ResponseEntity<Map<String, Object>> getKitchenQueue(@PathVariable Long id) {
+        return ResponseEntity.ok(kitchenQueueService.getQueue(id));
+    }
+    
+    @GetMapping("/{id}/kitchen/next")
+    public ResponseEntity<KitchenTicketDTO> peekKitchenQueue(@PathVariable Long id) {
+        return kitchenQueueService.peek(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+    
+    // Starts preparing the highest-priority waiting order
+    @PostMapping("/{id}/kitchen/take")
+    public ResponseEntity<?> takeFromKitchenQueue(@PathVariable Long id, Authentication authentication) {
+        if (!canManage(id, authentication)) {
+            return forbidden(id);
+        }
+        return kitchenQueueService.take(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+    
+    // A snapshot event, then added/updated/removed events as tickets change
+    @GetMapping(value = "/{id}/kitchen/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenQueue(@PathVariable Long id) {
+        return kitchenQueueService.subscribe(id);
     }
     
     @PutMapping("/{restaurantId}/menu/{menuItemId}")
-    public ResponseEntity<MenuItem> updateMenuItem(
+    public ResponseEntity<?> updateMenuItem(
             @PathVariable Long restaurantId,
             @PathVariable Long menuItemId,
-            @RequestBody MenuItem menuItem) {
+            @RequestBody MenuItem menuItem,
+            Authentication authentication) {
+        if (!canManage(restaurantId, authentication)) {
+            return forbidden(restaurantId);
+        }
         MenuItem updatedMenuItem = restaurantService.updateMenuItem(restaurantId, menuItemId, menuItem);
         return ResponseEntity.ok(updatedMenuItem);
     }
     
     @PutMapping("/orders/{orderId}/status")
-    public ResponseEntity<Order> updateOrderStatus(
+    public ResponseEntity<?> updateOrderStatus(
             @PathVariable Long orderId,
-            @RequestBody Map<String, String> statusUpdate) {
-        OrderStatus status = OrderStatus.valueOf(statusUpdate.get("status"));
-        Order updatedOrder = orderService.updateOrderStatus(orderId, status);
-        return ResponseEntity.ok(updatedOrder);
+            @RequestBody Map<String, String> statusUpdate,
+            Authentication authentication) {
+        Long restaurantId = orderService.getRestaurantIdForOrder(orderId);
+        if (!canManage(restaurantId, authentication)) {
+            return forbidden(restaurantId);
+        }
+        if (statusUpdate.get("status") == null) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Status is required")
+            );
+        }
+        try {
+            OrderStatus status = OrderStatus.valueOf(statusUpdate.get("status"));
+            OrderDetailDTO updatedOrder = orderService.updateOrderStatus(orderId, status);
+            return ResponseEntity.ok(updatedOrder);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", "Invalid status: " + statusUpdate.get("status"))
+            );
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    // Body is an array of {orderId, status}; each entry gets its own result, in request order
+    @PutMapping("/{restaurantId}/orders/status")
+    public ResponseEntity<?> updateOrderStatuses(
+            @PathVariable Long restaurantId,
+            @RequestBody List<OrderStatusUpdate> updates,
+            Authentication authentication) {
+        if (!canManage(restaurantId, authentication)) {
+            return forbidden(restaurantId);
+        }
+        try {
+            List<OrderStatusUpdateResult> results = orderService.updateOrderStatuses(restaurantId, updates);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    private boolean canManage(Long restaurantId, Authentication authentication) {
+        return restaurantService.canManage(restaurantId, authentication);
+    }
+    
+    private static ResponseEntity<Map<String, String>> forbidden(Long restaurantId) {
+        return ResponseEntity.status(403).body(
+            Map.of("message", "Not allowed to manage restaurant " + restaurantId)
+        );
     }
 }
\ No newline at end of file
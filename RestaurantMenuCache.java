@@ -0,0 +1,68 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.MenuItemDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-process cache of restaurant menus keyed by restaurant id. Entries are unmodifiable
+ * lists, bounded by size with Caffeine's W-TinyLFU eviction. Concurrent misses on the
+ * same key share a single load.
+ */
+@Component
+public class RestaurantMenuCache {
+    
+    private final Cache<Long, List<MenuItemDTO>> menus;
+    
+    public RestaurantMenuCache(@Value("${menu.cache.max-entries:1000}") long maxEntries) {
+        this.menus = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+    
+    public List<MenuItemDTO> get(Long restaurantId, Function<Long, List<MenuItemDTO>> loader) {
+        return menus.get(restaurantId, id -> List.copyOf(loader.apply(id)));
+    }
+    
+    /**
+     * Drops the menu once the surrounding transaction commits, so a reader racing the
+     * write cannot load and cache the pre-commit rows after the invalidation.
+     */
+    public void invalidateAfterCommit(Long restaurantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            menus.invalidate(restaurantId);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                menus.invalidate(restaurantId);
+            }
+        });
+    }
+    
+    public Map<String, Object> getStats() {
+        CacheStats stats = menus.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", menus.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
\ No newline at end of file
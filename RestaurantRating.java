@@ -0,0 +1,126 @@
+package com.example.fooddelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "restaurant_ratings")
+public class RestaurantRating {
+    
+    @Id
+    private Long restaurantId;
+    
+    private long ratingCount;
+    
+    private long ratingSum;
+    
+    private long oneStarCount;
+    
+    private long twoStarCount;
+    
+    private long threeStarCount;
+    
+    private long fourStarCount;
+    
+    private long fiveStarCount;
+    
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public RestaurantRating() {
+    }
+    
+    public RestaurantRating(Long restaurantId) {
+        this.restaurantId = restaurantId;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+    
+    public Map<Integer, Long> getHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, oneStarCount);
+        histogram.put(2, twoStarCount);
+        histogram.put(3, threeStarCount);
+        histogram.put(4, fourStarCount);
+        histogram.put(5, fiveStarCount);
+        return histogram;
+    }
+    
+    // Getters and Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public long getRatingCount() {
+        return ratingCount;
+    }
+    
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+    
+    public long getRatingSum() {
+        return ratingSum;
+    }
+    
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+    
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+    
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+    
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+    
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+    
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+    
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+    
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+    
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+    
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+    
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
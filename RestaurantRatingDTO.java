@@ -0,0 +1,54 @@
+package com.example.fooddelivery.dto;
+
+import java.util.Map;
+
+public class RestaurantRatingDTO {
+    private Long restaurantId;
+    private Double averageRating;
+    private Long totalRatings;
+    private Map<Integer, Long> histogram;
+    
+    // Constructors
+    public RestaurantRatingDTO() {
+    }
+    
+    public RestaurantRatingDTO(Long restaurantId, Double averageRating, Long totalRatings, Map<Integer, Long> histogram) {
+        this.restaurantId = restaurantId;
+        this.averageRating = averageRating;
+        this.totalRatings = totalRatings;
+        this.histogram = histogram;
+    }
+    
+    // Getters and Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public Double getAverageRating() {
+        return averageRating;
+    }
+    
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+    
+    public Long getTotalRatings() {
+        return totalRatings;
+    }
+    
+    public void setTotalRatings(Long totalRatings) {
+        this.totalRatings = totalRatings;
+    }
+    
+    public Map<Integer, Long> getHistogram() {
+        return histogram;
+    }
+    
+    public void setHistogram(Map<Integer, Long> histogram) {
+        this.histogram = histogram;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.RestaurantRating;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RestaurantRatingRepository extends JpaRepository<RestaurantRating, Long> {
+    
+    // Atomic in-place increment, so concurrent reviews never lose an update
+    @Modifying
+    @Query("UPDATE RestaurantRating r SET " +
+           "r.ratingCount = r.ratingCount + 1, " +
+           "r.ratingSum = r.ratingSum + :rating, " +
+           "r.oneStarCount = r.oneStarCount + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+           "r.twoStarCount = r.twoStarCount + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+           "r.threeStarCount = r.threeStarCount + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+           "r.fourStarCount = r.fourStarCount + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+           "r.fiveStarCount = r.fiveStarCount + CASE WHEN :rating = 5 THEN 1 ELSE 0 END, " +
+           "r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.restaurantId = :restaurantId")
+    int incrementRating(@Param("restaurantId") Long restaurantId, @Param("rating") int rating);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RestaurantRating r")
+    List<RestaurantRating> findAllForUpdate();
+    
+    @Modifying
+    @Query("DELETE FROM RestaurantRating r WHERE r.restaurantId NOT IN (SELECT x.id FROM Restaurant x)")
+    int deleteOrphans();
+    
+    // One grouped scan of feedbacks; restaurants without a row get one, those without reviews get zeros
+    @Modifying
+    @Query(value = "MERGE INTO restaurant_ratings t USING (" +
+           "SELECT r.id AS restaurant_id, COUNT(f.id) AS rating_count, COALESCE(SUM(f.rating), 0) AS rating_sum, " +
+           "COUNT(CASE WHEN f.rating = 1 THEN 1 END) AS one_star_count, " +
+           "COUNT(CASE WHEN f.rating = 2 THEN 1 END) AS two_star_count, " +
+           "COUNT(CASE WHEN f.rating = 3 THEN 1 END) AS three_star_count, " +
+           "COUNT(CASE WHEN f.rating = 4 THEN 1 END) AS four_star_count, " +
+           "COUNT(CASE WHEN f.rating = 5 THEN 1 END) AS five_star_count " +
+           "FROM restaurants r LEFT JOIN feedbacks f ON f.restaurant_id = r.id GROUP BY r.id) s " +
+           "ON t.restaurant_id = s.restaurant_id " +
+           "WHEN MATCHED THEN UPDATE SET rating_count = s.rating_count, rating_sum = s.rating_sum, " +
+           "one_star_count = s.one_star_count, two_star_count = s.two_star_count, " +
+           "three_star_count = s.three_star_count, four_star_count = s.four_star_count, " +
+           "five_star_count = s.five_star_count, updated_at = CURRENT_TIMESTAMP " +
+           "WHEN NOT MATCHED THEN INSERT (restaurant_id, rating_count, rating_sum, one_star_count, two_star_count, " +
+           "three_star_count, four_star_count, five_star_count, updated_at) " +
+           "VALUES (s.restaurant_id, s.rating_count, s.rating_sum, s.one_star_count, s.two_star_count, " +
+           "s.three_star_count, s.four_star_count, s.five_star_count, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int recomputeFromFeedbacks();
+}
\ No newline at end of file
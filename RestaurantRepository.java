@@ -2,8 +2,17 @@ package com.example.fooddelivery.repository;
 
 import com.example.fooddelivery.model.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+    
+    boolean existsByIdAndOwnerEmail(Long id, String email);
+    
+    // Rows of [id, name, location]
+    @Query("SELECT r.id, r.name, r.location FROM Restaurant r")
+    List<Object[]> findSearchRows();
 }
\ No newline at end of file
@@ -7,22 +7,39 @@ import com.example.fooddelivery.model.Restaurant;
 import com.example.fooddelivery.repository.MenuItemRepository;
 import com.example.fooddelivery.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 public class RestaurantService {
     
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final RestaurantMenuCache menuCache;
+    private final SearchService searchService;
+    private final SuggestionService suggestionService;
+    private final PlatformStatsService platformStatsService;
     
     @Autowired
-    public RestaurantService(RestaurantRepository restaurantRepository, MenuItemRepository menuItemRepository) {
+    public RestaurantService(RestaurantRepository restaurantRepository,
+                             MenuItemRepository menuItemRepository,
+                             RatingAggregateService ratingAggregateService,
+                             RestaurantMenuCache menuCache,
+                             SearchService searchService,
+                             SuggestionService suggestionService,
+                             PlatformStatsService platformStatsService) {
         this.restaurantRepository = restaurantRepository;
         this.menuItemRepository = menuItemRepository;
+        this.ratingAggregateService = ratingAggregateService;
+        this.menuCache = menuCache;
+        this.searchService = searchService;
+        this.suggestionService = suggestionService;
+        this.platformStatsService = platformStatsService;
     }
     
     @Transactional(readOnly = true)
@@ -37,26 +54,44 @@ public class RestaurantService {
     }
     
     @Transactional(readOnly = true)
+    public boolean isOwnedBy(Long restaurantId, String email) {
+        return restaurantRepository.existsByIdAndOwnerEmail(restaurantId, email);
+    }
+    
+    // Admins manage every restaurant; restaurant accounts only the ones they own
+    public boolean canManage(Long restaurantId, Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        return admin || isOwnedBy(restaurantId, authentication.getName());
+    }
+    
+    // Served from the menu cache; a miss costs one projection query
     public List<MenuItemDTO> getMenuItemsByRestaurantId(Long restaurantId) {
-        Restaurant restaurant = getRestaurantById(restaurantId);
-        List<MenuItem> menuItems = menuItemRepository.findByRestaurant(restaurant);
+        return menuCache.get(restaurantId, this::loadMenu);
+    }
+    
+    private List<MenuItemDTO> loadMenu(Long restaurantId) {
+        List<MenuItemDTO> menuItems = menuItemRepository.findMenuByRestaurantId(restaurantId);
         
-        // Convert to DTO with explicit restaurantId
-        return menuItems.stream()
-            .map(item -> new MenuItemDTO(
-                item.getId(),
-                item.getName(),
-                item.getDescription(),
-                item.getPrice(),
-                item.getDiscountPercentage(),
-                restaurantId
-            ))
-            .collect(Collectors.toList());
+        // An empty menu is only a 404 when the restaurant itself is missing
+        if (menuItems.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        return menuItems;
+    }
+    
+    public Map<String, Object> getMenuCacheStats() {
+        return menuCache.getStats();
     }
     
     @Transactional
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        ratingAggregateService.createAggregate(savedRestaurant.getId());
+        platformStatsService.recordRestaurantCountChange(1);
+        searchService.indexRestaurantAfterCommit(savedRestaurant);
+        suggestionService.rebuildAfterCommit();
+        return savedRestaurant;
     }
     
     @Transactional
@@ -65,13 +100,22 @@ public class RestaurantService {
         restaurant.setName(restaurantDetails.getName());
         restaurant.setLocation(restaurantDetails.getLocation());
         restaurant.setContactInfo(restaurantDetails.getContactInfo());
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        menuCache.invalidateAfterCommit(id);
+        searchService.indexRestaurantAfterCommit(savedRestaurant);
+        suggestionService.rebuildAfterCommit();
+        return savedRestaurant;
     }
     
     @Transactional
     public void deleteRestaurant(Long id) {
         Restaurant restaurant = getRestaurantById(id);
         restaurantRepository.delete(restaurant);
+        ratingAggregateService.deleteAggregate(id);
+        platformStatsService.recordRestaurantCountChange(-1);
+        menuCache.invalidateAfterCommit(id);
+        searchService.removeRestaurantAfterCommit(id);
+        suggestionService.rebuildAfterCommit();
     }
     
     @Transactional
@@ -89,6 +133,10 @@ public class RestaurantService {
         menuItem.setPrice(menuItemDetails.getPrice());
         menuItem.setDiscountPercentage(menuItemDetails.getDiscountPercentage());
         
-        return menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        menuCache.invalidateAfterCommit(restaurantId);
+        searchService.indexMenuItemAfterCommit(restaurantId, savedMenuItem);
+        suggestionService.rebuildAfterCommit();
+        return savedMenuItem;
     }
 }
\ No newline at end of file
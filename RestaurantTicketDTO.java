@@ -0,0 +1,148 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class RestaurantTicketDTO {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private String customerName;
+    private String deliveryAddress;
+    private Long itemCount;
+    private List<TicketLine> lines;
+    private PaymentMethod paymentMethod;
+    private PaymentStatus paymentStatus;
+    
+    // Constructors
+    public RestaurantTicketDTO() {
+    }
+    
+    public RestaurantTicketDTO(Long orderId, LocalDateTime orderDate, OrderStatus status, String customerName, String deliveryAddress, Long itemCount, List<TicketLine> lines, PaymentMethod paymentMethod, PaymentStatus paymentStatus) {
+        this.orderId = orderId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.customerName = customerName;
+        this.deliveryAddress = deliveryAddress;
+        this.itemCount = itemCount;
+        this.lines = lines;
+        this.paymentMethod = paymentMethod;
+        this.paymentStatus = paymentStatus;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+    
+    public String getDeliveryAddress() {
+        return deliveryAddress;
+    }
+    
+    public void setDeliveryAddress(String deliveryAddress) {
+        this.deliveryAddress = deliveryAddress;
+    }
+    
+    public Long getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    public List<TicketLine> getLines() {
+        return lines;
+    }
+    
+    public void setLines(List<TicketLine> lines) {
+        this.lines = lines;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+    
+    public static class TicketLine {
+        private Long menuItemId;
+        private String name;
+        private Integer quantity;
+        
+        public TicketLine() {
+        }
+        
+        public TicketLine(Long menuItemId, String name, Integer quantity) {
+            this.menuItemId = menuItemId;
+            this.name = name;
+            this.quantity = quantity;
+        }
+        
+        public Long getMenuItemId() {
+            return menuItemId;
+        }
+        
+        public void setMenuItemId(Long menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public Integer getQuantity() {
+            return quantity;
+        }
+        
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
\ No newline at end of file
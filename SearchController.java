@@ -0,0 +1,57 @@
+package com.example.fooddelivery.controller;
+
+import com.example.fooddelivery.service.SearchService;
+import com.example.fooddelivery.service.SuggestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(
+    origins = {"http://localhost:5173", "http://127.0.0.1:5173", "http://localhost:3000", "http://127.0.0.1:3000"},
+    allowedHeaders = "*",
+    methods = {RequestMethod.GET, RequestMethod.OPTIONS},
+    allowCredentials = "true"
+)
+public class SearchController {
+    
+    private final SearchService searchService;
+    private final SuggestionService suggestionService;
+    
+    @Autowired
+    public SearchController(SearchService searchService, SuggestionService suggestionService) {
+        this.searchService = searchService;
+        this.suggestionService = suggestionService;
+    }
+    
+    // Restaurants and menu items ranked by relevance; tolerates prefixes and small typos
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.search(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+    
+    // Autocomplete: the most popular restaurant and dish names with a word starting with the prefix
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(suggestionService.suggest(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("message", e.getMessage())
+            );
+        }
+    }
+}
\ No newline at end of file
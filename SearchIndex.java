@@ -0,0 +1,482 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.model.Money;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over restaurants (name, location) and menu items (name,
+ * description), ranked with BM25 across both fields, the name weighted higher.
+ * <p>
+ * Each query token matches its exact term, then terms it is a prefix of, and, when it
+ * matches no term exactly, terms sharing enough character trigrams with it (so "piza"
+ * still finds "pizza"). Expanded matches count for less than exact ones, and a document
+ * scores only its best match per query token.
+ * <p>
+ * Postings are doc-id ordered arrays. Every put indexes a fresh document id, so appending
+ * keeps them sorted, and a removal is a binary search plus a shift. Once removed slots
+ * outnumber live documents, ids are renumbered in order to reclaim them. Reads share a
+ * lock; writes take it exclusively.
+ */
+public final class SearchIndex {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float DETAIL_WEIGHT = 1.0f;
+    private static final float PREFIX_WEIGHT = 0.7f;
+    private static final float FUZZY_WEIGHT = 0.5f;
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final int MAX_EXPANSIONS = 32;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Guarded by lock
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    // Field lengths by doc id, kept apart from Doc so scoring reads flat arrays
+    private int[] nameLengths = new int[1024];
+    private int[] detailLengths = new int[1024];
+    private final Map<Long, Integer> restaurantDocs = new HashMap<>();
+    private final Map<Long, Integer> menuItemDocs = new HashMap<>();
+    private final Map<Long, Set<Long>> menuItemsByRestaurant = new HashMap<>();
+    private final Map<Long, String> restaurantNames = new HashMap<>();
+    private int liveDocs;
+    private long nameTokens;
+    private long detailTokens;
+    
+    public void putRestaurant(Long restaurantId, String name, String location) {
+        lock.writeLock().lock();
+        try {
+            remove(restaurantDocs.remove(restaurantId));
+            restaurantNames.put(restaurantId, name);
+            restaurantDocs.put(restaurantId, add(new Doc(SearchResultDTO.Type.RESTAURANT, restaurantId,
+                    restaurantId, name, location, null)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void putMenuItem(Long menuItemId, Long restaurantId, String name, String description, Money price) {
+        lock.writeLock().lock();
+        try {
+            removeMenuItemDoc(menuItemId);
+            menuItemDocs.put(menuItemId, add(new Doc(SearchResultDTO.Type.MENU_ITEM, menuItemId,
+                    restaurantId, name, description, price)));
+            menuItemsByRestaurant.computeIfAbsent(restaurantId, id -> new HashSet<>()).add(menuItemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Also drops the restaurant's menu items, which are deleted with it
+    public void removeRestaurant(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            remove(restaurantDocs.remove(restaurantId));
+            restaurantNames.remove(restaurantId);
+            Set<Long> menuItemIds = menuItemsByRestaurant.remove(restaurantId);
+            if (menuItemIds != null) {
+                for (Long menuItemId : menuItemIds) {
+                    remove(menuItemDocs.remove(menuItemId));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void removeMenuItem(Long menuItemId) {
+        lock.writeLock().lock();
+        try {
+            removeMenuItemDoc(menuItemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            termsByTrigram.clear();
+            docs.clear();
+            restaurantDocs.clear();
+            menuItemDocs.clear();
+            menuItemsByRestaurant.clear();
+            restaurantNames.clear();
+            liveDocs = 0;
+            nameTokens = 0;
+            detailTokens = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Best {@code limit} matches for {@code query}, highest score first.
+     */
+    public List<SearchResultDTO> search(String query, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.size() > MAX_QUERY_TOKENS) {
+            queryTokens = queryTokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float[] nameNorms = norms(Math.max(1f, (float) nameTokens / liveDocs));
+            float[] detailNorms = norms(Math.max(1f, (float) detailTokens / liveDocs));
+            float[] total = new float[docs.size()];
+            float[] best = new float[docs.size()];
+            int[] touched = new int[16];
+            
+            for (String token : queryTokens) {
+                int touchedCount = 0;
+                for (Map.Entry<String, Float> expansion : expand(token).entrySet()) {
+                    Postings postings = terms.get(expansion.getKey());
+                    float idf = (float) Math.log(1 + (liveDocs - postings.size + 0.5) / (postings.size + 0.5));
+                    float weight = expansion.getValue() * idf;
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        int freqs = postings.freqs[i];
+                        float score = weight * (NAME_WEIGHT * bm25(freqs >>> 16, nameLengths[doc], nameNorms)
+                                + DETAIL_WEIGHT * bm25(freqs & 0xFFFF, detailLengths[doc], detailNorms));
+                        if (best[doc] == 0) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = doc;
+                        }
+                        if (score > best[doc]) {
+                            best[doc] = score;
+                        }
+                    }
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int doc = touched[i];
+                    total[doc] += best[doc];
+                    best[doc] = 0;
+                }
+            }
+            return topResults(total, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Lower-cased, accent-folded runs of letters and digits
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    private static float bm25(int tf, int length, float[] norms) {
+        if (tf == 0) {
+            return 0;
+        }
+        return tf * (K1 + 1) / (tf + norms[Math.min(length, norms.length - 1)]);
+    }
+    
+    // BM25 length normalisation by field length; longer fields share the last entry
+    private static float[] norms(float avgLength) {
+        float[] norms = new float[256];
+        for (int length = 0; length < norms.length; length++) {
+            norms[length] = K1 * (1 - B + B * length / avgLength);
+        }
+        return norms;
+    }
+    
+    // Matching terms for one query token with the weight each contributes
+    private Map<String, Float> expand(String token) {
+        Map<String, Float> expansions = new HashMap<>();
+        boolean exact = terms.containsKey(token);
+        if (exact) {
+            expansions.put(token, 1f);
+        }
+        if (token.length() >= 2) {
+            for (String term : terms.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(term, PREFIX_WEIGHT);
+            }
+        }
+        if (!exact && token.length() >= 3) {
+            expandFuzzy(token, expansions);
+        }
+        return expansions;
+    }
+    
+    // Dice similarity over padded trigrams; only terms sharing a trigram are ever compared
+    private void expandFuzzy(String token, Map<String, Float> expansions) {
+        List<String> tokenGrams = trigrams(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : new HashSet<>(tokenGrams)) {
+            Set<String> candidates = termsByTrigram.get(gram);
+            if (candidates != null) {
+                for (String term : candidates) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        
+        PriorityQueue<Map.Entry<String, Double>> closest = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            double similarity = 2.0 * candidate.getValue() / (tokenGrams.size() + term.length());
+            if (similarity >= MIN_SIMILARITY && !expansions.containsKey(term)) {
+                closest.add(Map.entry(term, similarity));
+                if (closest.size() > MAX_EXPANSIONS) {
+                    closest.poll();
+                }
+            }
+        }
+        for (Map.Entry<String, Double> match : closest) {
+            expansions.put(match.getKey(), (float) (FUZZY_WEIGHT * match.getValue()));
+        }
+    }
+    
+    // "$pizza$" -> $pi, piz, izz, zza, za$; a term of n characters has n of them
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        if (grams.isEmpty()) {
+            grams.add(padded);
+        }
+        return grams;
+    }
+    
+    private List<SearchResultDTO> topResults(float[] total, int limit) {
+        PriorityQueue<Integer> top = new PriorityQueue<>((a, b) -> total[a] != total[b]
+                ? Float.compare(total[a], total[b]) : Integer.compare(b, a));
+        for (int doc = 0; doc < total.length; doc++) {
+            // Ties go to the lower doc id, which was seen first
+            if (total[doc] > 0 && (top.size() < limit || total[doc] > total[top.peek()])) {
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        
+        SearchResultDTO[] results = new SearchResultDTO[top.size()];
+        for (int i = results.length - 1; i >= 0; i--) {
+            int doc = top.poll();
+            Doc d = docs.get(doc);
+            results[i] = new SearchResultDTO(d.type, d.id, d.restaurantId, restaurantNames.get(d.restaurantId),
+                    d.name, d.detail, d.price, total[doc]);
+        }
+        return List.of(results);
+    }
+    
+    private int add(Doc doc) {
+        int docId = docs.size();
+        docs.add(doc);
+        
+        List<String> nameTerms = tokenize(doc.name);
+        List<String> detailTerms = tokenize(doc.detail);
+        doc.nameLength = nameTerms.size();
+        doc.detailLength = detailTerms.size();
+        if (docId == nameLengths.length) {
+            nameLengths = Arrays.copyOf(nameLengths, docId * 2);
+            detailLengths = Arrays.copyOf(detailLengths, docId * 2);
+        }
+        nameLengths[docId] = doc.nameLength;
+        detailLengths[docId] = doc.detailLength;
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : nameTerms) {
+            freqs.merge(term, 1 << 16, Integer::sum);
+        }
+        for (String term : detailTerms) {
+            freqs.merge(term, 1, (a, b) -> (a & 0xFFFF) == 0xFFFF ? a : a + b);
+        }
+        doc.terms = freqs.keySet().toArray(new String[0]);
+        
+        for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+            String term = entry.getKey();
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(term, postings);
+                for (String gram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+            postings.append(docId, entry.getValue());
+        }
+        liveDocs++;
+        nameTokens += doc.nameLength;
+        detailTokens += doc.detailLength;
+        return docId;
+    }
+    
+    private void remove(Integer docId) {
+        if (docId == null) {
+            return;
+        }
+        Doc doc = docs.set(docId, null);
+        for (String term : doc.terms) {
+            Postings postings = terms.get(term);
+            postings.remove(docId);
+            if (postings.size == 0) {
+                terms.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> gramTerms = termsByTrigram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+        liveDocs--;
+        nameTokens -= doc.nameLength;
+        detailTokens -= doc.detailLength;
+        
+        int removedSlots = docs.size() - liveDocs;
+        if (removedSlots > liveDocs && removedSlots >= MIN_COMPACTION_SLOTS) {
+            compact();
+        }
+    }
+    
+    // Renumbering preserves order, so every postings array stays sorted
+    private void compact() {
+        int[] renumbered = new int[docs.size()];
+        List<Doc> live = new ArrayList<>(liveDocs);
+        for (int docId = 0; docId < docs.size(); docId++) {
+            Doc doc = docs.get(docId);
+            if (doc != null) {
+                renumbered[docId] = live.size();
+                live.add(doc);
+            }
+        }
+        for (Postings postings : terms.values()) {
+            for (int i = 0; i < postings.size; i++) {
+                postings.docs[i] = renumbered[postings.docs[i]];
+            }
+        }
+        restaurantDocs.replaceAll((id, docId) -> renumbered[docId]);
+        menuItemDocs.replaceAll((id, docId) -> renumbered[docId]);
+        docs.clear();
+        docs.addAll(live);
+        for (int docId = 0; docId < live.size(); docId++) {
+            nameLengths[docId] = live.get(docId).nameLength;
+            detailLengths[docId] = live.get(docId).detailLength;
+        }
+    }
+    
+    private void removeMenuItemDoc(Long menuItemId) {
+        Integer docId = menuItemDocs.remove(menuItemId);
+        if (docId == null) {
+            return;
+        }
+        Set<Long> siblings = menuItemsByRestaurant.get(docs.get(docId).restaurantId);
+        if (siblings != null) {
+            siblings.remove(menuItemId);
+        }
+        remove(docId);
+    }
+    
+    private static final class Doc {
+        
+        private final SearchResultDTO.Type type;
+        private final Long id;
+        private final Long restaurantId;
+        private final String name;
+        private final String detail;
+        private final Money price;
+        private int nameLength;
+        private int detailLength;
+        private String[] terms;
+        
+        Doc(SearchResultDTO.Type type, Long id, Long restaurantId, String name, String detail, Money price) {
+            this.type = type;
+            this.id = id;
+            this.restaurantId = restaurantId;
+            this.name = name;
+            this.detail = detail;
+            this.price = price;
+        }
+    }
+    
+    // Doc ids with their term frequencies packed as name << 16 | detail
+    private static final class Postings {
+        
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        
+        void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+        
+        void remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+            size--;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+    
+    private final SearchIndex index = new SearchIndex();
+    
+    @Test
+    void nameMatchOutranksDetailMatch() {
+        index.putRestaurant(1L, "Pizza Palace", "Downtown");
+        index.putMenuItem(10L, 2L, "Garlic Bread", "Pairs well with pizza", Money.ofMinor(450));
+        
+        assertEquals(List.of("Pizza Palace", "Garlic Bread"), names(index.search("pizza", 10)));
+    }
+    
+    @Test
+    void rarerTermsWeighMore() {
+        index.putMenuItem(1L, 1L, "Chicken Curry", null, Money.ofMinor(900));
+        index.putMenuItem(2L, 1L, "Chicken Wrap", null, Money.ofMinor(700));
+        index.putMenuItem(3L, 1L, "Chicken Soup", null, Money.ofMinor(500));
+        index.putMenuItem(4L, 1L, "Beef Stew", null, Money.ofMinor(1100));
+        
+        // "beef" is in one document of four, "chicken" in three
+        assertEquals("Beef Stew", index.search("chicken beef", 10).get(0).getName());
+        assertEquals("Chicken Curry", index.search("chicken curry", 10).get(0).getName());
+    }
+    
+    @Test
+    void shorterFieldsScoreHigherForTheSameTerm() {
+        index.putMenuItem(1L, 1L, "Pizza Margherita Special", null, Money.ofMinor(1200));
+        index.putMenuItem(2L, 1L, "Pizza", null, Money.ofMinor(1000));
+        
+        assertEquals(List.of("Pizza", "Pizza Margherita Special"), names(index.search("pizza", 10)));
+    }
+    
+    @Test
+    void prefixMatchesCountLessThanExactOnes() {
+        index.putMenuItem(1L, 1L, "Burgers", null, Money.ofMinor(800));
+        index.putMenuItem(2L, 1L, "Burger", null, Money.ofMinor(800));
+        
+        List<SearchResultDTO> results = index.search("burger", 10);
+        assertEquals(List.of("Burger", "Burgers"), names(results));
+        assertEquals(0.7, results.get(1).getScore() / results.get(0).getScore(), 1e-3);
+        
+        // Both are only prefix matches here, so they tie and the one indexed first leads
+        List<SearchResultDTO> prefixOnly = index.search("burg", 10);
+        assertEquals(List.of("Burgers", "Burger"), names(prefixOnly));
+        assertEquals(prefixOnly.get(0).getScore(), prefixOnly.get(1).getScore());
+        // A single character is too short to expand
+        assertEquals(List.of(), index.search("b", 10));
+    }
+    
+    @Test
+    void misspelledTokenFindsTermsSharingItsTrigrams() {
+        index.putRestaurant(1L, "Pizza Palace", "Downtown");
+        index.putMenuItem(10L, 2L, "Pasta", null, Money.ofMinor(900));
+        index.putMenuItem(11L, 2L, "Paste", null, Money.ofMinor(100));
+        
+        assertEquals(List.of("Pizza Palace"), names(index.search("piza", 10)));
+        assertEquals(List.of("Pizza Palace"), names(index.search("PIZZZA", 10)));
+        // Tokens under three characters and unrelated words get no fuzzy matches
+        assertEquals(List.of(), index.search("pz", 10));
+        assertEquals(List.of(), index.search("sushi", 10));
+    }
+    
+    @Test
+    void exactMatchSuppressesFuzzyExpansion() {
+        index.putMenuItem(1L, 1L, "Pasta", null, Money.ofMinor(900));
+        index.putMenuItem(2L, 1L, "Paste", null, Money.ofMinor(100));
+        
+        assertEquals(List.of("Pasta"), names(index.search("pasta", 10)));
+        // "pastq" is neither term, so both are close enough to match
+        assertEquals(2, index.search("pastq", 10).size());
+    }
+    
+    @Test
+    void accentsAndCaseAreFolded() {
+        index.putMenuItem(1L, 1L, "Crème Brûlée", null, Money.ofMinor(650));
+        
+        assertEquals(List.of("Crème Brûlée"), names(index.search("creme brulee", 10)));
+        assertEquals(List.of("Crème Brûlée"), names(index.search("CRÈME", 10)));
+    }
+    
+    @Test
+    void menuItemsCarryTheirRestaurantName() {
+        index.putRestaurant(1L, "Sushi Bar", "Westlands");
+        index.putMenuItem(10L, 1L, "Salmon Nigiri", null, Money.ofMinor(800));
+        index.putRestaurant(1L, "Sushi Corner", "Westlands");
+        
+        SearchResultDTO result = index.search("salmon", 10).get(0);
+        assertEquals(SearchResultDTO.Type.MENU_ITEM, result.getType());
+        assertEquals(10L, result.getId());
+        assertEquals(1L, result.getRestaurantId());
+        assertEquals("Sushi Corner", result.getRestaurantName());
+        assertEquals(Money.ofMinor(800), result.getPrice());
+        assertEquals(List.of(), index.search("bar", 10));
+    }
+    
+    @Test
+    void puttingAMenuItemAgainReplacesIt() {
+        index.putMenuItem(1L, 1L, "Margherita", null, Money.ofMinor(1000));
+        index.putMenuItem(1L, 1L, "Marinara", null, Money.ofMinor(900));
+        
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.search("margherita", 10));
+        assertEquals(List.of("Marinara"), names(index.search("marinara", 10)));
+    }
+    
+    @Test
+    void removingARestaurantAlsoRemovesItsMenuItems() {
+        index.putRestaurant(1L, "Sushi Bar", "Westlands");
+        index.putMenuItem(10L, 1L, "Tuna Roll", null, Money.ofMinor(700));
+        index.putMenuItem(11L, 1L, "Salmon Nigiri", null, Money.ofMinor(800));
+        index.putRestaurant(2L, "Roll House", "Kilimani");
+        index.putMenuItem(20L, 2L, "Spring Roll", null, Money.ofMinor(400));
+        
+        index.removeRestaurant(1L);
+        
+        assertEquals(2, index.size());
+        assertEquals(List.of("Roll House", "Spring Roll"), names(index.search("roll", 10)));
+        assertEquals(List.of(), index.search("salmon", 10));
+        assertEquals(List.of(), index.search("sushi", 10));
+        // Removed terms leave no trigrams behind for fuzzy matching
+        assertEquals(List.of(), index.search("salmn", 10));
+    }
+    
+    @Test
+    void compactionRenumbersPostingsAndKeepsLaterUpdatesWorking() {
+        index.putRestaurant(1L, "Trattoria", "Parklands");
+        index.putMenuItem(1L, 1L, "Margherita", null, Money.ofMinor(1000));
+        index.putMenuItem(2L, 1L, "Pepperoni", null, Money.ofMinor(1100));
+        for (long id = 100; id < 1200; id++) {
+            index.putMenuItem(id, 1L, "Filler " + id, "Temporary dish", Money.ofMinor(100));
+        }
+        // Indexed after the fillers, so compaction moves it to a much lower id
+        index.putMenuItem(3L, 1L, "Calzone", null, Money.ofMinor(1200));
+        
+        for (long id = 100; id < 1200; id++) {
+            index.removeMenuItem(id);
+        }
+        
+        assertEquals(4, index.size());
+        assertEquals(List.of(), index.search("filler temporary", 10));
+        assertEquals(List.of(1L), ids(index.search("margherita", 10)));
+        assertEquals(List.of(2L), ids(index.search("pepperoni", 10)));
+        assertEquals(List.of(3L), ids(index.search("calzone", 10)));
+        
+        index.removeMenuItem(3L);
+        index.putMenuItem(1L, 1L, "Marinara", null, Money.ofMinor(900));
+        index.putMenuItem(4L, 1L, "Quattro Formaggi", null, Money.ofMinor(1300));
+        
+        assertEquals(List.of(), index.search("calzone", 10));
+        assertEquals(List.of(), index.search("margherita", 10));
+        assertEquals(List.of(1L), ids(index.search("marinara", 10)));
+        assertEquals(List.of(2L), ids(index.search("pepperoni", 10)));
+        assertEquals(List.of(4L), ids(index.search("formaggi", 10)));
+        assertEquals(List.of("Trattoria"), names(index.search("trattoria", 10)));
+        assertEquals(4, index.size());
+    }
+    
+    @Test
+    void limitAndEmptyQueriesReturnNothingExtra() {
+        for (long id = 1; id <= 5; id++) {
+            index.putMenuItem(id, 1L, "Salad " + id, null, Money.ofMinor(500));
+        }
+        
+        assertEquals(3, index.search("salad", 3).size());
+        assertEquals(List.of(), index.search("salad", 0));
+        assertEquals(List.of(), index.search("  ", 10));
+        assertEquals(List.of(), index.search(null, 10));
+        assertTrue(index.search("salad", 10).stream().allMatch(result -> result.getScore() > 0));
+    }
+    
+    private static List<String> names(List<SearchResultDTO> results) {
+        return results.stream().map(SearchResultDTO::getName).toList();
+    }
+    
+    private static List<Long> ids(List<SearchResultDTO> results) {
+        return results.stream().map(SearchResultDTO::getId).toList();
+    }
+}
\ No newline at end of file
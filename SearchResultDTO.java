@@ -0,0 +1,105 @@
+package com.example.fooddelivery.dto;
+
+import com.example.fooddelivery.model.Money;
+
+/**
+ * One ranked search hit: a restaurant, or a menu item together with its restaurant.
+ * {@code detail} is the restaurant's location or the item's description.
+ */
+public class SearchResultDTO {
+    
+    public enum Type {
+        RESTAURANT,
+        MENU_ITEM
+    }
+    
+    private Type type;
+    private Long id;
+    private Long restaurantId;
+    private String restaurantName;
+    private String name;
+    private String detail;
+    private Money price;
+    private double score;
+    
+    // Constructors
+    public SearchResultDTO() {
+    }
+    
+    public SearchResultDTO(Type type, Long id, Long restaurantId, String restaurantName,
+                           String name, String detail, Money price, double score) {
+        this.type = type;
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.restaurantName = restaurantName;
+        this.name = name;
+        this.detail = detail;
+        this.price = price;
+        this.score = score;
+    }
+    
+    // Getters and Setters
+    public Type getType() {
+        return type;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+    
+    public void setRestaurantName(String restaurantName) {
+        this.restaurantName = restaurantName;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+    
+    public Money getPrice() {
+        return price;
+    }
+    
+    public void setPrice(Money price) {
+        this.price = price;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
\ No newline at end of file
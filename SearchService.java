@@ -0,0 +1,107 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.MenuItemDTO;
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.model.MenuItem;
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.Restaurant;
+import com.example.fooddelivery.repository.MenuItemRepository;
+import com.example.fooddelivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Full-text search over restaurants and menu items, served from a {@link SearchIndex}
+ * built on startup. Writes through {@link RestaurantService} update the index once their
+ * transaction commits, so it never holds rows that were rolled back.
+ */
+@Service
+public class SearchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+    
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final SearchIndex index = new SearchIndex();
+    private final int maxResults;
+    private final int maxQueryLength;
+    
+    @Autowired
+    public SearchService(RestaurantRepository restaurantRepository,
+                         MenuItemRepository menuItemRepository,
+                         @Value("${search.max-results:50}") int maxResults,
+                         @Value("${search.max-query-length:200}") int maxQueryLength) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.maxResults = maxResults;
+        this.maxQueryLength = maxQueryLength;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        index.clear();
+        // Rows of [id, name, location]
+        for (Object[] row : restaurantRepository.findSearchRows()) {
+            index.putRestaurant((Long) row[0], (String) row[1], (String) row[2]);
+        }
+        for (MenuItemDTO item : menuItemRepository.findAllMenuItems()) {
+            index.putMenuItem(item.getId(), item.getRestaurantId(), item.getName(), item.getDescription(), item.getPrice());
+        }
+        log.info("Built search index with {} restaurants and menu items", index.size());
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the query is blank or too long
+     */
+    public List<SearchResultDTO> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (query.length() > maxQueryLength) {
+            throw new IllegalArgumentException("Search query must be at most " + maxQueryLength + " characters");
+        }
+        return index.search(query, Math.max(1, Math.min(limit, maxResults)));
+    }
+    
+    public void indexRestaurantAfterCommit(Restaurant restaurant) {
+        Long id = restaurant.getId();
+        String name = restaurant.getName();
+        String location = restaurant.getLocation();
+        afterCommit(() -> index.putRestaurant(id, name, location));
+    }
+    
+    public void removeRestaurantAfterCommit(Long restaurantId) {
+        afterCommit(() -> index.removeRestaurant(restaurantId));
+    }
+    
+    public void indexMenuItemAfterCommit(Long restaurantId, MenuItem menuItem) {
+        Long id = menuItem.getId();
+        String name = menuItem.getName();
+        String description = menuItem.getDescription();
+        Money price = menuItem.getPrice();
+        afterCommit(() -> index.putMenuItem(id, restaurantId, name, description, price));
+    }
+    
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.fooddelivery.config;
 
 import com.example.fooddelivery.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,9 +39,15 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches (SSE streams, long-polls) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints - no authentication required
                 .requestMatchers("/api/auth/**", "/api/v1/auth/**").permitAll()
-                .requestMatchers("/api/v1/restaurants/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/restaurants/**").permitAll()
+                // Menu and order changes; RestaurantController also checks the caller owns the restaurant
+                .requestMatchers("/api/v1/restaurants/**").hasAnyRole("RESTAURANT", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/v1/search", "/api/v1/search/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 
                 // Feedback endpoints - GET is public, POST/PUT/DELETE require auth
@@ -93,7 +100,8 @@ public class SecurityConfig {
         // Expose headers to the client
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization", 
-            "Content-Type"
+            "Content-Type",
+            "Idempotent-Replayed"
         ));
         
         // Cache preflight response for 1 hour
@@ -0,0 +1,66 @@
+package com.example.fooddelivery.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks one at a time, in submission order, on a shared executor. Each event stream
+ * gets its own, so its events never overtake each other while different streams are still
+ * written in parallel. No thread is held while the queue is empty.
+ */
+final class SerialExecutor implements Executor {
+    
+    private static final Logger log = LoggerFactory.getLogger(SerialExecutor.class);
+    
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining;
+    
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this) {
+            tasks.add(task);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                tasks.clear();
+                draining = false;
+            }
+            throw e;
+        }
+    }
+    
+    private void drain() {
+        while (true) {
+            Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+                if (task == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            // One failing task must not stall the ones queued behind it
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Serial task failed", e);
+            }
+        }
+    }
+}
\ No newline at end of file
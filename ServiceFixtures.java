@@ -0,0 +1,108 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.repository.ArchivedOrderRepository;
+import com.example.fooddelivery.repository.CustomerRepository;
+import com.example.fooddelivery.repository.FeedbackRepository;
+import com.example.fooddelivery.repository.MenuItemRepository;
+import com.example.fooddelivery.repository.OrderRepository;
+import com.example.fooddelivery.repository.PaymentRepository;
+import com.example.fooddelivery.repository.PlatformStatsRepository;
+import com.example.fooddelivery.repository.RestaurantRatingRepository;
+import com.example.fooddelivery.repository.RestaurantRepository;
+import com.example.fooddelivery.repository.UserRepository;
+import com.example.fooddelivery.security.CustomUserDetailsService;
+import com.example.fooddelivery.security.JwtAuthenticationFilter;
+import com.example.fooddelivery.security.JwtUtil;
+import com.example.fooddelivery.security.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+
+/**
+ * Services for benchmarks that call one method directly, built through the same
+ * constructors Spring uses. Interface collaborators (repositories, the event publisher)
+ * are stubs that throw on any call, so a benchmarked method that starts reaching the
+ * database fails instead of quietly measuring something else. A constructor change
+ * breaks this class, not each benchmark. Field-injected components get the defaults
+ * from application.properties.
+ */
+public final class ServiceFixtures {
+    
+    public static final String JWT_SECRET = "YourSecretKeyForJWTMustBeAtLeast256BitsLongForHS256Algorithm";
+    public static final long JWT_EXPIRATION = 86400000L;
+    
+    private ServiceFixtures() {
+    }
+    
+    public static OrderService orderService() {
+        return new OrderService(stub(OrderRepository.class), stub(CustomerRepository.class),
+                stub(RestaurantRepository.class), stub(MenuItemRepository.class), platformStatsService(),
+                stub(ApplicationEventPublisher.class), orderArchiveStore());
+    }
+    
+    public static PlatformStatsService platformStatsService() {
+        return new PlatformStatsService(stub(PlatformStatsRepository.class), stub(OrderRepository.class),
+                stub(PaymentRepository.class), stub(RestaurantRepository.class), stub(CustomerRepository.class),
+                stub(ArchivedOrderRepository.class));
+    }
+    
+    public static OrderArchiveStore orderArchiveStore() {
+        return new OrderArchiveStore(stub(ArchivedOrderRepository.class), new ObjectMapper(),
+                System.getProperty("java.io.tmpdir"), 64L * 1024 * 1024);
+    }
+    
+    public static FeedbackService feedbackService() {
+        return new FeedbackService(stub(FeedbackRepository.class), stub(CustomerRepository.class),
+                stub(RestaurantRepository.class), ratingAggregateService());
+    }
+    
+    public static RatingAggregateService ratingAggregateService() {
+        return new RatingAggregateService(stub(RestaurantRatingRepository.class), stub(PlatformTransactionManager.class));
+    }
+    
+    public static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secret", JWT_SECRET);
+        setField(jwtUtil, "expiration", JWT_EXPIRATION);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+    
+    public static VerifiedTokenCache verifiedTokenCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        setField(cache, "maxEntries", 10000);
+        setField(cache, "revalidateAfterMillis", 60000L);
+        return cache;
+    }
+    
+    public static JwtAuthenticationFilter jwtAuthenticationFilter() {
+        return new JwtAuthenticationFilter(jwtUtil(), new CustomUserDetailsService(stub(UserRepository.class)),
+                verifiedTokenCache());
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> "stub " + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            type.getSimpleName() + "." + method.getName() + " is not available to benchmarks");
+                });
+    }
+    
+    // Fails loudly when the field is renamed rather than leaving the component half-configured
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.fooddelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Settled total of one restaurant's payments by one method on one day.
+ */
+@Entity
+@Table(name = "settlements", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_settlements_date_restaurant_method",
+                      columnNames = {"settlement_date", "restaurant_id", "payment_method"})
+}, indexes = {
+    @Index(name = "idx_settlements_restaurant_date", columnList = "restaurant_id, settlement_date")
+})
+public class Settlement {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlements_seq")
+    @SequenceGenerator(name = "settlements_seq", sequenceName = "settlements_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+    
+    private long paymentCount;
+    
+    private Money grossAmount;
+    
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public Settlement() {
+    }
+    
+    public Settlement(LocalDate settlementDate, Long restaurantId, PaymentMethod paymentMethod) {
+        this.settlementDate = settlementDate;
+        this.restaurantId = restaurantId;
+        this.paymentMethod = paymentMethod;
+        this.grossAmount = Money.ZERO;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void add(long payments, long amountMinor) {
+        paymentCount += payments;
+        grossAmount = grossAmount.plus(Money.ofMinor(amountMinor));
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getSettlementDate() {
+        return settlementDate;
+    }
+    
+    public void setSettlementDate(LocalDate settlementDate) {
+        this.settlementDate = settlementDate;
+    }
+    
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+    
+    public Money getGrossAmount() {
+        return grossAmount;
+    }
+    
+    public void setGrossAmount(Money grossAmount) {
+        this.grossAmount = grossAmount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.Settlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SettlementRepository extends JpaRepository<Settlement, Long> {
+    
+    @Query("SELECT s FROM Settlement s " +
+           "WHERE s.settlementDate IN :dates AND s.restaurantId IN :restaurantIds")
+    List<Settlement> findByDatesAndRestaurants(@Param("dates") Collection<LocalDate> dates,
+                                               @Param("restaurantIds") Collection<Long> restaurantIds);
+    
+    @Query("SELECT s FROM Settlement s " +
+           "WHERE s.settlementDate BETWEEN :from AND :to " +
+           "AND (:restaurantId IS NULL OR s.restaurantId = :restaurantId) " +
+           "ORDER BY s.settlementDate, s.restaurantId, s.paymentMethod")
+    List<Settlement> findForPeriod(@Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("restaurantId") Long restaurantId);
+    
+    @Modifying
+    @Query("DELETE FROM Settlement s WHERE s.settlementDate BETWEEN :from AND :to")
+    int deleteForPeriod(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.example.fooddelivery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One settlement pass over the payments that succeeded {@code fromDate} to {@code toDate}
+ * inclusive. {@code lastPaymentId} is the checkpoint: it advances in the same transaction
+ * as the settlement rows for each chunk, so a resumed run continues exactly where it
+ * stopped. A FAILED run is resumed or ABANDONED; until then no other run can start.
+ */
+@Entity
+@Table(name = "settlement_runs", indexes = {
+    @Index(name = "idx_settlement_runs_status", columnList = "status")
+})
+public class SettlementRun {
+    
+    public enum Status {
+        RUNNING,
+        FAILED,
+        COMPLETED,
+        ABANDONED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlement_runs_seq")
+    @SequenceGenerator(name = "settlement_runs_seq", sequenceName = "settlement_runs_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private LocalDate fromDate;
+    
+    @Column(nullable = false)
+    private LocalDate toDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    
+    private long lastPaymentId;
+    
+    private long paymentsProcessed;
+    
+    private String error;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime updatedAt;
+    
+    private LocalDateTime completedAt;
+    
+    // Constructors
+    public SettlementRun() {
+    }
+    
+    public SettlementRun(LocalDate fromDate, LocalDate toDate) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.status = Status.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+    
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+    
+    public LocalDate getToDate() {
+        return toDate;
+    }
+    
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public long getLastPaymentId() {
+        return lastPaymentId;
+    }
+    
+    public void setLastPaymentId(long lastPaymentId) {
+        this.lastPaymentId = lastPaymentId;
+    }
+    
+    public long getPaymentsProcessed() {
+        return paymentsProcessed;
+    }
+    
+    public void setPaymentsProcessed(long paymentsProcessed) {
+        this.paymentsProcessed = paymentsProcessed;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.fooddelivery.repository;
+
+import com.example.fooddelivery.model.SettlementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, Long> {
+    
+    // Runs only start while none is unfinished, so there is at most one
+    @Query("SELECT r FROM SettlementRun r " +
+           "WHERE r.status IN (com.example.fooddelivery.model.SettlementRun$Status.RUNNING, " +
+           "com.example.fooddelivery.model.SettlementRun$Status.FAILED)")
+    Optional<SettlementRun> findUnfinished();
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.model.Money;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.Settlement;
+import com.example.fooddelivery.model.SettlementRun;
+import com.example.fooddelivery.repository.PaymentRepository;
+import com.example.fooddelivery.repository.SettlementRepository;
+import com.example.fooddelivery.repository.SettlementRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Settles payments with restaurants: per day, restaurant and payment method, the number
+ * and gross amount of payments that succeeded that day. Cash on delivery succeeds when the
+ * order is delivered, so it lands on the delivery day whenever that is.
+ * <p>
+ * A run streams payments joined to their orders in id-ordered chunks of
+ * {@code settlement.chunk-size} projection rows, so memory stays bounded however many
+ * payments the period holds. Each chunk's totals are added to the settlement rows in the
+ * same transaction that advances the run's checkpoint; an interrupted run is resumed from
+ * that checkpoint without counting anything twice. Starting a run for a period first
+ * clears that period's settlements, so a re-run replaces them. Runs execute one at a time
+ * on the settlement executor; a failed run blocks new ones until it is resumed or abandoned.
+ * Days older than {@code archive.orders.min-age-days} cannot be rerun, since their payments
+ * may have been archived and a rerun would replace their settlements with partial ones.
+ */
+@Service
+public class SettlementService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SettlementService.class);
+    
+    private final PaymentRepository paymentRepository;
+    private final SettlementRepository settlementRepository;
+    private final SettlementRunRepository settlementRunRepository;
+    private final ExecutorService settlementExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long archiveMinAgeDays;
+    
+    @Autowired
+    public SettlementService(PaymentRepository paymentRepository,
+                             SettlementRepository settlementRepository,
+                             SettlementRunRepository settlementRunRepository,
+                             @Qualifier("settlementExecutor") ExecutorService settlementExecutor,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${settlement.chunk-size:1000}") int chunkSize,
+                             @Value("${archive.orders.min-age-days:90}") long archiveMinAgeDays) {
+        this.paymentRepository = paymentRepository;
+        this.settlementRepository = settlementRepository;
+        this.settlementRunRepository = settlementRunRepository;
+        this.settlementExecutor = settlementExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.archiveMinAgeDays = archiveMinAgeDays;
+    }
+    
+    // Picks up a run the previous instance did not finish
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        settlementRunRepository.findUnfinished().ifPresent(run -> {
+            log.info("Resuming settlement run {} after payment {}", run.getId(), run.getLastPaymentId());
+            settlementExecutor.execute(() -> execute(run.getId()));
+        });
+    }
+    
+    // Settles yesterday, after finishing any run that is still open
+    @Scheduled(cron = "${settlement.cron:0 0 2 * * *}")
+    public void settleYesterday() {
+        settlementExecutor.execute(() -> {
+            settlementRunRepository.findUnfinished().ifPresent(run -> execute(run.getId()));
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            try {
+                execute(createRun(yesterday, yesterday).getId());
+            } catch (IllegalStateException e) {
+                log.error("Could not settle {}: {}", yesterday, e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Starts settling {@code from} to {@code to} inclusive in the background, replacing any
+     * settlements already recorded for those days.
+     *
+     * @throws IllegalArgumentException if the range is inverted or starts before the
+     *         earliest day that is never archived
+     * @throws IllegalStateException if another run is unfinished
+     */
+    public SettlementRun startRun(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        // Payments resolved on this day or later are still in the hot tables
+        LocalDate earliest = LocalDate.now().minusDays(archiveMinAgeDays).plusDays(1);
+        if (from.isBefore(earliest)) {
+            throw new IllegalArgumentException("Days before " + earliest + " may be archived and cannot be settled again");
+        }
+        SettlementRun run = createRun(from, to);
+        settlementExecutor.execute(() -> execute(run.getId()));
+        return run;
+    }
+    
+    /**
+     * Continues the unfinished run from its checkpoint in the background.
+     *
+     * @throws IllegalStateException if no run is unfinished
+     */
+    public SettlementRun resumeRun() {
+        SettlementRun run = settlementRunRepository.findUnfinished()
+                .orElseThrow(() -> new IllegalStateException("No settlement run to resume"));
+        settlementExecutor.execute(() -> execute(run.getId()));
+        return run;
+    }
+    
+    /**
+     * Gives up on the failed run and discards the partial settlements it wrote, so a new
+     * run can start for that period.
+     *
+     * @throws IllegalStateException if no run has failed
+     */
+    public synchronized SettlementRun abandonRun() {
+        return transactionTemplate.execute(tx -> {
+            SettlementRun run = settlementRunRepository.findUnfinished()
+                    .filter(unfinished -> unfinished.getStatus() == SettlementRun.Status.FAILED)
+                    .orElseThrow(() -> new IllegalStateException("No failed settlement run to abandon"));
+            settlementRepository.deleteForPeriod(run.getFromDate(), run.getToDate());
+            run.setStatus(SettlementRun.Status.ABANDONED);
+            run.setUpdatedAt(LocalDateTime.now());
+            log.warn("Abandoned settlement run {} for {} to {} after payment {}", run.getId(), run.getFromDate(),
+                    run.getToDate(), run.getLastPaymentId());
+            return run;
+        });
+    }
+    
+    public Optional<SettlementRun> getRun(Long runId) {
+        return settlementRunRepository.findById(runId);
+    }
+    
+    public List<Settlement> getSettlements(LocalDate from, LocalDate to, Long restaurantId) {
+        return settlementRepository.findForPeriod(from, to, restaurantId);
+    }
+    
+    // Synchronized so two callers cannot both see no unfinished run and start one each
+    private synchronized SettlementRun createRun(LocalDate from, LocalDate to) {
+        return transactionTemplate.execute(tx -> {
+            settlementRunRepository.findUnfinished().ifPresent(unfinished -> {
+                throw new IllegalStateException("Settlement run " + unfinished.getId() + " has not finished");
+            });
+            settlementRepository.deleteForPeriod(from, to);
+            return settlementRunRepository.save(new SettlementRun(from, to));
+        });
+    }
+    
+    // Only ever called on the single settlement thread
+    private void execute(Long runId) {
+        long started = System.nanoTime();
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(tx -> settleChunk(runId)));
+            } while (more);
+            SettlementRun run = settlementRunRepository.findById(runId).orElseThrow();
+            log.info("Settlement run {} for {} to {} settled {} payments in {} ms", runId, run.getFromDate(),
+                    run.getToDate(), run.getPaymentsProcessed(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Settlement run {} failed: {}", runId, e.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> settlementRunRepository.findById(runId).ifPresent(run -> {
+                run.setStatus(SettlementRun.Status.FAILED);
+                run.setError(e.getMessage());
+                run.setUpdatedAt(LocalDateTime.now());
+            }));
+        }
+    }
+    
+    // Settles the next chunk and moves the checkpoint past it; false once the run is complete
+    private boolean settleChunk(Long runId) {
+        SettlementRun run = settlementRunRepository.findById(runId).orElseThrow();
+        if (run.getStatus() == SettlementRun.Status.COMPLETED || run.getStatus() == SettlementRun.Status.ABANDONED) {
+            return false;
+        }
+        
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        List<Object[]> rows = paymentRepository.findSettlementRows(run.getLastPaymentId(),
+                run.getFromDate().atStartOfDay(), run.getToDate().plusDays(1).atStartOfDay(), chunk);
+        
+        // Rows of [payment id, restaurant id, payment method, amount, resolved at]
+        Map<Key, long[]> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            Money amount = (Money) row[3];
+            Key key = new Key(((LocalDateTime) row[4]).toLocalDate(), (Long) row[1], (PaymentMethod) row[2]);
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] = Math.addExact(total[1], amount.getMinorUnits());
+        }
+        
+        if (!totals.isEmpty()) {
+            Set<LocalDate> dates = new HashSet<>();
+            Set<Long> restaurantIds = new HashSet<>();
+            totals.keySet().forEach(key -> {
+                dates.add(key.date);
+                restaurantIds.add(key.restaurantId);
+            });
+            Map<Key, Settlement> settlements = new HashMap<>();
+            for (Settlement settlement : settlementRepository.findByDatesAndRestaurants(dates, restaurantIds)) {
+                settlements.put(new Key(settlement.getSettlementDate(), settlement.getRestaurantId(),
+                        settlement.getPaymentMethod()), settlement);
+            }
+            totals.forEach((key, total) -> settlements
+                    .computeIfAbsent(key, k -> new Settlement(k.date, k.restaurantId, k.paymentMethod))
+                    .add(total[0], total[1]));
+            settlementRepository.saveAll(settlements.values());
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        run.setPaymentsProcessed(run.getPaymentsProcessed() + rows.size());
+        run.setUpdatedAt(now);
+        run.setStatus(SettlementRun.Status.RUNNING);
+        run.setError(null);
+        if (!rows.isEmpty()) {
+            run.setLastPaymentId((Long) rows.get(rows.size() - 1)[0]);
+        }
+        if (rows.size() < chunkSize) {
+            run.setStatus(SettlementRun.Status.COMPLETED);
+            run.setCompletedAt(now);
+            return false;
+        }
+        return true;
+    }
+    
+    private static final class Key {
+        
+        private final LocalDate date;
+        private final Long restaurantId;
+        private final PaymentMethod paymentMethod;
+        
+        Key(LocalDate date, Long restaurantId, PaymentMethod paymentMethod) {
+            this.date = date;
+            this.restaurantId = restaurantId;
+            this.paymentMethod = paymentMethod;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return date.equals(other.date) && restaurantId.equals(other.restaurantId)
+                    && paymentMethod == other.paymentMethod;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, restaurantId, paymentMethod);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.fooddelivery.dto;
+
+/**
+ * One autocomplete entry: a restaurant or dish name with its popularity weight. Immutable
+ * and created once per index build, so lookups hand out shared instances.
+ */
+public class SuggestionDTO {
+    
+    private final String text;
+    private final SearchResultDTO.Type type;
+    private final long weight;
+    
+    public SuggestionDTO(String text, SearchResultDTO.Type type, long weight) {
+        this.text = text;
+        this.type = type;
+        this.weight = weight;
+    }
+    
+    // Getters
+    public String getText() {
+        return text;
+    }
+    
+    public SearchResultDTO.Type getType() {
+        return type;
+    }
+    
+    public long getWeight() {
+        return weight;
+    }
+}
\ No newline at end of file
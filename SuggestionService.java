@@ -0,0 +1,177 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.MenuItemDTO;
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.dto.SuggestionDTO;
+import com.example.fooddelivery.repository.MenuItemRepository;
+import com.example.fooddelivery.repository.OrderItemRepository;
+import com.example.fooddelivery.repository.OrderRepository;
+import com.example.fooddelivery.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Name autocomplete for restaurants and dishes, served from an immutable {@link SuggestionTrie}.
+ * Names are weighted by popularity: orders placed for a restaurant, units ordered for a dish.
+ * Identical dish names from different restaurants are merged into one suggestion. Catalogue
+ * writes and a periodic refresh schedule a rebuild on the suggestion rebuilder thread. Bursts
+ * of writes within the rebuild delay share a single rebuild. The finished trie is then
+ * swapped in, so lookups never block and never see a partial build.
+ */
+@Service
+public class SuggestionService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SuggestionService.class);
+    
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ScheduledExecutorService suggestionRebuilder;
+    private final int topK;
+    private final int maxPrefixLength;
+    private final long rebuildDelayMs;
+    
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+    
+    @Autowired
+    public SuggestionService(RestaurantRepository restaurantRepository,
+                             MenuItemRepository menuItemRepository,
+                             OrderRepository orderRepository,
+                             OrderItemRepository orderItemRepository,
+                             @Qualifier("suggestionRebuilder") ScheduledExecutorService suggestionRebuilder,
+                             @Value("${search.suggest.top-k:10}") int topK,
+                             @Value("${search.suggest.max-prefix-length:100}") int maxPrefixLength,
+                             @Value("${search.suggest.rebuild-delay-ms:2000}") long rebuildDelayMs) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.suggestionRebuilder = suggestionRebuilder;
+        this.topK = topK;
+        this.maxPrefixLength = maxPrefixLength;
+        this.rebuildDelayMs = rebuildDelayMs;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        suggestionRebuilder.execute(this::rebuild);
+    }
+    
+    // Popularity drifts with every order, so the weights are refreshed even without catalogue writes
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-ms:600000}",
+               initialDelayString = "${search.suggest.refresh-ms:600000}")
+    public void refreshPopularity() {
+        requestRebuild();
+    }
+    
+    /**
+     * Up to {@code limit} (capped at top-k) names starting with {@code prefix}, most popular first.
+     *
+     * @throws IllegalArgumentException if the prefix is blank or too long
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+        if (prefix.length() > maxPrefixLength) {
+            throw new IllegalArgumentException("Prefix must be at most " + maxPrefixLength + " characters");
+        }
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, topK)));
+    }
+    
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestRebuild();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestRebuild();
+            }
+        });
+    }
+    
+    private void requestRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            suggestionRebuilder.schedule(() -> {
+                // Cleared first, so a write committed during the build schedules another one
+                rebuildScheduled.set(false);
+                rebuild();
+            }, rebuildDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            SuggestionTrie built = SuggestionTrie.build(loadSuggestions(), topK);
+            trie = built;
+            log.info("Built suggestion trie with {} names in {} ms", built.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // Keep serving the previous trie; the next write or refresh tries again
+            log.error("Could not rebuild suggestion trie: {}", e.getMessage());
+        }
+    }
+    
+    private List<SuggestionDTO> loadSuggestions() {
+        Map<Long, Long> ordersByRestaurant = new HashMap<>();
+        // Rows of [restaurant id, order count]
+        for (Object[] row : orderRepository.countOrdersByRestaurant()) {
+            ordersByRestaurant.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        Map<Long, Long> quantityByMenuItem = new HashMap<>();
+        // Rows of [menu item id, quantity ordered]
+        for (Object[] row : orderItemRepository.sumQuantityByMenuItem()) {
+            quantityByMenuItem.put((Long) row[0], row[1] == null ? 0L : ((Number) row[1]).longValue());
+        }
+        
+        // Weighted by 1 + popularity so names nobody has ordered yet still appear; keyed by normalized name
+        Map<String, SuggestionDTO> restaurants = new HashMap<>();
+        // Rows of [id, name, location]
+        for (Object[] row : restaurantRepository.findSearchRows()) {
+            long weight = 1 + ordersByRestaurant.getOrDefault((Long) row[0], 0L);
+            merge(restaurants, (String) row[1], SearchResultDTO.Type.RESTAURANT, weight);
+        }
+        Map<String, SuggestionDTO> dishes = new HashMap<>();
+        for (MenuItemDTO item : menuItemRepository.findAllMenuItems()) {
+            long weight = 1 + quantityByMenuItem.getOrDefault(item.getId(), 0L);
+            merge(dishes, item.getName(), SearchResultDTO.Type.MENU_ITEM, weight);
+        }
+        
+        List<SuggestionDTO> suggestions = new ArrayList<>(restaurants.size() + dishes.size());
+        suggestions.addAll(restaurants.values());
+        suggestions.addAll(dishes.values());
+        return suggestions;
+    }
+    
+    // Keeps the display text first seen for a name and sums the weights
+    private static void merge(Map<String, SuggestionDTO> byName, String name, SearchResultDTO.Type type, long weight) {
+        String key = SuggestionTrie.normalize(name, false);
+        if (key.isEmpty()) {
+            return;
+        }
+        byName.merge(key, new SuggestionDTO(name.strip(), type, weight),
+                (existing, added) -> new SuggestionDTO(existing.getText(), type, existing.getWeight() + added.getWeight()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.SuggestionDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable compressed trie (radix tree) for autocomplete. Every suggestion is reachable
+ * from the start of its name and from the start of each of its next few words, so
+ * "chick" finds "Spicy Chicken Wrap". Each node stores the top-k suggestions beneath it,
+ * precomputed at build time. A lookup therefore walks the prefix and copies at most k
+ * references, however many names share the prefix.
+ * <p>
+ * Nodes live in parallel arrays, with children contiguous and ordered by first character
+ * so each step is a binary search. Suggestion ids are assigned in descending weight, so a
+ * node's top-k are simply its k smallest ids.
+ */
+public final class SuggestionTrie {
+    
+    // A name is also reachable from the start of its second to fourth word
+    private static final int MAX_WORD_STARTS = 4;
+    
+    public static final SuggestionTrie EMPTY = build(List.of(), 1);
+    
+    private final SuggestionDTO[] suggestions;
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topCount;
+    private final int[] top;
+    
+    private SuggestionTrie(SuggestionDTO[] suggestions, char[] labels, int[] labelStart, int[] labelLength,
+                           int[] firstChild, int[] childCount, int[] topStart, int[] topCount, int[] top) {
+        this.suggestions = suggestions;
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.labelLength = labelLength;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.top = top;
+    }
+    
+    public static SuggestionTrie build(List<SuggestionDTO> entries, int topK) {
+        SuggestionDTO[] suggestions = entries.toArray(new SuggestionDTO[0]);
+        Arrays.sort(suggestions, Comparator.comparingLong(SuggestionDTO::getWeight).reversed()
+                .thenComparing(SuggestionDTO::getText));
+        
+        // Every (key, suggestion id) pair, sorted by key; the sort is stable, so ids stay ascending per key
+        List<Key> keyList = new ArrayList<>();
+        for (int id = 0; id < suggestions.length; id++) {
+            String key = normalize(suggestions[id].getText(), false);
+            int at = 0;
+            for (int starts = 0; starts < MAX_WORD_STARTS && at >= 0; starts++) {
+                keyList.add(new Key(key.substring(at), id));
+                at = key.indexOf(' ', at);
+                at = at < 0 ? -1 : at + 1;
+            }
+        }
+        Key[] sorted = keyList.toArray(new Key[0]);
+        Arrays.sort(sorted, (a, b) -> a.text.compareTo(b.text));
+        String[] keys = new String[sorted.length];
+        int[] ids = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].text;
+            ids[i] = sorted[i].id;
+        }
+        
+        // A radix tree over n keys has at most 2n nodes, root included
+        int capacity = 2 * keys.length + 1;
+        int[] labelStart = new int[capacity];
+        int[] labelLength = new int[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int[] rangeLo = new int[capacity];
+        int[] rangeHi = new int[capacity];
+        int[] terminalHi = new int[capacity];
+        StringBuilder labels = new StringBuilder();
+        
+        // Breadth first, so each node's children get consecutive indices
+        int nodes = 1;
+        rangeHi[0] = keys.length;
+        ArrayDeque<int[]> pending = new ArrayDeque<>();
+        pending.add(new int[] {0, 0});
+        while (!pending.isEmpty()) {
+            int[] next = pending.poll();
+            int node = next[0];
+            int depth = next[1];
+            int lo = rangeLo[node];
+            int hi = rangeHi[node];
+            
+            int terminals = lo;
+            while (terminals < hi && keys[terminals].length() == depth) {
+                terminals++;
+            }
+            terminalHi[node] = terminals;
+            firstChild[node] = nodes;
+            for (int groupLo = terminals; groupLo < hi; ) {
+                char first = keys[groupLo].charAt(depth);
+                int groupHi = groupLo + 1;
+                while (groupHi < hi && keys[groupHi].charAt(depth) == first) {
+                    groupHi++;
+                }
+                int child = nodes++;
+                int labelEnd = depth + commonPrefix(keys[groupLo], keys[groupHi - 1], depth);
+                labelStart[child] = labels.length();
+                labelLength[child] = labelEnd - depth;
+                labels.append(keys[groupLo], depth, labelEnd);
+                rangeLo[child] = groupLo;
+                rangeHi[child] = groupHi;
+                childCount[node]++;
+                pending.add(new int[] {child, labelEnd});
+                groupLo = groupHi;
+            }
+        }
+        
+        // Children have higher indices than their parent, so walk backwards to fill top-k bottom up
+        int[][] tops = new int[nodes][];
+        for (int node = nodes - 1; node >= 0; node--) {
+            int[] candidates = new int[terminalHi[node] - rangeLo[node] + childCount[node] * topK];
+            int count = 0;
+            for (int i = rangeLo[node]; i < terminalHi[node]; i++) {
+                candidates[count++] = ids[i];
+            }
+            for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                for (int id : tops[child]) {
+                    candidates[count++] = id;
+                }
+            }
+            Arrays.sort(candidates, 0, count);
+            int unique = 0;
+            for (int i = 0; i < count && unique < topK; i++) {
+                if (unique == 0 || candidates[i] != candidates[unique - 1]) {
+                    candidates[unique++] = candidates[i];
+                }
+            }
+            tops[node] = Arrays.copyOf(candidates, unique);
+        }
+        
+        int[] topStart = new int[nodes];
+        int[] topCount = new int[nodes];
+        int[] top = new int[Arrays.stream(tops).mapToInt(t -> t.length).sum()];
+        int offset = 0;
+        for (int node = 0; node < nodes; node++) {
+            topStart[node] = offset;
+            topCount[node] = tops[node].length;
+            System.arraycopy(tops[node], 0, top, offset, tops[node].length);
+            offset += tops[node].length;
+        }
+        
+        char[] labelChars = new char[labels.length()];
+        labels.getChars(0, labels.length(), labelChars, 0);
+        return new SuggestionTrie(suggestions, labelChars, Arrays.copyOf(labelStart, nodes),
+                Arrays.copyOf(labelLength, nodes), Arrays.copyOf(firstChild, nodes),
+                Arrays.copyOf(childCount, nodes), topStart, topCount, top);
+    }
+    
+    /**
+     * Up to {@code limit} of the most popular suggestions starting with {@code prefix} at
+     * a word boundary, most popular first.
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix, true);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        int node = 0;
+        int matched = 0;
+        while (matched < key.length()) {
+            node = findChild(node, key.charAt(matched));
+            if (node < 0) {
+                return List.of();
+            }
+            int length = Math.min(labelLength[node], key.length() - matched);
+            for (int i = 0; i < length; i++) {
+                if (labels[labelStart[node] + i] != key.charAt(matched + i)) {
+                    return List.of();
+                }
+            }
+            matched += length;
+        }
+        
+        SuggestionDTO[] results = new SuggestionDTO[Math.min(limit, topCount[node])];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = suggestions[top[topStart[node] + i]];
+        }
+        return Arrays.asList(results);
+    }
+    
+    public int size() {
+        return suggestions.length;
+    }
+    
+    private int findChild(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char first = labels[labelStart[mid]];
+            if (first < c) {
+                lo = mid + 1;
+            } else if (first > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    private static int commonPrefix(String a, String b, int from) {
+        int length = Math.min(a.length(), b.length());
+        int i = from;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i - from;
+    }
+    
+    /**
+     * Lower-cased words separated by single spaces. ASCII input, the common case for typed
+     * prefixes, is folded in one pass; anything else goes through the search tokenizer.
+     * A prefix keeps one trailing space, so "chicken " only matches whole words.
+     */
+    static String normalize(String text, boolean prefix) {
+        if (text == null) {
+            return "";
+        }
+        char[] folded = new char[text.length()];
+        int length = 0;
+        boolean gap = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                String joined = String.join(" ", SearchIndex.tokenize(text));
+                boolean trailingGap = prefix && !joined.isEmpty() && !Character.isLetterOrDigit(text.charAt(text.length() - 1));
+                return trailingGap ? joined + " " : joined;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (gap && length > 0) {
+                    folded[length++] = ' ';
+                }
+                folded[length++] = Character.toLowerCase(c);
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        if (prefix && gap && length > 0) {
+            folded[length++] = ' ';
+        }
+        return new String(folded, 0, length);
+    }
+    
+    private static final class Key {
+        
+        private final String text;
+        private final int id;
+        
+        Key(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+    }
+}
\ No newline at end of file
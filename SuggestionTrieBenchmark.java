@@ -0,0 +1,71 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.dto.SuggestionDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups and a full rebuild over 50k distinct dish names and 2k restaurants,
+ * for prefixes as they are typed: one letter, a partial word and a partial second word.
+ * Lookups should stay well under a microsecond whatever the number of matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuggestionTrieBenchmark {
+    
+    private static final String[] DISHES = {
+        "pizza", "burger", "chicken", "beef", "pilau", "biryani", "samosa", "chapati", "ugali", "nyama",
+        "choma", "fish", "tilapia", "curry", "noodles", "ramen", "sushi", "taco", "burrito", "salad",
+        "wrap", "fries", "wings", "kebab", "shawarma", "falafel", "pasta", "lasagna", "soup", "steak"
+    };
+    private static final String[] WORDS = {
+        "spicy", "grilled", "crispy", "fresh", "smoked", "garlic", "cheese", "tomato", "onion", "pepper",
+        "house", "lemon", "herb", "butter", "coconut", "mild", "hot", "sweet", "roasted", "classic"
+    };
+    
+    @Param({"c", "chick", "spicy ch"})
+    private String prefix;
+    
+    private List<SuggestionDTO> names;
+    private SuggestionTrie trie;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            names.add(new SuggestionDTO(pick(random, DISHES) + " " + pick(random, WORDS) + " Kitchen " + i,
+                    SearchResultDTO.Type.RESTAURANT, 1 + random.nextInt(10_000)));
+        }
+        for (int i = 1; i <= 50_000; i++) {
+            names.add(new SuggestionDTO(pick(random, WORDS) + " " + pick(random, DISHES) + " " + pick(random, DISHES) + " " + i,
+                    SearchResultDTO.Type.MENU_ITEM, 1 + random.nextInt(1_000)));
+        }
+        trie = SuggestionTrie.build(names, 10);
+    }
+    
+    @Benchmark
+    public List<SuggestionDTO> suggest() {
+        return trie.suggest(prefix, 10);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SuggestionTrie build() {
+        return SuggestionTrie.build(names, 10);
+    }
+    
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.dto.SearchResultDTO;
+import com.example.fooddelivery.dto.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SuggestionTrieTest {
+    
+    @Test
+    void sharedLabelIsSplitWhereTheKeysDiverge() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(dish("Chicken", 2), dish("Chips", 1)), 10);
+        
+        assertEquals(List.of("Chicken", "Chips"), texts(trie.suggest("ch", 10)));
+        assertEquals(List.of("Chicken", "Chips"), texts(trie.suggest("chi", 10)));
+        assertEquals(List.of("Chicken"), texts(trie.suggest("chic", 10)));
+        assertEquals(List.of("Chips"), texts(trie.suggest("chip", 10)));
+        assertEquals(List.of(), texts(trie.suggest("chix", 10)));
+    }
+    
+    @Test
+    void prefixEndingMidLabelMatchesTheWholeEdge() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(dish("Margherita", 1)), 10);
+        
+        assertEquals(List.of("Margherita"), texts(trie.suggest("m", 10)));
+        assertEquals(List.of("Margherita"), texts(trie.suggest("marg", 10)));
+        assertEquals(List.of("Margherita"), texts(trie.suggest("margherita", 10)));
+        assertEquals(List.of(), texts(trie.suggest("margo", 10)));
+        assertEquals(List.of(), texts(trie.suggest("margheritas", 10)));
+    }
+    
+    @Test
+    void keyThatIsAPrefixOfAnotherKeepsBothReachable() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(restaurant("Pizza", 1), restaurant("Pizza Palace", 2)), 10);
+        
+        assertEquals(List.of("Pizza Palace", "Pizza"), texts(trie.suggest("pizza", 10)));
+        // A trailing space only matches whole words, so the shorter key drops out
+        assertEquals(List.of("Pizza Palace"), texts(trie.suggest("pizza ", 10)));
+        assertEquals(List.of("Pizza Palace"), texts(trie.suggest("pizza p", 10)));
+    }
+    
+    @Test
+    void duplicateNamesAreBothKept() {
+        SuggestionDTO restaurant = restaurant("Sushi Bar", 5);
+        SuggestionDTO dish = dish("Sushi Bar", 9);
+        SuggestionTrie trie = SuggestionTrie.build(List.of(restaurant, dish), 10);
+        
+        List<SuggestionDTO> results = trie.suggest("sushi", 10);
+        assertEquals(2, results.size());
+        assertSame(dish, results.get(0));
+        assertSame(restaurant, results.get(1));
+        assertEquals(2, trie.size());
+    }
+    
+    @Test
+    void namesAreReachableFromTheStartOfTheirFirstFourWords() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(dish("Spicy Chicken Wrap", 1), dish("One Two Three Four Five", 1)), 10);
+        
+        assertEquals(List.of("Spicy Chicken Wrap"), texts(trie.suggest("chick", 10)));
+        assertEquals(List.of("Spicy Chicken Wrap"), texts(trie.suggest("Chicken W", 10)));
+        assertEquals(List.of("Spicy Chicken Wrap"), texts(trie.suggest("wrap", 10)));
+        // Only word starts are keys, never the middle of a word
+        assertEquals(List.of(), texts(trie.suggest("icken", 10)));
+        
+        assertEquals(List.of("One Two Three Four Five"), texts(trie.suggest("four", 10)));
+        assertEquals(List.of(), texts(trie.suggest("five", 10)));
+    }
+    
+    @Test
+    void prefixesAreNormalizedLikeNames() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(dish("Mac & Cheese", 1)), 10);
+        
+        assertEquals(List.of("Mac & Cheese"), texts(trie.suggest("MAC", 10)));
+        assertEquals(List.of("Mac & Cheese"), texts(trie.suggest("mac  &  ch", 10)));
+        assertEquals(List.of(), texts(trie.suggest("  ", 10)));
+    }
+    
+    @Test
+    void topKIsOrderedByWeightThenName() {
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+                dish("Burger Deluxe", 3),
+                dish("Burger Classic", 7),
+                dish("Burrito", 5),
+                dish("Burger Bites", 3)), 3);
+        
+        assertEquals(List.of("Burger Classic", "Burrito", "Burger Bites"), texts(trie.suggest("bur", 10)));
+        assertEquals(List.of("Burger Classic", "Burger Bites", "Burger Deluxe"), texts(trie.suggest("burg", 10)));
+        assertEquals(List.of("Burger Classic", "Burrito"), texts(trie.suggest("bur", 2)));
+        assertEquals(List.of(), texts(trie.suggest("bur", 0)));
+    }
+    
+    @Test
+    void nameReachableThroughSeveralKeysIsSuggestedOnce() {
+        // "chicken chicken wrap" and "chicken wrap" both sit under "chicken"
+        SuggestionTrie trie = SuggestionTrie.build(List.of(
+                dish("Chicken Chicken Wrap", 9),
+                dish("Chicken Soup", 5),
+                dish("Chicken Tikka", 1)), 2);
+        
+        assertEquals(List.of("Chicken Chicken Wrap", "Chicken Soup"), texts(trie.suggest("chicken", 10)));
+        assertEquals(List.of("Chicken Chicken Wrap", "Chicken Soup"), texts(trie.suggest("c", 10)));
+    }
+    
+    @Test
+    void emptyTrieSuggestsNothing() {
+        assertEquals(List.of(), SuggestionTrie.EMPTY.suggest("a", 10));
+        assertEquals(0, SuggestionTrie.EMPTY.size());
+    }
+    
+    private static SuggestionDTO dish(String name, long weight) {
+        return new SuggestionDTO(name, SearchResultDTO.Type.MENU_ITEM, weight);
+    }
+    
+    private static SuggestionDTO restaurant(String name, long weight) {
+        return new SuggestionDTO(name, SearchResultDTO.Type.RESTAURANT, weight);
+    }
+    
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.example.fooddelivery.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by {@code K}. Scheduling and cancelling are O(1): a timer
+ * is linked into the bucket covering its deadline, on the lowest level whose span reaches
+ * it, and unlinked again through a key index. Each level's tick is the span of the level
+ * below; when a higher-level bucket comes due its timers cascade down. Timers expire to the
+ * resolution of the lowest tick. Not thread-safe; callers serialise access.
+ */
+public final class TimingWheel<K> {
+    
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least two slots");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level(tickMs, startMs - startMs % tickMs));
+    }
+    
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMs}, replacing any timer it already has.
+     * Returns false, without scheduling, when the deadline falls within the current tick.
+     */
+    public boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        Timer<K> timer = new Timer<>(key, deadlineMs);
+        if (!place(timer)) {
+            return false;
+        }
+        timers.put(key, timer);
+        return true;
+    }
+    
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.unlink();
+        return true;
+    }
+    
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+    
+    public int size() {
+        return timers.size();
+    }
+    
+    /**
+     * Moves the clock forward one tick at a time up to {@code nowMs} and returns the keys
+     * whose timers expired, in no particular order.
+     */
+    public List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        Level root = levels.get(0);
+        while (root.currentTime + tickMs <= nowMs) {
+            root.currentTime += tickMs;
+            
+            // Higher levels whose tick boundary was just crossed move with the root
+            int advanced = 0;
+            for (int i = 1; i < levels.size(); i++) {
+                Level level = levels.get(i);
+                if (root.currentTime % level.tick != 0) {
+                    break;
+                }
+                level.currentTime = root.currentTime;
+                advanced = i;
+            }
+            
+            // Cascade from the top so timers land before the lower buckets are drained
+            for (int i = advanced; i >= 0; i--) {
+                Level level = levels.get(i);
+                Timer<K> timer = level.buckets[level.index(level.currentTime)].drain();
+                while (timer != null) {
+                    Timer<K> next = timer.next;
+                    timer.next = null;
+                    if (!place(timer)) {
+                        timers.remove(timer.key);
+                        expired.add(timer.key);
+                    }
+                    timer = next;
+                }
+            }
+        }
+        return expired;
+    }
+    
+    // Links the timer into the lowest level that spans its deadline; false if it is already due
+    private boolean place(Timer<K> timer) {
+        Level root = levels.get(0);
+        if (timer.deadline < root.currentTime + root.tick) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level below = levels.get(i - 1);
+                long tick = below.tick * wheelSize;
+                levels.add(new Level(tick, root.currentTime - root.currentTime % tick));
+            }
+            Level level = levels.get(i);
+            if (timer.deadline < level.currentTime + level.tick * wheelSize) {
+                level.buckets[level.index(timer.deadline)].add(timer);
+                return true;
+            }
+        }
+    }
+    
+    private final class Level {
+        
+        private final long tick;
+        private final Bucket<K>[] buckets;
+        private long currentTime;
+        
+        @SuppressWarnings("unchecked")
+        Level(long tick, long currentTime) {
+            this.tick = tick;
+            this.currentTime = currentTime;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+        
+        int index(long timeMs) {
+            return (int) ((timeMs / tick) % wheelSize);
+        }
+    }
+    
+    // Doubly linked so a cancelled timer is unlinked without a search
+    private static final class Bucket<K> {
+        
+        private Timer<K> head;
+        
+        void add(Timer<K> timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+        
+        Timer<K> drain() {
+            Timer<K> first = head;
+            head = null;
+            for (Timer<K> timer = first; timer != null; timer = timer.next) {
+                timer.bucket = null;
+                timer.prev = null;
+            }
+            return first;
+        }
+    }
+    
+    private static final class Timer<K> {
+        
+        private final K key;
+        private final long deadline;
+        private Bucket<K> bucket;
+        private Timer<K> prev;
+        private Timer<K> next;
+        
+        Timer(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+        
+        void unlink() {
+            if (bucket == null) {
+                return;
+            }
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                bucket.head = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            bucket = null;
+            prev = null;
+            next = null;
+        }
+    }
+}
\ No newline at end of file
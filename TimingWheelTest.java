@@ -0,0 +1,181 @@
+package com.example.fooddelivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The wheel never reads a clock; every test drives it with explicit times. With a 10 ms
+ * tick and 8 slots, level 0 spans 80 ms, level 1 spans 640 ms and level 2 spans 5120 ms.
+ */
+class TimingWheelTest {
+    
+    private static final long TICK = 10;
+    private static final int SLOTS = 8;
+    
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+    
+    @Test
+    void timerExpiresOnTheTickContainingItsDeadline() {
+        assertTrue(wheel.schedule("a", 25));
+        
+        assertEquals(List.of(), wheel.advance(19));
+        assertEquals(List.of("a"), wheel.advance(20));
+        assertFalse(wheel.contains("a"));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void deadlineWithinTheCurrentTickIsNotScheduled() {
+        wheel.advance(30);
+        
+        assertFalse(wheel.schedule("a", 39));
+        assertFalse(wheel.contains("a"));
+        assertTrue(wheel.schedule("b", 40));
+    }
+    
+    @Test
+    void timersOnEitherSideOfTheLevelBoundaryExpireOnTime() {
+        // 79 is the last slot of level 0; 80 is the first deadline that goes to level 1
+        wheel.schedule("last-slot", 79);
+        wheel.schedule("next-level", 80);
+        wheel.schedule("top-of-level-1", 639);
+        wheel.schedule("level-2", 640);
+        
+        assertEquals(List.of(), wheel.advance(69));
+        assertEquals(List.of("last-slot"), wheel.advance(70));
+        assertEquals(List.of(), wheel.advance(79));
+        assertEquals(List.of("next-level"), wheel.advance(80));
+        assertEquals(List.of(), wheel.advance(629));
+        assertEquals(List.of("top-of-level-1"), wheel.advance(630));
+        assertEquals(List.of(), wheel.advance(639));
+        assertEquals(List.of("level-2"), wheel.advance(640));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void timersCascadeFromLevelOneIntoLevelZero() {
+        wheel.schedule("a", 95);
+        wheel.schedule("b", 150);
+        
+        // At 80 the level 1 bucket cascades; both timers now sit in level 0
+        assertEquals(List.of(), wheel.advance(80));
+        assertEquals(2, wheel.size());
+        assertEquals(List.of(), wheel.advance(89));
+        assertEquals(List.of("a"), wheel.advance(90));
+        assertEquals(List.of(), wheel.advance(149));
+        assertEquals(List.of("b"), wheel.advance(150));
+    }
+    
+    @Test
+    void timersCascadeThroughEveryLevelAbove() {
+        wheel.schedule("level-2", 700);
+        wheel.schedule("level-3", 5125);
+        
+        assertEquals(List.of(), wheel.advance(699));
+        assertEquals(List.of("level-2"), wheel.advance(700));
+        assertEquals(List.of(), wheel.advance(5119));
+        assertEquals(List.of("level-3"), wheel.advance(5120));
+    }
+    
+    @Test
+    void oneLargeAdvanceExpiresEverythingDueAcrossLevels() {
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 300);
+        wheel.schedule("c", 2000);
+        wheel.schedule("d", 6000);
+        
+        assertEquals(Set.of("a", "b", "c"), new HashSet<>(wheel.advance(2000)));
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.contains("d"));
+    }
+    
+    @Test
+    void wheelStartingOffBoundaryStillExpiresOnTime() {
+        TimingWheel<String> offset = new TimingWheel<>(TICK, SLOTS, 35);
+        offset.schedule("a", 115);
+        offset.schedule("b", 700);
+        
+        assertEquals(List.of(), offset.advance(109));
+        assertEquals(List.of("a"), offset.advance(110));
+        assertEquals(List.of(), offset.advance(699));
+        assertEquals(List.of("b"), offset.advance(700));
+    }
+    
+    @Test
+    void cancelledTimerNeverExpires() {
+        wheel.schedule("a", 50);
+        
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(List.of(), wheel.advance(1000));
+    }
+    
+    @Test
+    void timerCancelledAfterCascadeIsUnlinkedFromItsNewBucket() {
+        // All three cascade from the same level 1 bucket into the same level 0 bucket
+        wheel.schedule("a", 95);
+        wheel.schedule("b", 96);
+        wheel.schedule("c", 97);
+        wheel.advance(80);
+        
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.contains("b"));
+        assertEquals(Set.of("a", "c"), new HashSet<>(wheel.advance(90)));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void timerCancelledAfterCascadeFromLevelTwoNeverExpires() {
+        wheel.schedule("a", 700);
+        wheel.advance(640);
+        
+        assertTrue(wheel.cancel("a"));
+        assertEquals(List.of(), wheel.advance(1000));
+    }
+    
+    @Test
+    void reschedulingMovesTheExistingTimer() {
+        wheel.schedule("a", 50);
+        assertTrue(wheel.schedule("a", 150));
+        assertEquals(1, wheel.size());
+        
+        assertEquals(List.of(), wheel.advance(140));
+        assertEquals(List.of("a"), wheel.advance(150));
+    }
+    
+    @Test
+    void reschedulingEarlierMovesTheTimerDownALevel() {
+        wheel.schedule("a", 700);
+        wheel.schedule("a", 30);
+        
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertEquals(List.of(), wheel.advance(1000));
+    }
+    
+    @Test
+    void reschedulingACascadedTimerReplacesIt() {
+        wheel.schedule("a", 95);
+        wheel.advance(80);
+        wheel.schedule("a", 400);
+        
+        assertEquals(List.of(), wheel.advance(390));
+        assertEquals(List.of("a"), wheel.advance(400));
+    }
+    
+    @Test
+    void reschedulingToADueDeadlineDropsTheExistingTimer() {
+        wheel.schedule("a", 100);
+        wheel.advance(50);
+        
+        assertFalse(wheel.schedule("a", 55));
+        assertFalse(wheel.contains("a"));
+        assertEquals(List.of(), wheel.advance(200));
+    }
+}
\ No newline at end of file
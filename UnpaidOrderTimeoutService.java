@@ -0,0 +1,158 @@
+package com.example.fooddelivery.service;
+
+import com.example.fooddelivery.event.OrderPlacedEvent;
+import com.example.fooddelivery.event.OrderStatusChangedEvent;
+import com.example.fooddelivery.event.PaymentRecordedEvent;
+import com.example.fooddelivery.model.OrderStatus;
+import com.example.fooddelivery.model.PaymentMethod;
+import com.example.fooddelivery.model.PaymentStatus;
+import com.example.fooddelivery.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels orders that stay PLACED without a usable payment for {@code orders.unpaid.timeout-minutes}.
+ * Each such order has a timer in a {@link TimingWheel}; placement arms it, a COD, pending or
+ * successful payment or any status change disarms it, and a failed card or M-Pesa payment
+ * re-arms it for a full timeout. Due orders are cancelled in batches through
+ * {@link OrderService#cancelUnpaidOrders}, which re-checks every condition in the database.
+ */
+@Service
+public class UnpaidOrderTimeoutService {
+    
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+    private static final Logger log = LoggerFactory.getLogger(UnpaidOrderTimeoutService.class);
+    
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ScheduledExecutorService orderTimeoutTicker;
+    private final Duration timeout;
+    private final long tickMs;
+    private final int batchSize;
+    
+    // Guarded by itself; event listeners and the ticker both touch it
+    private final TimingWheel<Long> wheel;
+    
+    @Autowired
+    public UnpaidOrderTimeoutService(OrderRepository orderRepository,
+                                     OrderService orderService,
+                                     @Qualifier("orderTimeoutTicker") ScheduledExecutorService orderTimeoutTicker,
+                                     @Value("${orders.unpaid.timeout-minutes:30}") long timeoutMinutes,
+                                     @Value("${orders.unpaid.tick-ms:1000}") long tickMs,
+                                     @Value("${orders.unpaid.wheel-size:512}") int wheelSize,
+                                     @Value("${orders.unpaid.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.orderTimeoutTicker = orderTimeoutTicker;
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+        this.tickMs = tickMs;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+    
+    // Timers live only in memory, so every unpaid order gets its deadline back on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleFromDatabase() {
+        List<Long> overdue = new ArrayList<>();
+        int scheduled = 0;
+        synchronized (wheel) {
+            for (Object[] row : orderRepository.findUnpaidPlacedOrders()) {
+                Long orderId = (Long) row[0];
+                if (wheel.schedule(orderId, epochMillis(((LocalDateTime) row[1]).plus(timeout)))) {
+                    scheduled++;
+                } else {
+                    overdue.add(orderId);
+                }
+            }
+        }
+        log.info("Scheduled {} unpaid order timeouts; {} already overdue", scheduled, overdue.size());
+        
+        cancel(overdue);
+        orderTimeoutTicker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        arm(event.getOrderId(), event.getPlacedAt().plus(timeout));
+    }
+    
+    @TransactionalEventListener
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        if (event.getPaymentMethod() != PaymentMethod.COD && event.getPaymentStatus() == PaymentStatus.FAILED) {
+            arm(event.getOrderId(), LocalDateTime.now().plus(timeout));
+        } else {
+            disarm(event.getOrderId());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getStatus() != OrderStatus.PLACED) {
+            disarm(event.getOrderId());
+        }
+    }
+    
+    void tick() {
+        List<Long> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+        cancel(expired);
+    }
+    
+    private void cancel(List<Long> orderIds) {
+        for (int from = 0; from < orderIds.size(); from += batchSize) {
+            List<Long> batch = orderIds.subList(from, Math.min(from + batchSize, orderIds.size()));
+            try {
+                List<Long> cancelled = orderService.cancelUnpaidOrders(batch);
+                if (!cancelled.isEmpty()) {
+                    log.info("Cancelled {} unpaid orders", cancelled.size());
+                }
+            } catch (RuntimeException e) {
+                // Try again shortly rather than leaving these orders without a timer
+                log.error("Could not cancel {} unpaid orders: {}", batch.size(), e.getMessage());
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY.toMillis();
+                synchronized (wheel) {
+                    for (Long orderId : batch) {
+                        wheel.schedule(orderId, retryAt);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void arm(Long orderId, LocalDateTime deadline) {
+        boolean scheduled;
+        synchronized (wheel) {
+            scheduled = wheel.schedule(orderId, epochMillis(deadline));
+        }
+        if (!scheduled) {
+            cancel(List.of(orderId));
+        }
+    }
+    
+    private void disarm(Long orderId) {
+        synchronized (wheel) {
+            wheel.cancel(orderId);
+        }
+    }
+    
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.fooddelivery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,7 +11,8 @@ import jakarta.validation.constraints.NotBlank;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -27,6 +29,11 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
     
+    // Bumped on every password or role change; tokens issued with an older version are rejected
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+    
     // Constructors
     public User() {
     }
@@ -78,4 +85,12 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+    
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
\ No newline at end of file
@@ -7,10 +7,13 @@ import com.example.fooddelivery.model.Role;
 import com.example.fooddelivery.model.User;
 import com.example.fooddelivery.repository.CustomerRepository;
 import com.example.fooddelivery.repository.UserRepository;
+import com.example.fooddelivery.security.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class UserService {
@@ -18,14 +21,20 @@ public class UserService {
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PlatformStatsService platformStatsService;
     
     @Autowired
     public UserService(UserRepository userRepository, 
                       CustomerRepository customerRepository,
-                      PasswordEncoder passwordEncoder) {
+                      PasswordEncoder passwordEncoder,
+                      VerifiedTokenCache verifiedTokenCache,
+                      PlatformStatsService platformStatsService) {
         this.userRepository = userRepository;
         this.customerRepository = customerRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.platformStatsService = platformStatsService;
     }
     
     @Transactional
@@ -45,7 +54,9 @@ public class UserService {
             customer.setRole(Role.CUSTOMER);
             customer.setAddress(registerRequest.getAddress());
             customer.setPhoneNumber(registerRequest.getPhoneNumber());
-            return customerRepository.save(customer);
+            Customer savedCustomer = customerRepository.save(customer);
+            platformStatsService.recordCustomerRegistered();
+            return savedCustomer;
         } else {
             // For ADMIN or RESTAURANT roles
             User user = new User();
@@ -68,4 +79,36 @@ public class UserService {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
+    
+    @Transactional
+    public User updateUserRole(Long id, Role role) {
+        User user = getUserById(id);
+        user.setRole(role);
+        revokeTokens(user);
+        return userRepository.save(user);
+    }
+    
+    @Transactional
+    public void changePassword(String email, String currentPassword, String newPassword) {
+        User user = getUserByEmail(email);
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            throw new IllegalArgumentException("Current password is incorrect");
+        }
+        
+        user.setPassword(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
+        userRepository.save(user);
+    }
+    
+    // Every token issued before this carries an older version; cached ones are dropped once the new version is visible
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        String email = user.getEmail();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                verifiedTokenCache.invalidateUser(email);
+            }
+        });
+    }
 }
\ No newline at end of file
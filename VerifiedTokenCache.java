@@ -0,0 +1,121 @@
+package com.example.fooddelivery.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of JWTs whose signature and token version have already been checked,
+ * keyed by the signature segment. Steady-state requests skip both the HMAC check and
+ * the user lookup. Entries live until the token expires or for
+ * {@code jwt.cache.revalidate-after-ms}, whichever comes first, so a password or role
+ * change made through another instance is picked up here within that window.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+    
+    @Value("${jwt.cache.revalidate-after-ms:60000}")
+    private long revalidateAfterMillis;
+    
+    public VerifiedToken get(String token) {
+        int separator = token.lastIndexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+        
+        VerifiedToken cached = tokens.get(token.substring(separator + 1));
+        if (cached == null) {
+            return null;
+        }
+        
+        // The signature only vouches for the exact header and payload it was computed over
+        if (!token.regionMatches(0, cached.getSignedContent(), 0, separator)
+                || cached.getSignedContent().length() != separator) {
+            return null;
+        }
+        
+        if (cached.getCachedUntilMillis() <= System.currentTimeMillis()) {
+            tokens.remove(token.substring(separator + 1), cached);
+            return null;
+        }
+        
+        return cached;
+    }
+    
+    public VerifiedToken put(String token, String username, String role, long expiresAtMillis) {
+        int separator = token.lastIndexOf('.');
+        long cachedUntilMillis = Math.min(expiresAtMillis, System.currentTimeMillis() + revalidateAfterMillis);
+        VerifiedToken verified = new VerifiedToken(token.substring(0, separator), username, role, cachedUntilMillis);
+        
+        if (tokens.size() >= maxEntries) {
+            evict();
+        }
+        tokens.put(token.substring(separator + 1), verified);
+        return verified;
+    }
+    
+    /**
+     * Invalidation hook for credential or role changes, called once the new token version
+     * is committed. The next request with any of the user's tokens re-reads the account.
+     */
+    public void invalidateUser(String username) {
+        tokens.values().removeIf(verified -> verified.getUsername().equals(username));
+    }
+    
+    public int size() {
+        return tokens.size();
+    }
+    
+    // Drops expired entries first; if the cache is still full, sheds an arbitrary tenth of it
+    private void evict() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(verified -> verified.getCachedUntilMillis() <= now);
+        
+        if (tokens.size() >= maxEntries) {
+            int toRemove = Math.max(1, maxEntries / 10);
+            Iterator<String> keys = tokens.keySet().iterator();
+            while (toRemove-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+    
+    public static final class VerifiedToken {
+        private final String signedContent;
+        private final String username;
+        private final String role;
+        private final long cachedUntilMillis;
+        
+        VerifiedToken(String signedContent, String username, String role, long cachedUntilMillis) {
+            this.signedContent = signedContent;
+            this.username = username;
+            this.role = role;
+            this.cachedUntilMillis = cachedUntilMillis;
+        }
+        
+        public String getSignedContent() {
+            return signedContent;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public String getRole() {
+            return role;
+        }
+        
+        public long getCachedUntilMillis() {
+            return cachedUntilMillis;
+        }
+    }
+}
\ No newline at end of file
@@ -102,6 +102,9 @@ export const getMyFeedbacks = async () =>
 export const getAdminDashboard = async () => 
   api.get("/v1/admin/dashboard");
 
+export const getAllRestaurants = async () => 
+  api.get("/v1/admin/restaurants");
+
 export const getAllOrders = async () => 
   api.get("/v1/admin/orders");
 